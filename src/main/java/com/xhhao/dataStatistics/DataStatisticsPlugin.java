@@ -2,6 +2,10 @@ package com.xhhao.dataStatistics;
 
 import org.springframework.stereotype.Component;
 
+import com.xhhao.dataStatistics.extension.StatisticsLease;
+import com.xhhao.dataStatistics.extension.StatisticsSnapshot;
+
+import run.halo.app.extension.SchemeManager;
 import run.halo.app.plugin.BasePlugin;
 import run.halo.app.plugin.PluginContext;
 
@@ -16,15 +20,22 @@ import run.halo.app.plugin.PluginContext;
 @Component
 public class DataStatisticsPlugin extends BasePlugin {
 
-    public DataStatisticsPlugin(PluginContext pluginContext) {
+    private final SchemeManager schemeManager;
+
+    public DataStatisticsPlugin(PluginContext pluginContext, SchemeManager schemeManager) {
         super(pluginContext);
+        this.schemeManager = schemeManager;
     }
 
     @Override
     public void start() {
+        schemeManager.register(StatisticsLease.class);
+        schemeManager.register(StatisticsSnapshot.class);
     }
 
     @Override
     public void stop() {
+        schemeManager.unregister(schemeManager.get(StatisticsLease.class));
+        schemeManager.unregister(schemeManager.get(StatisticsSnapshot.class));
     }
 }
@@ -0,0 +1,146 @@
+package com.xhhao.dataStatistics.archive;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Optional;
+
+/**
+ * 按天存放访问统计的定长记录文件
+ * <p>每条记录 32 字节：epochDay、pageviews、visits、visitors 各 8 字节（大端）。
+ * 记录按日期连续追加、从不改写，因此第 n 条记录就是 firstDay + n 天，读取时无需索引。
+ * 启动时整个文件载入内存（每年约 12 KB），写入中断留下的不完整记录会被截掉。</p>
+ *
+ * @author Handsome
+ * @since 1.0.6
+ */
+public class DailyStatsFile {
+
+    static final int RECORD_BYTES = 32;
+
+    private final Path path;
+    private long firstDay;
+    private long[] pageviews = new long[0];
+    private long[] visits = new long[0];
+    private long[] visitors = new long[0];
+    private int size;
+
+    public DailyStatsFile(Path path) throws IOException {
+        this.path = path;
+        if (Files.exists(path)) {
+            load();
+        }
+    }
+
+    public synchronized Optional<LocalDate> firstDay() {
+        return size == 0 ? Optional.empty() : Optional.of(LocalDate.ofEpochDay(firstDay));
+    }
+
+    public synchronized Optional<LocalDate> lastDay() {
+        return size == 0 ? Optional.empty() : Optional.of(LocalDate.ofEpochDay(firstDay + size - 1));
+    }
+
+    /**
+     * 追加一天的统计，日期必须紧接在最后一条记录之后
+     */
+    public synchronized void append(LocalDate date, long dayPageviews, long dayVisits, long dayVisitors)
+        throws IOException {
+        long day = date.toEpochDay();
+        if (size > 0 && day != firstDay + size) {
+            throw new IllegalArgumentException("归档日期不连续: " + date + "，期望 " + LocalDate.ofEpochDay(firstDay + size));
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(RECORD_BYTES)
+            .putLong(day)
+            .putLong(dayPageviews)
+            .putLong(dayVisits)
+            .putLong(dayVisitors)
+            .flip();
+        Files.createDirectories(path.getParent());
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+            StandardOpenOption.APPEND)) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(false);
+        }
+        if (size == 0) {
+            firstDay = day;
+        }
+        add(dayPageviews, dayVisits, dayVisitors);
+    }
+
+    /**
+     * 汇总 [start, end] 闭区间，区间内有任何一天未归档时返回空
+     */
+    public synchronized Optional<Totals> sum(LocalDate start, LocalDate end) {
+        long from = start.toEpochDay() - firstDay;
+        long to = end.toEpochDay() - firstDay;
+        if (size == 0 || from < 0 || to >= size) {
+            return Optional.empty();
+        }
+        long totalPageviews = 0;
+        long totalVisits = 0;
+        long totalVisitors = 0;
+        for (int i = (int) from; i <= to; i++) {
+            totalPageviews += pageviews[i];
+            totalVisits += visits[i];
+            totalVisitors += visitors[i];
+        }
+        return Optional.of(new Totals(totalPageviews, totalVisits, totalVisitors));
+    }
+
+    /**
+     * 读取单日记录，未归档的日期返回空
+     */
+    public synchronized Optional<Day> day(LocalDate date) {
+        long index = date.toEpochDay() - firstDay;
+        if (size == 0 || index < 0 || index >= size) {
+            return Optional.empty();
+        }
+        int i = (int) index;
+        return Optional.of(new Day(date, pageviews[i], visits[i], visitors[i]));
+    }
+
+    private void load() throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            long complete = channel.size() / RECORD_BYTES * RECORD_BYTES;
+            if (complete != channel.size()) {
+                channel.truncate(complete);
+            }
+            ByteBuffer buffer = ByteBuffer.allocate((int) complete);
+            while (buffer.hasRemaining() && channel.read(buffer) >= 0) {
+                // 读满为止
+            }
+            buffer.flip();
+            while (buffer.remaining() >= RECORD_BYTES) {
+                long day = buffer.getLong();
+                if (size == 0) {
+                    firstDay = day;
+                }
+                add(buffer.getLong(), buffer.getLong(), buffer.getLong());
+            }
+        }
+    }
+
+    private void add(long dayPageviews, long dayVisits, long dayVisitors) {
+        if (size == pageviews.length) {
+            int capacity = Math.max(64, size * 2);
+            pageviews = Arrays.copyOf(pageviews, capacity);
+            visits = Arrays.copyOf(visits, capacity);
+            visitors = Arrays.copyOf(visitors, capacity);
+        }
+        pageviews[size] = dayPageviews;
+        visits[size] = dayVisits;
+        visitors[size] = dayVisitors;
+        size++;
+    }
+
+    public record Totals(long pageviews, long visits, long visitors) {}
+
+    public record Day(LocalDate date, long pageviews, long visits, long visitors) {}
+}
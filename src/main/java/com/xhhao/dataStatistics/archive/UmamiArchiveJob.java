@@ -0,0 +1,101 @@
+package com.xhhao.dataStatistics.archive;
+
+import java.time.Duration;
+import java.time.LocalDate;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.stereotype.Component;
+
+import com.xhhao.dataStatistics.common.Constants;
+import com.xhhao.dataStatistics.config.CachePolicy;
+import com.xhhao.dataStatistics.service.SettingConfigGetter;
+import com.xhhao.dataStatistics.service.UmamiService;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * 定期（默认每小时，可在缓存设置中调整）把已经结束的日期从 Umami 拉取到本地归档
+ * <p>从归档的最后一天（首次运行时为一年前）逐日补到昨天，每天一个请求、顺序执行；
+ * 某一天失败就停在那里，下一轮从同一天继续，保证归档始终连续。未配置 Umami 时静默跳过。</p>
+ * <p>归档文件在节点本地，多节点部署时每个节点各自归档，每个节点每天只多一个请求。</p>
+ *
+ * @author Handsome
+ * @since 1.0.6
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class UmamiArchiveJob implements InitializingBean, DisposableBean {
+
+    private static final Duration INITIAL_DELAY = Duration.ofMinutes(1);
+    private static final int BACKFILL_DAYS = 366;
+
+    private final UmamiService umamiService;
+    private final UmamiDailyArchive umamiDailyArchive;
+    private final CachePolicy cachePolicy;
+
+    private Disposable task;
+
+    @Override
+    public void afterPropertiesSet() {
+        // 间隔设置变化时重新计时
+        task = cachePolicy.changes()
+            .map(SettingConfigGetter.CacheConfig::umamiArchiveInterval)
+            .distinctUntilChanged()
+            .switchMap(period -> Flux.interval(INITIAL_DELAY, period))
+            .onBackpressureDrop()
+            .concatMap(tick -> archive()
+                .onErrorResume(e -> {
+                    log.debug("Umami 每日归档未完成: {}", e.getMessage());
+                    return Mono.empty();
+                }))
+            .subscribe();
+    }
+
+    @Override
+    public void destroy() {
+        if (task != null) {
+            task.dispose();
+        }
+    }
+
+    private Mono<Void> archive() {
+        return umamiService.resolveWebsiteId(null)
+            .flatMap(websiteId -> {
+                DailyStatsFile file = umamiDailyArchive.file(websiteId);
+                LocalDate yesterday = LocalDate.now(Constants.DEFAULT_ZONE_ID).minusDays(1);
+                LocalDate from = file.lastDay()
+                    .map(day -> day.plusDays(1))
+                    .orElse(yesterday.minusDays(BACKFILL_DAYS - 1));
+                if (from.isAfter(yesterday)) {
+                    return Mono.empty();
+                }
+                return Flux.fromStream(from.datesUntil(yesterday.plusDays(1)))
+                    .concatMap(day -> archiveDay(websiteId, file, day))
+                    .then();
+            });
+    }
+
+    private Mono<Void> archiveDay(String websiteId, DailyStatsFile file, LocalDate day) {
+        long startAt = day.atStartOfDay(Constants.DEFAULT_ZONE_ID).toInstant().toEpochMilli();
+        long endAt = day.plusDays(1).atStartOfDay(Constants.DEFAULT_ZONE_ID).toInstant().toEpochMilli() - 1;
+        return umamiService.getStatisticsBetween(websiteId, startAt, endAt)
+            .publishOn(Schedulers.boundedElastic())
+            .flatMap(stats -> Mono.fromCallable(() -> {
+                file.append(day, valueOf(stats.getPageviews()), valueOf(stats.getVisits()),
+                    valueOf(stats.getVisitors()));
+                return day;
+            }))
+            .then();
+    }
+
+    private static long valueOf(Long value) {
+        return value == null ? 0 : value;
+    }
+}
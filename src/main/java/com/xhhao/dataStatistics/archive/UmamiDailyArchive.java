@@ -0,0 +1,49 @@
+package com.xhhao.dataStatistics.archive;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.stereotype.Component;
+
+import com.xhhao.dataStatistics.config.PluginWorkDir;
+
+import cn.hutool.crypto.digest.DigestUtil;
+
+/**
+ * Umami 每日统计的本地归档，每个网站一个 {@link DailyStatsFile}
+ * <p>归档文件位于 ${halo.work-dir}/data-statistics/umami-archive，Umami 清理历史数据后仍可查询。</p>
+ *
+ * @author Handsome
+ * @since 1.0.6
+ */
+@Component
+public class UmamiDailyArchive {
+
+    private final Path directory;
+    private final Map<String, DailyStatsFile> files = new ConcurrentHashMap<>();
+
+    public UmamiDailyArchive(PluginWorkDir pluginWorkDir) {
+        this.directory = pluginWorkDir.resolve("umami-archive");
+    }
+
+    public DailyStatsFile file(String websiteId) {
+        return files.computeIfAbsent(websiteId, id -> {
+            try {
+                return new DailyStatsFile(directory.resolve(fileName(id)));
+            } catch (IOException e) {
+                throw new UncheckedIOException("读取 Umami 归档失败: " + id, e);
+            }
+        });
+    }
+
+    /**
+     * 网站 ID 通常是 UUID，其他格式取哈希，避免出现非法文件名
+     */
+    private static String fileName(String websiteId) {
+        String name = websiteId.matches("[A-Za-z0-9-]{1,64}") ? websiteId : DigestUtil.sha256Hex(websiteId);
+        return name + ".dat";
+    }
+}
@@ -21,7 +21,7 @@ public final class Constants {
     public static final ZoneId DEFAULT_ZONE_ID = ZoneId.of(DEFAULT_TIMEZONE);
 
     /**
-     * 缓存相关常量
+     * 缓存相关常量，均为插件设置中"缓存与刷新"未填写时的默认值
      */
     public static final class Cache {
         private Cache() {}
@@ -31,6 +31,29 @@ public final class Constants {
         
         /** Umami Token 缓存时间（小时） */
         public static final int UMAMI_TOKEN_CACHE_HOURS = 24;
+
+        /** Umami 细分指标缓存时间（分钟） */
+        public static final int UMAMI_METRICS_CACHE_MINUTES = 5;
+
+        /** GitHub 卡片缓存的新鲜期（分钟），过期后先返回旧内容再后台刷新 */
+        public static final int GITHUB_CARD_FRESH_MINUTES = 60;
+
+        /** Uptime Kuma 状态缓存时间（秒） */
+        public static final int UPTIME_CACHE_SECONDS = 60;
+
+        /** Umami 每日归档任务的执行间隔（分钟） */
+        public static final int UMAMI_ARCHIVE_INTERVAL_MINUTES = 60;
+
+        /** 图表数据统计的并行线程数，不超过 CPU 核数 */
+        public static final int AGGREGATION_PARALLELISM = 2;
+
+        /** Umami 实时数据的轮询间隔下限与上限（秒），访客数变化越快越接近下限 */
+        public static final int REALTIME_POLL_MIN_SECONDS = 10;
+        public static final int REALTIME_POLL_MAX_SECONDS = 300;
+
+        /** Uptime Kuma 状态的轮询间隔下限与上限（秒） */
+        public static final int UPTIME_POLL_MIN_SECONDS = 30;
+        public static final int UPTIME_POLL_MAX_SECONDS = 600;
     }
 
     /**
@@ -0,0 +1,192 @@
+package com.xhhao.dataStatistics.common;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Optional;
+import java.util.Properties;
+
+import cn.hutool.crypto.digest.DigestUtil;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 有界的磁盘 LRU 缓存，用于缓存上游 HTTP 响应
+ * <p>每个条目对应目录下的两个文件：{@code <hash>.body} 保存响应内容，{@code <hash>.meta} 保存
+ * 上游的 ETag / Last-Modified、抓取时间和内容摘要。写入先落到临时文件再原子替换，
+ * 进程中断不会留下半截内容；启动时扫描目录恢复索引，重启后缓存依然可用。</p>
+ * <p>条目数或总字节数超出上限时按最近访问顺序淘汰。所有方法都会做阻塞 IO，需要在弹性线程池中调用。</p>
+ *
+ * @author Handsome
+ * @since 1.0.6
+ */
+@Slf4j
+public class DiskLruCache {
+
+    private static final String BODY_SUFFIX = ".body";
+    private static final String META_SUFFIX = ".meta";
+
+    private final Path directory;
+    private final int maxEntries;
+    private final long maxBytes;
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long totalBytes;
+
+    public DiskLruCache(Path directory, int maxEntries, long maxBytes) {
+        this.directory = directory;
+        this.maxEntries = maxEntries;
+        this.maxBytes = maxBytes;
+        try {
+            Files.createDirectories(directory);
+            load();
+        } catch (IOException e) {
+            throw new UncheckedIOException("初始化磁盘缓存目录失败: " + directory, e);
+        }
+    }
+
+    public synchronized Optional<Entry> get(String key) {
+        return Optional.ofNullable(entries.get(key));
+    }
+
+    public byte[] read(Entry entry) throws IOException {
+        return Files.readAllBytes(directory.resolve(entry.fileName() + BODY_SUFFIX));
+    }
+
+    /**
+     * 写入或覆盖条目
+     */
+    public synchronized Entry put(String key, byte[] content, String etag, String lastModified) throws IOException {
+        String fileName = fileName(key);
+        writeAtomically(directory.resolve(fileName + BODY_SUFFIX), content);
+        Entry entry = new Entry(key, fileName, content.length, etag, lastModified,
+            System.currentTimeMillis(), DigestUtil.sha256Hex(content).substring(0, 16));
+        writeMeta(entry);
+
+        Entry previous = entries.put(key, entry);
+        if (previous != null) {
+            totalBytes -= previous.size();
+        }
+        totalBytes += entry.size();
+        trim();
+        return entry;
+    }
+
+    /**
+     * 上游返回 304 时只刷新抓取时间
+     */
+    public synchronized Optional<Entry> markFresh(String key) throws IOException {
+        Entry current = entries.get(key);
+        if (current == null) {
+            return Optional.empty();
+        }
+        Entry refreshed = new Entry(current.key(), current.fileName(), current.size(), current.etag(),
+            current.lastModified(), System.currentTimeMillis(), current.contentHash());
+        writeMeta(refreshed);
+        entries.put(key, refreshed);
+        return Optional.of(refreshed);
+    }
+
+    private void trim() {
+        Iterator<Entry> iterator = entries.values().iterator();
+        while ((entries.size() > maxEntries || totalBytes > maxBytes) && iterator.hasNext()) {
+            Entry eldest = iterator.next();
+            iterator.remove();
+            totalBytes -= eldest.size();
+            delete(eldest.fileName());
+        }
+    }
+
+    private void load() throws IOException {
+        List<Entry> loaded = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, "*" + META_SUFFIX)) {
+            for (Path metaPath : stream) {
+                String fileName = metaPath.getFileName().toString().replace(META_SUFFIX, "");
+                Path bodyPath = directory.resolve(fileName + BODY_SUFFIX);
+                try (InputStream in = Files.newInputStream(metaPath)) {
+                    Properties meta = new Properties();
+                    meta.load(in);
+                    if (!Files.exists(bodyPath) || meta.getProperty("key") == null) {
+                        delete(fileName);
+                        continue;
+                    }
+                    loaded.add(new Entry(meta.getProperty("key"), fileName, Files.size(bodyPath),
+                        meta.getProperty("etag"), meta.getProperty("lastModified"),
+                        Long.parseLong(meta.getProperty("fetchedAt", "0")), meta.getProperty("contentHash")));
+                } catch (IOException | IllegalArgumentException e) {
+                    log.debug("忽略损坏的缓存条目 {}: {}", fileName, e.getMessage());
+                    delete(fileName);
+                }
+            }
+        }
+        // 以抓取时间近似最近访问顺序
+        loaded.sort(Comparator.comparingLong(Entry::fetchedAt));
+        for (Entry entry : loaded) {
+            entries.put(entry.key(), entry);
+            totalBytes += entry.size();
+        }
+        trim();
+    }
+
+    private void writeMeta(Entry entry) throws IOException {
+        Properties meta = new Properties();
+        meta.setProperty("key", entry.key());
+        meta.setProperty("fetchedAt", String.valueOf(entry.fetchedAt()));
+        meta.setProperty("contentHash", entry.contentHash());
+        if (entry.etag() != null) {
+            meta.setProperty("etag", entry.etag());
+        }
+        if (entry.lastModified() != null) {
+            meta.setProperty("lastModified", entry.lastModified());
+        }
+        Path target = directory.resolve(entry.fileName() + META_SUFFIX);
+        Path temp = Files.createTempFile(directory, entry.fileName(), ".tmp");
+        try (OutputStream out = Files.newOutputStream(temp)) {
+            meta.store(out, null);
+        }
+        move(temp, target);
+    }
+
+    private void writeAtomically(Path target, byte[] content) throws IOException {
+        Path temp = Files.createTempFile(directory, target.getFileName().toString(), ".tmp");
+        Files.write(temp, content);
+        move(temp, target);
+    }
+
+    private static void move(Path source, Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private void delete(String fileName) {
+        try {
+            Files.deleteIfExists(directory.resolve(fileName + BODY_SUFFIX));
+            Files.deleteIfExists(directory.resolve(fileName + META_SUFFIX));
+        } catch (IOException e) {
+            log.warn("删除缓存文件 {} 失败: {}", fileName, e.getMessage());
+        }
+    }
+
+    private static String fileName(String key) {
+        return DigestUtil.sha256Hex(key);
+    }
+
+    /**
+     * @param fetchedAt 最近一次从上游确认内容的时间（毫秒）
+     * @param contentHash 内容摘要，可直接作为对外的 ETag
+     */
+    public record Entry(String key, String fileName, long size, String etag, String lastModified,
+                        long fetchedAt, String contentHash) {}
+}
@@ -0,0 +1,106 @@
+package com.xhhao.dataStatistics.common;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 按 key 限流的令牌桶
+ * <p>令牌桶以等价的 GCRA（虚拟调度）形式实现：每个桶只保存一个"理论到达时间"，
+ * 每次请求对它做一次 CAS，无需后台补充令牌，查找桶也不加锁，CAS 是唯一的同步点。桶容量等于每分钟配额，
+ * 即空闲后允许一次性突发满额请求，之后按配额匀速放行。</p>
+ * <p>理论到达时间不晚于当前时刻的桶令牌已满，与新建的桶等价，可以直接丢弃。
+ * 新建桶时若距上次清理已满一分钟，或桶数超过上限且距上次清理已满一秒，由该请求线程顺带清理这些桶，
+ * 因此只保留最近一分钟内有请求的客户端，内存占用与历史访问者数量无关。
+ * 清理与同一个桶的请求并发时，该请求可能不被计数，最多多放行一次。</p>
+ *
+ * @author Handsome
+ * @since 1.0.6
+ */
+public class TokenBucketRateLimiter {
+
+    private static final long ONE_MINUTE_NANOS = TimeUnit.MINUTES.toNanos(1);
+    private static final long MIN_SWEEP_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    /**
+     * 以创建时刻为原点，保证时间戳非负，新桶的初始值 0 即表示令牌已满
+     */
+    private final long origin = System.nanoTime();
+    private final Map<String, Bucket> buckets = new ConcurrentHashMap<>();
+    private final int maxBuckets;
+    private final AtomicLong lastSweep = new AtomicLong();
+    private final AtomicBoolean sweeping = new AtomicBoolean();
+
+    /**
+     * @param maxBuckets 桶数超过该值时提前清理令牌已满的桶
+     */
+    public TokenBucketRateLimiter(int maxBuckets) {
+        this.maxBuckets = maxBuckets;
+    }
+
+    /**
+     * 尝试获取一个令牌
+     *
+     * @param key 限流维度，如 客户端 IP + 接口分组
+     * @param permitsPerMinute 每分钟允许的请求数，必须大于 0
+     * @return 获取成功返回 {@link Duration#ZERO}，否则返回需要等待的时长
+     */
+    public Duration tryAcquire(String key, int permitsPerMinute) {
+        long interval = ONE_MINUTE_NANOS / permitsPerMinute;
+        long tolerance = interval * (permitsPerMinute - 1);
+        long now = System.nanoTime() - origin;
+        Bucket bucket = buckets.get(key);
+        boolean created = bucket == null;
+        if (created) {
+            bucket = buckets.computeIfAbsent(key, k -> new Bucket());
+        }
+        long waitNanos = bucket.tryAcquire(now, interval, tolerance);
+        if (created) {
+            sweepIfNeeded(now);
+        }
+        return waitNanos == 0 ? Duration.ZERO : Duration.ofNanos(waitNanos);
+    }
+
+    /**
+     * 只在新建桶时检查，已有客户端的请求路径上没有额外开销
+     */
+    private void sweepIfNeeded(long now) {
+        long elapsed = now - lastSweep.get();
+        boolean due = elapsed >= ONE_MINUTE_NANOS
+            || (buckets.size() > maxBuckets && elapsed >= MIN_SWEEP_INTERVAL_NANOS);
+        if (!due || !sweeping.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            lastSweep.set(now);
+            buckets.values().removeIf(bucket -> bucket.isFull(now));
+        } finally {
+            sweeping.set(false);
+        }
+    }
+
+    private static class Bucket {
+        private final AtomicLong theoreticalArrival = new AtomicLong();
+
+        long tryAcquire(long now, long interval, long tolerance) {
+            while (true) {
+                long current = theoreticalArrival.get();
+                long base = Math.max(current, now);
+                long allowedAt = base - tolerance;
+                if (now < allowedAt) {
+                    return allowedAt - now;
+                }
+                if (theoreticalArrival.compareAndSet(current, base + interval)) {
+                    return 0;
+                }
+            }
+        }
+
+        boolean isFull(long now) {
+            return theoreticalArrival.get() <= now;
+        }
+    }
+}
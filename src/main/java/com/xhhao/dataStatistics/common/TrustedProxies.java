@@ -0,0 +1,112 @@
+package com.xhhao.dataStatistics.common;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+import cn.hutool.core.util.StrUtil;
+
+/**
+ * 受信任的反向代理地址列表，每项为 IP 或 CIDR 网段，如 127.0.0.1、10.0.0.0/8、::1
+ * <p>只解析 IP 字面量，不做 DNS 查询；无法解析的项忽略。</p>
+ *
+ * @author Handsome
+ * @since 1.0.6
+ */
+public final class TrustedProxies {
+
+    public static final TrustedProxies NONE = new TrustedProxies(List.of());
+
+    private static final Pattern IPV4 = Pattern.compile("\\d{1,3}(\\.\\d{1,3}){3}");
+    private static final Pattern IPV6 = Pattern.compile("[0-9a-fA-F:.]*:[0-9a-fA-F:.]*");
+
+    private final List<Range> ranges;
+
+    private TrustedProxies(List<Range> ranges) {
+        this.ranges = ranges;
+    }
+
+    /**
+     * @param raw 每行一项，也兼容逗号分隔
+     */
+    public static TrustedProxies parse(String raw) {
+        List<Range> ranges = new ArrayList<>();
+        for (String entry : StrUtil.splitTrim(StrUtil.nullToEmpty(raw).replace('\n', ','), ',')) {
+            String address = StrUtil.subBefore(entry, '/', false);
+            InetAddress network = parseLiteral(address);
+            if (network == null) {
+                continue;
+            }
+            int maxBits = network.getAddress().length * 8;
+            int prefix = maxBits;
+            if (entry.contains("/")) {
+                String bits = StrUtil.subAfter(entry, '/', false).trim();
+                if (!bits.matches("\\d{1,3}") || Integer.parseInt(bits) > maxBits) {
+                    continue;
+                }
+                prefix = Integer.parseInt(bits);
+            }
+            ranges.add(new Range(network.getAddress(), prefix));
+        }
+        return ranges.isEmpty() ? NONE : new TrustedProxies(List.copyOf(ranges));
+    }
+
+    public boolean isEmpty() {
+        return ranges.isEmpty();
+    }
+
+    public boolean contains(InetAddress address) {
+        if (address == null) {
+            return false;
+        }
+        byte[] bytes = address.getAddress();
+        for (Range range : ranges) {
+            if (range.matches(bytes)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 解析 IP 字面量，主机名或格式错误返回 null
+     */
+    public static InetAddress parseLiteral(String value) {
+        if (StrUtil.isBlank(value)) {
+            return null;
+        }
+        String literal = StrUtil.unWrap(value.trim(), '[', ']');
+        if (!IPV4.matcher(literal).matches() && !IPV6.matcher(literal).matches()) {
+            return null;
+        }
+        try {
+            // 字面量不会触发 DNS 查询
+            return InetAddress.getByName(literal);
+        } catch (UnknownHostException e) {
+            return null;
+        }
+    }
+
+    private record Range(byte[] network, int prefix) {
+
+        boolean matches(byte[] address) {
+            if (address.length != network.length) {
+                return false;
+            }
+            int fullBytes = prefix / 8;
+            for (int i = 0; i < fullBytes; i++) {
+                if (address[i] != network[i]) {
+                    return false;
+                }
+            }
+            int remainingBits = prefix % 8;
+            if (remainingBits == 0) {
+                return true;
+            }
+            int mask = 0xFF << (8 - remainingBits) & 0xFF;
+            return (address[fullBytes] & mask) == (network[fullBytes] & mask);
+        }
+    }
+}
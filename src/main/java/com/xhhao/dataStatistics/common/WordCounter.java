@@ -0,0 +1,59 @@
+package com.xhhao.dataStatistics.common;
+
+import java.util.regex.Pattern;
+
+import cn.hutool.http.HtmlUtil;
+
+/**
+ * 字数统计，兼顾中日文与西文
+ * <p>汉字、平假名、片假名每个字符计为一个字；其他文字（拉丁、西里尔、韩文等）以连续的字母数字计为一个词，
+ * 词内的撇号和连字符不拆分。标点、空白和 HTML 标签不计入，script / style 的内容整体忽略。</p>
+ *
+ * @author Handsome
+ * @since 1.0.6
+ */
+public final class WordCounter {
+
+    private static final Pattern TAG = Pattern.compile("<[^>]*>");
+
+    private WordCounter() {
+    }
+
+    public static int countHtml(String html) {
+        if (html == null || html.isEmpty()) {
+            return 0;
+        }
+        String withoutCode = HtmlUtil.removeHtmlTag(html, "script", "style");
+        // 标签替换为空格，避免相邻段落的词被拼在一起
+        return count(HtmlUtil.unescape(TAG.matcher(withoutCode).replaceAll(" ")));
+    }
+
+    public static int count(String text) {
+        int words = 0;
+        boolean inWord = false;
+        int i = 0;
+        while (i < text.length()) {
+            int codePoint = text.codePointAt(i);
+            i += Character.charCount(codePoint);
+            if (isIdeographic(codePoint)) {
+                words++;
+                inWord = false;
+            } else if (Character.isLetterOrDigit(codePoint)) {
+                if (!inWord) {
+                    words++;
+                    inWord = true;
+                }
+            } else if (!(inWord && (codePoint == '\'' || codePoint == '-' || codePoint == '’'))) {
+                inWord = false;
+            }
+        }
+        return words;
+    }
+
+    private static boolean isIdeographic(int codePoint) {
+        Character.UnicodeScript script = Character.UnicodeScript.of(codePoint);
+        return script == Character.UnicodeScript.HAN
+            || script == Character.UnicodeScript.HIRAGANA
+            || script == Character.UnicodeScript.KATAKANA;
+    }
+}
@@ -0,0 +1,78 @@
+package com.xhhao.dataStatistics.config;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.stereotype.Component;
+
+import com.xhhao.dataStatistics.service.SettingConfigGetter.CacheConfig;
+
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.Disposable;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * 图表数据统计专用的线程池
+ * <p>分组、排序、逐日展开等 CPU 计算切换到这里执行，不占用 Netty 事件循环线程，重建图表数据时不会拖慢其他请求。
+ * 线程数即并行上限，取自缓存设置；修改后新建线程池，旧线程池执行完已提交的任务后关闭。</p>
+ *
+ * @author Handsome
+ * @since 1.0.6
+ */
+@Slf4j
+@Component
+public class AggregationScheduler implements InitializingBean, DisposableBean {
+
+    private static final String NAME = "data-statistics-aggregate";
+    private static final Duration DISPOSE_TIMEOUT = Duration.ofMinutes(1);
+
+    private final CachePolicy cachePolicy;
+    private volatile Pool pool;
+    private Disposable resizeTask;
+
+    public AggregationScheduler(CachePolicy cachePolicy) {
+        this.cachePolicy = cachePolicy;
+        this.pool = create(cachePolicy.current().aggregationParallelism());
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        resizeTask = cachePolicy.changes()
+            .map(CacheConfig::aggregationParallelism)
+            .distinctUntilChanged()
+            .subscribe(this::resize);
+    }
+
+    @Override
+    public void destroy() {
+        if (resizeTask != null) {
+            resizeTask.dispose();
+        }
+        pool.scheduler().dispose();
+    }
+
+    public Scheduler scheduler() {
+        return pool.scheduler();
+    }
+
+    private synchronized void resize(int parallelism) {
+        Pool current = pool;
+        if (current.parallelism() == parallelism) {
+            return;
+        }
+        pool = create(parallelism);
+        current.scheduler().disposeGracefully()
+            .timeout(DISPOSE_TIMEOUT)
+            .subscribe(null, e -> current.scheduler().dispose());
+        log.info("统计线程池并行数调整为 {}", parallelism);
+    }
+
+    private static Pool create(int parallelism) {
+        // daemon 线程，非阻塞线程：在其中调用 block() 会直接报错
+        return new Pool(parallelism, Schedulers.newParallel(NAME, parallelism, true));
+    }
+
+    private record Pool(int parallelism, Scheduler scheduler) {}
+}
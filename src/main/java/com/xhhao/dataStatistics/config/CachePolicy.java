@@ -0,0 +1,75 @@
+package com.xhhao.dataStatistics.config;
+
+import java.time.Duration;
+import java.util.Map;
+
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.xhhao.dataStatistics.service.SettingConfigGetter;
+import com.xhhao.dataStatistics.service.SettingConfigGetter.CacheConfig;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+import run.halo.app.plugin.PluginConfigUpdatedEvent;
+
+/**
+ * 当前生效的缓存与刷新策略
+ * <p>缓存时间需要在同步代码中读取（如写入缓存、判断是否过期），因此在内存中保存一份设置快照，
+ * 插件设置保存后立即更新，无需重启插件。需要重新调度的后台任务订阅 {@link #changes()}。</p>
+ *
+ * @author Handsome
+ * @since 1.0.6
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CachePolicy implements InitializingBean {
+
+    private final SettingConfigGetter settingConfigGetter;
+    private final ObjectMapper objectMapper = new ObjectMapper()
+        .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+    private final Sinks.Many<CacheConfig> changes = Sinks.many().replay().latest();
+
+    private volatile CacheConfig current = new CacheConfig();
+
+    @Override
+    public void afterPropertiesSet() {
+        changes.tryEmitNext(current);
+        settingConfigGetter.getCacheConfig()
+            .subscribe(this::update, e -> log.warn("读取缓存设置失败，使用默认值: {}", e.getMessage()));
+    }
+
+    @EventListener
+    public void onConfigUpdated(PluginConfigUpdatedEvent event) {
+        Map<String, JsonNode> newConfig = event.getNewConfig();
+        JsonNode group = newConfig == null ? null : newConfig.get(CacheConfig.GROUP);
+        try {
+            update(group == null ? new CacheConfig() : objectMapper.treeToValue(group, CacheConfig.class));
+        } catch (Exception e) {
+            log.warn("解析缓存设置失败，保留原设置: {}", e.getMessage());
+        }
+    }
+
+    public CacheConfig current() {
+        return current;
+    }
+
+    /**
+     * 当前设置及之后的每次变更
+     */
+    public Flux<CacheConfig> changes() {
+        return changes.asFlux();
+    }
+
+    private void update(CacheConfig config) {
+        current = config;
+        changes.emitNext(config, Sinks.EmitFailureHandler.busyLooping(Duration.ofMillis(100)));
+    }
+}
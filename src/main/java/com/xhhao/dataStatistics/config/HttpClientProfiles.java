@@ -0,0 +1,256 @@
+package com.xhhao.dataStatistics.config;
+
+import java.net.SocketAddress;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.xhhao.dataStatistics.service.SettingConfigGetter;
+import com.xhhao.dataStatistics.service.SettingConfigGetter.HttpClientConfig;
+
+import io.netty.channel.ChannelOption;
+import lombok.extern.slf4j.Slf4j;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionPoolMetrics;
+import reactor.netty.resources.ConnectionProvider;
+import run.halo.app.plugin.PluginConfigUpdatedEvent;
+
+/**
+ * 按上游划分的 HTTP 客户端
+ * <p>Umami、Uptime Kuma、GitHub 卡片各自使用独立的连接池和超时，某个上游变慢只会占满它自己的连接池。
+ * 连接只按空闲时间回收，不设最大存活时间，避免健康的长连接被定期强制重连。
+ * 设置保存后只重建发生变化的客户端，旧连接池在已有请求结束后关闭。</p>
+ * <p>每个连接池的活跃、空闲、排队连接数可通过 {@link #stats()} 查看。</p>
+ *
+ * @author Handsome
+ * @since 1.0.6
+ */
+@Slf4j
+@Component
+public class HttpClientProfiles implements InitializingBean, DisposableBean {
+
+    private static final Duration EVICT_INTERVAL = Duration.ofSeconds(30);
+    private static final Duration DNS_NEGATIVE_TTL = Duration.ofSeconds(10);
+
+    private final SettingConfigGetter settingConfigGetter;
+    private final ObjectMapper objectMapper = new ObjectMapper()
+        .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+    private final Map<Upstream, Client> clients = new ConcurrentHashMap<>();
+
+    /**
+     * 连接池名称 → 远端地址 → 连接池指标，由 reactor-netty 在连接池创建/销毁时登记
+     */
+    private final Map<String, Map<SocketAddress, ConnectionPoolMetrics>> poolMetrics = new ConcurrentHashMap<>();
+
+    public HttpClientProfiles(SettingConfigGetter settingConfigGetter) {
+        this.settingConfigGetter = settingConfigGetter;
+        apply(new HttpClientConfig());
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        settingConfigGetter.getHttpClientConfig()
+            .subscribe(this::apply, e -> log.warn("读取 HTTP 客户端设置失败，使用默认值: {}", e.getMessage()));
+    }
+
+    @EventListener
+    public void onConfigUpdated(PluginConfigUpdatedEvent event) {
+        Map<String, JsonNode> newConfig = event.getNewConfig();
+        JsonNode group = newConfig == null ? null : newConfig.get(HttpClientConfig.GROUP);
+        try {
+            apply(group == null ? new HttpClientConfig()
+                : objectMapper.treeToValue(group, HttpClientConfig.class));
+        } catch (Exception e) {
+            log.warn("解析 HTTP 客户端设置失败，保留原设置: {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public void destroy() {
+        clients.values().forEach(client -> client.connectionProvider().dispose());
+        clients.clear();
+    }
+
+    public WebClient webClient(Upstream upstream) {
+        return clients.get(upstream).webClient();
+    }
+
+    /**
+     * 基于该上游客户端的新 Builder，可自由设置 baseUrl 和默认请求头
+     */
+    public WebClient.Builder builder(Upstream upstream) {
+        return webClient(upstream).mutate();
+    }
+
+    /**
+     * 各连接池的当前状态，按上游顺序返回
+     */
+    public List<PoolStats> stats() {
+        List<PoolStats> stats = new ArrayList<>();
+        for (Upstream upstream : Upstream.values()) {
+            Client client = clients.get(upstream);
+            int active = 0;
+            int idle = 0;
+            int pending = 0;
+            Map<SocketAddress, ConnectionPoolMetrics> remotes =
+                poolMetrics.getOrDefault(client.poolName(), Map.of());
+            for (ConnectionPoolMetrics metrics : remotes.values()) {
+                active += metrics.acquiredSize();
+                idle += metrics.idleSize();
+                pending += metrics.pendingAcquireSize();
+            }
+            stats.add(new PoolStats(upstream.key(), client.settings().maxConnections(), remotes.size(),
+                active, idle, pending));
+        }
+        return stats;
+    }
+
+    private synchronized void apply(HttpClientConfig config) {
+        for (Upstream upstream : Upstream.values()) {
+            Settings settings = Settings.resolve(upstream, config);
+            Client current = clients.get(upstream);
+            if (current != null && current.settings().equals(settings)) {
+                continue;
+            }
+            clients.put(upstream, create(upstream, settings, current == null ? 0 : current.generation() + 1));
+            if (current != null) {
+                current.connectionProvider().disposeLater().subscribe();
+                log.info("HTTP 客户端 {} 已按新设置重建", upstream.key());
+            }
+        }
+    }
+
+    private Client create(Upstream upstream, Settings settings, int generation) {
+        // 每次重建使用新的连接池名称，旧连接池的指标在其关闭时注销，不会与新连接池混在一起
+        String poolName = "data-statistics-" + upstream.key() + "-" + generation;
+        ConnectionProvider connectionProvider = ConnectionProvider.builder(poolName)
+            .maxConnections(settings.maxConnections())
+            .maxIdleTime(settings.maxIdleTime())
+            .pendingAcquireTimeout(settings.responseTimeout())
+            .evictInBackground(EVICT_INTERVAL)
+            .metrics(true, () -> new ConnectionProvider.MeterRegistrar() {
+                @Override
+                public void registerMetrics(String name, String id, SocketAddress remoteAddress,
+                                            ConnectionPoolMetrics metrics) {
+                    poolMetrics.computeIfAbsent(name, key -> new ConcurrentHashMap<>()).put(remoteAddress, metrics);
+                }
+
+                @Override
+                public void deRegisterMetrics(String name, String id, SocketAddress remoteAddress) {
+                    poolMetrics.computeIfPresent(name, (key, remotes) -> {
+                        remotes.remove(remoteAddress);
+                        return remotes.isEmpty() ? null : remotes;
+                    });
+                }
+            })
+            .build();
+
+        HttpClient httpClient = HttpClient.create(connectionProvider)
+            .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) settings.connectTimeout().toMillis())
+            .responseTimeout(settings.responseTimeout())
+            .compress(settings.compression());
+        if (settings.http2()) {
+            // https 上游通过 ALPN 协商 HTTP/2，不支持时以及 http 上游仍使用 HTTP/1.1
+            httpClient = httpClient.protocol(HttpProtocol.H2, HttpProtocol.HTTP11);
+        }
+        if (!settings.dnsCacheTtl().isZero()) {
+            Duration dnsCacheTtl = settings.dnsCacheTtl();
+            httpClient = httpClient.resolver(spec -> spec
+                .cacheMaxTimeToLive(dnsCacheTtl)
+                .cacheNegativeTimeToLive(DNS_NEGATIVE_TTL));
+        }
+
+        WebClient webClient = WebClient.builder()
+            .clientConnector(new ReactorClientHttpConnector(httpClient))
+            .build();
+        return new Client(settings, generation, poolName, connectionProvider, webClient);
+    }
+
+    /**
+     * @param defaultMaxConnections 默认最大连接数
+     * @param defaultResponseTimeoutSeconds 默认响应超时，与该上游的业务超时保持一致
+     */
+    public enum Upstream {
+        UMAMI("umami", 20, 20),
+        UPTIME("uptime", 10, 8),
+        GITHUB("github", 10, 15);
+
+        private final String key;
+        private final int defaultMaxConnections;
+        private final int defaultResponseTimeoutSeconds;
+
+        Upstream(String key, int defaultMaxConnections, int defaultResponseTimeoutSeconds) {
+            this.key = key;
+            this.defaultMaxConnections = defaultMaxConnections;
+            this.defaultResponseTimeoutSeconds = defaultResponseTimeoutSeconds;
+        }
+
+        public String key() {
+            return key;
+        }
+
+        HttpClientConfig.Profile profileOf(HttpClientConfig config) {
+            HttpClientConfig.Profile profile = switch (this) {
+                case UMAMI -> config.getUmami();
+                case UPTIME -> config.getUptime();
+                case GITHUB -> config.getGithub();
+            };
+            return profile == null ? new HttpClientConfig.Profile() : profile;
+        }
+    }
+
+    /**
+     * 解析后的生效设置，相等时无需重建客户端
+     */
+    record Settings(int maxConnections, Duration connectTimeout, Duration responseTimeout, Duration maxIdleTime,
+                    boolean compression, boolean http2, Duration dnsCacheTtl) {
+
+        private static final int DEFAULT_CONNECT_TIMEOUT_SECONDS = 5;
+        private static final int DEFAULT_MAX_IDLE_SECONDS = 30;
+        private static final int DEFAULT_DNS_CACHE_SECONDS = 300;
+
+        static Settings resolve(Upstream upstream, HttpClientConfig config) {
+            HttpClientConfig.Profile profile = upstream.profileOf(config);
+            return new Settings(
+                positiveOrDefault(profile.getMaxConnections(), upstream.defaultMaxConnections),
+                Duration.ofSeconds(positiveOrDefault(profile.getConnectTimeoutSeconds(),
+                    DEFAULT_CONNECT_TIMEOUT_SECONDS)),
+                Duration.ofSeconds(positiveOrDefault(profile.getResponseTimeoutSeconds(),
+                    upstream.defaultResponseTimeoutSeconds)),
+                Duration.ofSeconds(positiveOrDefault(config.getMaxIdleSeconds(), DEFAULT_MAX_IDLE_SECONDS)),
+                !Boolean.FALSE.equals(config.getCompression()),
+                !Boolean.FALSE.equals(config.getHttp2()),
+                Duration.ofSeconds(config.getDnsCacheSeconds() == null
+                    ? DEFAULT_DNS_CACHE_SECONDS : Math.max(0, config.getDnsCacheSeconds())));
+        }
+
+        private static int positiveOrDefault(Integer value, int defaultValue) {
+            return value == null || value <= 0 ? defaultValue : value;
+        }
+    }
+
+    private record Client(Settings settings, int generation, String poolName,
+                          ConnectionProvider connectionProvider, WebClient webClient) {}
+
+    /**
+     * @param remotes 连接池中的远端地址数，每个地址一个子连接池
+     * @param active 正在使用的连接数
+     * @param idle 空闲连接数
+     * @param pending 等待获取连接的请求数
+     */
+    public record PoolStats(String upstream, int maxConnections, int remotes, int active, int idle, int pending) {}
+}
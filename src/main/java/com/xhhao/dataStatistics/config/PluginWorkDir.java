@@ -0,0 +1,29 @@
+package com.xhhao.dataStatistics.config;
+
+import java.nio.file.Path;
+
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+/**
+ * 插件数据目录：${halo.work-dir}/data-statistics
+ * <p>未配置 halo.work-dir 时使用 Halo 默认工作目录 ~/.halo2。</p>
+ *
+ * @author Handsome
+ * @since 1.0.6
+ */
+@Component
+public class PluginWorkDir {
+
+    private final Path root;
+
+    public PluginWorkDir(Environment environment) {
+        String workDir = environment.getProperty("halo.work-dir",
+            Path.of(System.getProperty("user.home"), ".halo2").toString());
+        this.root = Path.of(workDir, "data-statistics");
+    }
+
+    public Path resolve(String name) {
+        return root.resolve(name);
+    }
+}
@@ -0,0 +1,155 @@
+package com.xhhao.dataStatistics.endpoint;
+
+import static org.springdoc.core.fn.builders.apiresponse.Builder.responseBuilder;
+import static org.springdoc.core.fn.builders.parameter.Builder.parameterBuilder;
+
+import org.springdoc.webflux.core.fn.SpringdocRouteBuilder;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.BodyInserters;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+
+import com.xhhao.dataStatistics.common.ApiResponse;
+import com.xhhao.dataStatistics.config.HttpClientProfiles;
+import com.xhhao.dataStatistics.service.CacheRefreshService;
+import com.xhhao.dataStatistics.service.ClusterService;
+import com.xhhao.dataStatistics.service.ExportService;
+
+import io.swagger.v3.oas.annotations.enums.ParameterIn;
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Mono;
+import run.halo.app.core.extension.endpoint.CustomEndpoint;
+import run.halo.app.extension.GroupVersion;
+
+/**
+ * 控制台接口，需要登录并具有"数据统计管理"权限
+ *
+ * @author Handsome
+ * @since 1.0.6
+ */
+@Component
+@RequiredArgsConstructor
+public class DataStatisticsConsoleEndpoint implements CustomEndpoint {
+
+    private final String tag = "console.api.data.statistics.xhhao.com/v1alpha1/statistics";
+    private final CacheRefreshService cacheRefreshService;
+    private final HttpClientProfiles httpClientProfiles;
+    private final ExportService exportService;
+    private final ClusterService clusterService;
+
+    @Override
+    public RouterFunction<ServerResponse> endpoint() {
+        return SpringdocRouteBuilder.route()
+            .POST("/refresh", this::refresh, builder -> {
+                builder.operationId("refreshStatistics")
+                    .description("异步重建图表数据并清空 Umami、Uptime Kuma 缓存，立即返回重建状态")
+                    .tag(tag)
+                    .response(responseBuilder()
+                        .implementation(CacheRefreshService.RefreshStatus.class)
+                        .responseCode("202")
+                        .description("已触发重建，或已有重建在进行")
+                    );
+            })
+            .GET("/refresh", this::fetchRefreshStatus, builder -> {
+                builder.operationId("fetchRefreshStatus")
+                    .description("获取最近一次重建的状态与耗时")
+                    .tag(tag)
+                    .response(responseBuilder()
+                        .implementation(CacheRefreshService.RefreshStatus.class)
+                        .responseCode("200")
+                        .description("成功返回重建状态")
+                    );
+            })
+            .GET("/http-clients", this::fetchHttpClientStats, builder -> {
+                builder.operationId("fetchHttpClientStats")
+                    .description("获取各上游 HTTP 客户端连接池的活跃、空闲、排队连接数")
+                    .tag(tag)
+                    .response(responseBuilder()
+                        .implementationArray(HttpClientProfiles.PoolStats.class)
+                        .responseCode("200")
+                        .description("成功返回各连接池状态")
+                    );
+            })
+            .GET("/cluster", this::fetchClusterStatus, builder -> {
+                builder.operationId("fetchClusterStatus")
+                    .description("获取多节点共享状态：当前节点、主节点租约与快照代数")
+                    .tag(tag)
+                    .response(responseBuilder()
+                        .implementation(ClusterService.ClusterStatus.class)
+                        .responseCode("200")
+                        .description("成功返回当前节点看到的共享状态")
+                    );
+            })
+            .GET("/export", this::export, builder -> {
+                builder.operationId("exportStatistics")
+                    .description("以 NDJSON 或 CSV 流式导出统计数据，按下载速度逐批生成")
+                    .tag(tag)
+                    .parameter(parameterBuilder()
+                        .name("dataset")
+                        .in(ParameterIn.QUERY)
+                        .required(true)
+                        .description("数据集：daily-posts, moments, commenters, posts, visits")
+                        .implementation(String.class)
+                    )
+                    .parameter(parameterBuilder()
+                        .name("format")
+                        .in(ParameterIn.QUERY)
+                        .required(false)
+                        .description("导出格式：ndjson（默认）, csv")
+                        .implementation(String.class)
+                    )
+                    .response(responseBuilder()
+                        .responseCode("200")
+                        .description("导出文件")
+                    );
+            })
+            .build();
+    }
+
+    private Mono<ServerResponse> refresh(ServerRequest request) {
+        return ServerResponse.status(HttpStatus.ACCEPTED).bodyValue(cacheRefreshService.refresh());
+    }
+
+    private Mono<ServerResponse> fetchRefreshStatus(ServerRequest request) {
+        return ServerResponse.ok().bodyValue(cacheRefreshService.status());
+    }
+
+    private Mono<ServerResponse> fetchHttpClientStats(ServerRequest request) {
+        return ServerResponse.ok().bodyValue(httpClientProfiles.stats());
+    }
+
+    private Mono<ServerResponse> fetchClusterStatus(ServerRequest request) {
+        return ServerResponse.ok().bodyValue(clusterService.status());
+    }
+
+    private Mono<ServerResponse> export(ServerRequest request) {
+        ExportService.Dataset dataset;
+        ExportService.Format format;
+        try {
+            dataset = ExportService.Dataset.parse(request.queryParam("dataset").orElse(""));
+            format = ExportService.Format.parse(request.queryParam("format").orElse(null));
+        } catch (IllegalArgumentException e) {
+            return ServerResponse.badRequest()
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(ApiResponse.error("参数错误",
+                    "dataset 支持 daily-posts, moments, commenters, posts, visits；format 支持 ndjson, csv"));
+        }
+
+        String filename = "data-statistics-" + dataset.key() + "." + format.extension();
+        return ServerResponse.ok()
+            .contentType(MediaType.parseMediaType(format.mediaType() + ";charset=UTF-8"))
+            .header(HttpHeaders.CONTENT_DISPOSITION,
+                ContentDisposition.attachment().filename(filename).build().toString())
+            .body(BodyInserters.fromDataBuffers(exportService.export(dataset, format)));
+    }
+
+    @Override
+    public GroupVersion groupVersion() {
+        return GroupVersion.parseAPIVersion("console.api.data.statistics.xhhao.com/v1alpha1");
+    }
+}
@@ -4,7 +4,23 @@ import static org.springdoc.core.fn.builders.apiresponse.Builder.responseBuilder
 import static org.springdoc.core.fn.builders.parameter.Builder.parameterBuilder;
 import static org.springdoc.core.fn.builders.schema.Builder.schemaBuilder;
 
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+import io.swagger.v3.oas.annotations.enums.ParameterIn;
 import org.springdoc.webflux.core.fn.SpringdocRouteBuilder;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.server.RouterFunction;
@@ -13,11 +29,21 @@ import org.springframework.web.reactive.function.server.ServerResponse;
 
 import com.xhhao.dataStatistics.common.ApiResponse;
 import com.xhhao.dataStatistics.common.Constants;
+import com.xhhao.dataStatistics.config.CachePolicy;
+import com.xhhao.dataStatistics.index.PostRollupCube;
+import com.xhhao.dataStatistics.process.PluginAssets;
+import com.xhhao.dataStatistics.service.ChartSvgService;
+import com.xhhao.dataStatistics.service.GithubCardService;
+import com.xhhao.dataStatistics.service.RealtimePollService;
 import com.xhhao.dataStatistics.service.SettingConfigGetter;
 import com.xhhao.dataStatistics.service.StatisticalService;
+import com.xhhao.dataStatistics.service.TrendingPostService;
 import com.xhhao.dataStatistics.service.UmamiService;
-import com.xhhao.dataStatistics.service.UptimeKumaService;
 import com.xhhao.dataStatistics.vo.PieChartVO;
+import com.xhhao.dataStatistics.vo.PostStatsVO;
+import com.xhhao.dataStatistics.vo.RollupVO;
+import com.xhhao.dataStatistics.vo.TrendingPostVO;
+import com.xhhao.dataStatistics.vo.UniqueCountVO;
 
 import cn.hutool.core.util.StrUtil;
 import lombok.RequiredArgsConstructor;
@@ -31,32 +57,229 @@ import run.halo.app.extension.GroupVersion;
 @RequiredArgsConstructor
 public class DataStatisticsEndpoint implements CustomEndpoint {
 
+    private static final int MAX_RELATED_TAGS = 20;
+    private static final int MAX_METRIC_LIMIT = 50;
+    private static final int MAX_POST_STATS_BATCH = 100;
+    private static final Duration POST_STATS_MAX_AGE = Duration.ofMinutes(1);
+    private static final Duration ASSET_MAX_AGE = Duration.ofDays(365);
+    private static final MediaType SVG_MEDIA_TYPE = MediaType.parseMediaType("image/svg+xml;charset=UTF-8");
+    private static final String SVG_CONTENT_SECURITY_POLICY = "default-src 'none'; style-src 'unsafe-inline'; img-src data:";
+    private static final int MAX_CARD_QUERY_LENGTH = 1024;
+    private static final String GITHUB_CARD_PATH = "/apis/api.data.statistics.xhhao.com/v1alpha1/github-cards/";
+    /**
+     * 距服务端下一次访问上游的秒数，前端按此安排下一次轮询
+     */
+    private static final String NEXT_REFRESH_HEADER = "X-Next-Refresh";
+
     private final String tag = "api.data.statistics.xhhao.com/v1alpha1/statistics";
     private final StatisticalService statisticalService;
+    private final ChartSvgService chartSvgService;
+    private final GithubCardService githubCardService;
     private final UmamiService umamiService;
-    private final UptimeKumaService uptimeKumaService;
+    private final TrendingPostService trendingPostService;
+    private final RealtimePollService realtimePollService;
     private final SettingConfigGetter settingConfigGetter;
+    private final PluginAssets pluginAssets;
+    private final RateLimitFilter rateLimitFilter;
+    private final CachePolicy cachePolicy;
 
     @Override
     public RouterFunction<ServerResponse> endpoint() {
         return SpringdocRouteBuilder.route()
             .GET("/chart/data", this::fetchChartData, builder -> {
                 builder.operationId("fetchChartData")
-                    .description("获取图表数据源")
+                    .description("获取图表数据源，可只获取部分分区")
                     .tag(tag)
+                    .parameter(parameterBuilder()
+                        .name("sections")
+                        .description("分区，逗号分隔，可选值：tags, categories, heatmap, comments, top10, writing, discussed；留空返回全部")
+                        .required(false)
+                        .schema(schemaBuilder()
+                            .type("string")
+                            .example("tags,heatmap")
+                        )
+                    )
                     .response(responseBuilder()
                         .implementation(PieChartVO.class)
                         .responseCode("200")
                         .description("成功返回图表数据")
                     );
             })
+            .GET("/chart/rollup", this::fetchRollup, builder -> {
+                builder.operationId("fetchRollup")
+                    .description("按月份、分类、标签、作者多维汇总文章数")
+                    .tag(tag)
+                    .parameter(parameterBuilder()
+                        .name("groupBy")
+                        .description("分组维度，逗号分隔，可选值：month, category, tag, owner")
+                        .required(false)
+                        .schema(schemaBuilder()
+                            .type("string")
+                            .example("month,category")
+                        )
+                    )
+                    .parameter(parameterBuilder()
+                        .name("month")
+                        .description("按月份过滤，格式 yyyy-MM")
+                        .required(false)
+                    )
+                    .parameter(parameterBuilder()
+                        .name("category")
+                        .description("按分类名称（metadata.name）过滤")
+                        .required(false)
+                    )
+                    .parameter(parameterBuilder()
+                        .name("tag")
+                        .description("按标签名称（metadata.name）过滤")
+                        .required(false)
+                    )
+                    .parameter(parameterBuilder()
+                        .name("owner")
+                        .description("按作者用户名过滤")
+                        .required(false)
+                    )
+                    .response(responseBuilder()
+                        .implementation(RollupVO.class)
+                        .responseCode("200")
+                        .description("成功返回汇总结果")
+                    );
+            })
+            .GET("/chart/related-tags", this::fetchRelatedTags, builder -> {
+                builder.operationId("fetchRelatedTags")
+                    .description("获取每个标签共现次数最多的相关标签")
+                    .tag(tag)
+                    .parameter(parameterBuilder()
+                        .name("limit")
+                        .description("每个标签返回的相关标签数量，默认 5，最大 20")
+                        .required(false)
+                        .schema(schemaBuilder()
+                            .type("integer")
+                            .example("5")
+                        )
+                    )
+                    .response(responseBuilder()
+                        .implementationArray(PieChartVO.Tag.class)
+                        .responseCode("200")
+                        .description("成功返回带相关标签的标签列表")
+                    );
+            })
+            .GET("/chart/unique-commenters", this::fetchUniqueCommenters, builder -> {
+                builder.operationId("fetchUniqueCommenters")
+                    .description("获取一段时间内的独立评论者数量")
+                    .tag(tag)
+                    .parameter(parameterBuilder()
+                        .name("range")
+                        .description("统计区间，可选值：week(近7天), month(本月，默认), year(本年), all(全部)")
+                        .required(false)
+                        .schema(schemaBuilder()
+                            .type("string")
+                            .example("month")
+                        )
+                    )
+                    .parameter(parameterBuilder()
+                        .name("start")
+                        .description("开始日期 yyyy-MM-dd，与 end 同时传入时忽略 range")
+                        .required(false)
+                    )
+                    .parameter(parameterBuilder()
+                        .name("end")
+                        .description("结束日期 yyyy-MM-dd（含）")
+                        .required(false)
+                    )
+                    .response(responseBuilder()
+                        .implementation(UniqueCountVO.class)
+                        .responseCode("200")
+                        .description("成功返回独立评论者数量")
+                    );
+            })
+            .GET("/chart/heatmap.svg", request -> fetchChartSvg(request, ChartSvgService.Chart.HEATMAP), builder -> {
+                builder.operationId("fetchHeatmapSvg")
+                    .description("获取服务端渲染的文章发布热力图（SVG），无需脚本即可展示")
+                    .tag(tag)
+                    .parameter(parameterBuilder()
+                        .name("theme")
+                        .description("配色主题，可选值：light(默认), dark")
+                        .required(false)
+                    )
+                    .response(responseBuilder()
+                        .responseCode("200")
+                        .description("成功返回 SVG 图片")
+                    );
+            })
+            .GET("/chart/tags.svg", request -> fetchChartSvg(request, ChartSvgService.Chart.TAGS), builder -> {
+                builder.operationId("fetchTagsSvg")
+                    .description("获取服务端渲染的标签占比环形图（SVG），无需脚本即可展示")
+                    .tag(tag)
+                    .parameter(parameterBuilder()
+                        .name("theme")
+                        .description("配色主题，可选值：light(默认), dark")
+                        .required(false)
+                    )
+                    .response(responseBuilder()
+                        .responseCode("200")
+                        .description("成功返回 SVG 图片")
+                    );
+            })
+            .GET("/chart/categories.svg", request -> fetchChartSvg(request, ChartSvgService.Chart.CATEGORIES), builder -> {
+                builder.operationId("fetchCategoriesSvg")
+                    .description("获取服务端渲染的分类占比环形图（SVG），无需脚本即可展示")
+                    .tag(tag)
+                    .parameter(parameterBuilder()
+                        .name("theme")
+                        .description("配色主题，可选值：light(默认), dark")
+                        .required(false)
+                    )
+                    .response(responseBuilder()
+                        .responseCode("200")
+                        .description("成功返回 SVG 图片")
+                    );
+            })
+            .GET("/posts/stats", this::fetchPostStats, builder -> {
+                builder.operationId("fetchPostStats")
+                    .description("批量获取文章的访问量、评论数、点赞数，供文章列表页一次请求展示")
+                    .tag(tag)
+                    .parameter(parameterBuilder()
+                        .name("names")
+                        .description("文章名称（metadata.name），逗号分隔，最多 " + MAX_POST_STATS_BATCH + " 篇")
+                        .required(true)
+                        .schema(schemaBuilder()
+                            .type("string")
+                            .example("post-a,post-b")
+                        )
+                    )
+                    .response(responseBuilder()
+                        .implementationArray(PostStatsVO.class)
+                        .responseCode("200")
+                        .description("按请求顺序返回文章统计，未发布或不存在的文章不出现在结果中")
+                    );
+            })
+            .GET("/posts/trending", this::fetchTrendingPosts, builder -> {
+                builder.operationId("fetchTrendingPosts")
+                    .description("按 Umami 中最近若干天的页面浏览量排序的热门文章")
+                    .tag(tag)
+                    .parameter(parameterBuilder()
+                        .name("days")
+                        .description("最近天数，默认 7，最大 " + TrendingPostService.MAX_DAYS)
+                        .required(false)
+                    )
+                    .parameter(parameterBuilder()
+                        .name("limit")
+                        .description("返回条数，默认 10，最大 " + TrendingPostService.MAX_LIMIT)
+                        .required(false)
+                    )
+                    .response(responseBuilder()
+                        .implementationArray(TrendingPostVO.class)
+                        .responseCode("200")
+                        .description("按浏览量降序返回文章，区间内没有浏览记录的文章不出现")
+                    );
+            })
             .GET("/umami/websites", this::fetchUmamiWebsites, builder -> {
                 builder.operationId("fetchUmamiWebsites")
                     .description("获取Umami网站列表")
                     .tag(tag)
                     .response(responseBuilder()
                         .responseCode("200")
-                        .description("成功返回网站列表（原始JSON）")
+                        .description("成功返回网站列表")
                     );
             })
             .GET("/umami/visits", this::fetchVisits, builder -> {
@@ -77,9 +300,37 @@ public class DataStatisticsEndpoint implements CustomEndpoint {
                         .description("成功返回访问统计数据")
                     );
             })
+            .GET("/umami/metrics", this::fetchUmamiMetrics, builder -> {
+                builder.operationId("fetchUmamiMetrics")
+                    .description("一次请求获取多个 Umami 细分指标（热门页面、来源、浏览器、系统、国家等）")
+                    .tag(tag)
+                    .parameter(parameterBuilder()
+                        .name("types")
+                        .description("指标类型，逗号分隔，可选值：url, path, referrer, browser, os, device, country, event")
+                        .required(true)
+                        .schema(schemaBuilder()
+                            .type("string")
+                            .example("url,referrer,browser")
+                        )
+                    )
+                    .parameter(parameterBuilder()
+                        .name("range")
+                        .description("统计区间，可选值：daily(默认), weekly, monthly, quarterly, yearly")
+                        .required(false)
+                    )
+                    .parameter(parameterBuilder()
+                        .name("limit")
+                        .description("每个指标返回的条数，默认 10，最大 50")
+                        .required(false)
+                    )
+                    .response(responseBuilder()
+                        .responseCode("200")
+                        .description("成功返回指标类型到结果列表的映射")
+                    );
+            })
             .GET("/umami/realtime", this::fetchRealtimeVisits, builder -> {
                 builder.operationId("fetchRealtimeVisits")
-                    .description("获取实时访问统计")
+                    .description("获取实时访问统计，响应头 " + NEXT_REFRESH_HEADER + " 为建议的下一次请求间隔（秒）")
                     .tag(tag)
                     .response(responseBuilder()
                         .responseCode("200")
@@ -88,11 +339,11 @@ public class DataStatisticsEndpoint implements CustomEndpoint {
             })
             .GET("/uptime/status", this::fetchUptimeKumaStatus, builder -> {
                 builder.operationId("fetchUptimeKumaStatus")
-                    .description("获取 Uptime Kuma 状态页面数据")
+                    .description("获取 Uptime Kuma 状态页面数据，响应头 " + NEXT_REFRESH_HEADER + " 为建议的下一次请求间隔（秒）")
                     .tag(tag)
                     .response(responseBuilder()
                         .responseCode("200")
-                        .description("成功返回状态码：1-所有业务正常，0-全部业务异常，2-部分业务异常")
+                        .description("成功返回合并后的状态码（1-所有业务正常，0-全部业务异常，2-部分业务异常）及各状态页明细")
                     );
             })
             .GET("/github/config", this::fetchGithubConfig, builder -> {
@@ -101,10 +352,41 @@ public class DataStatisticsEndpoint implements CustomEndpoint {
                     .tag(tag)
                     .response(responseBuilder()
                         .responseCode("200")
-                        .description("成功返回 GitHub 配置（proxyUrl 和 username）")
+                        .description("成功返回 GitHub 配置（proxyUrl、username 和卡片代理地址 cardUrl）")
+                    );
+            })
+            .GET("/github-cards/{type}", this::fetchGithubCard, builder -> {
+                builder.operationId("fetchGithubCard")
+                    .description("通过插件缓存代理获取设置中用户的 GitHub 卡片，只接受编辑器中可选的展示参数")
+                    .tag(tag)
+                    .parameter(parameterBuilder()
+                        .in(ParameterIn.PATH)
+                        .name("type")
+                        .description("卡片类型，可选值：stats, pin, top-langs, graph")
+                        .required(true)
+                    )
+                    .response(responseBuilder()
+                        .responseCode("200")
+                        .description("成功返回卡片 SVG")
+                    );
+            })
+            .GET("/assets/{name}", this::fetchAsset, builder -> {
+                builder.operationId("fetchAsset")
+                    .description("获取带内容指纹的前台静态资源，响应可被永久缓存")
+                    .tag(tag)
+                    .parameter(parameterBuilder()
+                        .in(ParameterIn.PATH)
+                        .name("name")
+                        .description("带指纹的文件名，如 siteCharts.min.0123456789.js")
+                        .required(true)
+                    )
+                    .response(responseBuilder()
+                        .responseCode("200")
+                        .description("成功返回静态资源")
                     );
             })
-            .build();
+            .build()
+            .filter(rateLimitFilter);
     }
 
     /**
@@ -118,12 +400,208 @@ public class DataStatisticsEndpoint implements CustomEndpoint {
     }
 
     private Mono<ServerResponse> fetchChartData(ServerRequest request) {
-        return statisticalService.getPieChartVO()
+        Set<StatisticalService.Section> sections = EnumSet.noneOf(StatisticalService.Section.class);
+        try {
+            StrUtil.splitTrim(request.queryParam("sections").orElse(""), ',')
+                .forEach(section -> sections.add(StatisticalService.Section.parse(section)));
+        } catch (IllegalArgumentException e) {
+            return ServerResponse.badRequest()
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(ApiResponse.error("参数错误",
+                    "sections 支持 tags, categories, heatmap, comments, top10, writing, discussed"));
+        }
+        if (sections.isEmpty()) {
+            sections.addAll(EnumSet.allOf(StatisticalService.Section.class));
+        }
+
+        return statisticalService.getPieChartVO(sections)
             .flatMap(dataSource -> ServerResponse.ok().bodyValue(dataSource))
             .switchIfEmpty(ServerResponse.ok().bodyValue(new PieChartVO()))
             .onErrorResume(e -> handleError("获取图表数据", e));
     }
 
+    private Mono<ServerResponse> fetchRollup(ServerRequest request) {
+        PostRollupCube.Query query;
+        try {
+            Set<PostRollupCube.Dimension> groupBy = StrUtil.splitTrim(request.queryParam("groupBy").orElse(""), ',')
+                .stream()
+                .map(PostRollupCube.Dimension::parse)
+                .collect(Collectors.toSet());
+            YearMonth month = request.queryParam("month")
+                .filter(StrUtil::isNotBlank)
+                .map(YearMonth::parse)
+                .orElse(null);
+            query = new PostRollupCube.Query(groupBy, month,
+                request.queryParam("category").filter(StrUtil::isNotBlank).orElse(null),
+                request.queryParam("tag").filter(StrUtil::isNotBlank).orElse(null),
+                request.queryParam("owner").filter(StrUtil::isNotBlank).orElse(null));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            return ServerResponse.badRequest()
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(ApiResponse.error("参数错误", "groupBy 支持 month, category, tag, owner；month 格式为 yyyy-MM"));
+        }
+
+        return statisticalService.getRollup(query)
+            .flatMap(data -> ServerResponse.ok().bodyValue(data))
+            .onErrorResume(e -> handleError("获取文章汇总数据", e));
+    }
+
+    private Mono<ServerResponse> fetchRelatedTags(ServerRequest request) {
+        String limitParam = request.queryParam("limit").orElse("5");
+        if (!limitParam.matches("\\d{1,2}") || Integer.parseInt(limitParam) < 1
+            || Integer.parseInt(limitParam) > MAX_RELATED_TAGS) {
+            return ServerResponse.badRequest()
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(ApiResponse.error("参数错误", "limit 取值范围为 1-" + MAX_RELATED_TAGS));
+        }
+
+        return statisticalService.getRelatedTags(Integer.parseInt(limitParam))
+            .flatMap(data -> ServerResponse.ok().bodyValue(data))
+            .onErrorResume(e -> handleError("获取相关标签", e));
+    }
+
+    private Mono<ServerResponse> fetchPostStats(ServerRequest request) {
+        List<String> names = StrUtil.splitTrim(request.queryParam("names").orElse(""), ',').stream()
+            .distinct()
+            .toList();
+        if (names.isEmpty() || names.size() > MAX_POST_STATS_BATCH) {
+            return ServerResponse.badRequest()
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(ApiResponse.error("参数错误", "names 需包含 1-" + MAX_POST_STATS_BATCH + " 个文章名称"));
+        }
+
+        return statisticalService.getPostStats(names)
+            .flatMap(data -> ServerResponse.ok()
+                .cacheControl(CacheControl.maxAge(POST_STATS_MAX_AGE).cachePublic())
+                .bodyValue(data))
+            .onErrorResume(e -> handleError("获取文章统计", e));
+    }
+
+    private Mono<ServerResponse> fetchTrendingPosts(ServerRequest request) {
+        String daysParam = request.queryParam("days").orElse("7");
+        String limitParam = request.queryParam("limit").orElse("10");
+        if (!daysParam.matches("\\d{1,2}") || Integer.parseInt(daysParam) < 1
+            || Integer.parseInt(daysParam) > TrendingPostService.MAX_DAYS
+            || !limitParam.matches("\\d{1,2}") || Integer.parseInt(limitParam) < 1
+            || Integer.parseInt(limitParam) > TrendingPostService.MAX_LIMIT) {
+            return ServerResponse.badRequest()
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(ApiResponse.error("参数错误", "days 取值范围为 1-" + TrendingPostService.MAX_DAYS
+                    + "；limit 取值范围为 1-" + TrendingPostService.MAX_LIMIT));
+        }
+
+        return trendingPostService.getTrendingPosts(Integer.parseInt(daysParam), Integer.parseInt(limitParam))
+            .flatMap(data -> ServerResponse.ok()
+                .cacheControl(CacheControl.maxAge(cachePolicy.current().umamiCacheTtl()).cachePublic())
+                .bodyValue(data))
+            .onErrorResume(e -> handleError("获取近期热门文章", e));
+    }
+
+    private Mono<ServerResponse> fetchUniqueCommenters(ServerRequest request) {
+        LocalDate today = LocalDate.now(Constants.DEFAULT_ZONE_ID);
+        LocalDate start;
+        LocalDate end;
+        try {
+            Optional<String> startParam = request.queryParam("start").filter(StrUtil::isNotBlank);
+            Optional<String> endParam = request.queryParam("end").filter(StrUtil::isNotBlank);
+            if (startParam.isPresent() && endParam.isPresent()) {
+                start = LocalDate.parse(startParam.get());
+                end = LocalDate.parse(endParam.get());
+            } else {
+                end = today;
+                start = switch (request.queryParam("range").orElse("month")) {
+                    case "week" -> today.minusDays(6);
+                    case "month" -> today.withDayOfMonth(1);
+                    case "year" -> today.withDayOfYear(1);
+                    case "all" -> LocalDate.EPOCH;
+                    default -> throw new IllegalArgumentException();
+                };
+            }
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            return ServerResponse.badRequest()
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(ApiResponse.error("参数错误", "range 支持 week, month, year, all；start/end 格式为 yyyy-MM-dd"));
+        }
+        if (start.isAfter(end)) {
+            return ServerResponse.badRequest()
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(ApiResponse.error("参数错误", "start 不能晚于 end"));
+        }
+
+        return statisticalService.getUniqueCommenters(start, end)
+            .flatMap(data -> ServerResponse.ok().bodyValue(data))
+            .onErrorResume(e -> handleError("获取独立评论者数量", e));
+    }
+
+    private Mono<ServerResponse> fetchChartSvg(ServerRequest request, ChartSvgService.Chart chart) {
+        ChartSvgService.Theme theme;
+        try {
+            theme = ChartSvgService.Theme.parse(request.queryParam("theme").orElse(null));
+        } catch (IllegalArgumentException e) {
+            return ServerResponse.badRequest()
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(ApiResponse.error("参数错误", "theme 支持 light, dark"));
+        }
+
+        CacheControl cacheControl = CacheControl.maxAge(cachePolicy.current().chartCacheTtl())
+            .cachePublic();
+        return chartSvgService.render(chart, theme)
+            .flatMap(image -> svgResponse(request, image.content(), image.etag(), cacheControl))
+            .onErrorResume(e -> handleError("渲染 SVG 图表", e));
+    }
+
+    /**
+     * 返回 SVG 并支持 If-None-Match；附带 CSP，防止直接打开时执行 SVG 内嵌脚本
+     */
+    private Mono<ServerResponse> svgResponse(ServerRequest request, byte[] content, String etag,
+                                             CacheControl cacheControl) {
+        if (request.headers().header(HttpHeaders.IF_NONE_MATCH).contains(etag)) {
+            return ServerResponse.status(HttpStatus.NOT_MODIFIED)
+                .eTag(etag)
+                .cacheControl(cacheControl)
+                .build();
+        }
+        return ServerResponse.ok()
+            .contentType(SVG_MEDIA_TYPE)
+            .eTag(etag)
+            .cacheControl(cacheControl)
+            .header("Content-Security-Policy", SVG_CONTENT_SECURITY_POLICY)
+            .header("X-Content-Type-Options", "nosniff")
+            .bodyValue(content);
+    }
+
+    private Mono<ServerResponse> fetchGithubCard(ServerRequest request) {
+        GithubCardService.CardType type;
+        try {
+            type = GithubCardService.CardType.parse(request.pathVariable("type"));
+        } catch (IllegalArgumentException e) {
+            return ServerResponse.badRequest()
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(ApiResponse.error("参数错误", "type 支持 stats, pin, top-langs, graph"));
+        }
+        String query = request.uri().getRawQuery();
+        if (query != null && query.length() > MAX_CARD_QUERY_LENGTH) {
+            return ServerResponse.badRequest()
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(ApiResponse.error("参数错误", "查询参数过长"));
+        }
+        Map<String, String> params;
+        try {
+            params = type.normalize(request.queryParams());
+        } catch (IllegalArgumentException e) {
+            return ServerResponse.badRequest()
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(ApiResponse.error("参数错误", e.getMessage() + "；该卡片支持 "
+                    + String.join(", ", new TreeSet<>(type.paramNames()))));
+        }
+
+        CacheControl cacheControl = CacheControl.maxAge(cachePolicy.current().githubCardFreshTtl())
+            .cachePublic();
+        return githubCardService.getCard(type, params)
+            .flatMap(card -> svgResponse(request, card.content(), card.etag(), cacheControl))
+            .onErrorResume(e -> handleError("获取 GitHub 卡片", e));
+    }
+
     private Mono<ServerResponse> fetchUmamiWebsites(ServerRequest request) {
         return umamiService.getWebsites()
             .flatMap(data -> ServerResponse.ok().bodyValue(data))
@@ -144,21 +622,51 @@ public class DataStatisticsEndpoint implements CustomEndpoint {
             .onErrorResume(e -> handleError("获取" + typeParam + "访问统计", e));
     }
 
+    private Mono<ServerResponse> fetchUmamiMetrics(ServerRequest request) {
+        List<String> types = StrUtil.splitTrim(request.queryParam("types").orElse(""), ',')
+            .stream()
+            .distinct()
+            .toList();
+        String range = request.queryParam("range").orElse("daily");
+        String limitParam = request.queryParam("limit").orElse("10");
+        if (types.isEmpty() || !UmamiService.METRIC_TYPES.containsAll(types)
+            || !range.matches("daily|weekly|monthly|quarterly|yearly")
+            || !limitParam.matches("\\d{1,2}") || Integer.parseInt(limitParam) < 1
+            || Integer.parseInt(limitParam) > MAX_METRIC_LIMIT) {
+            return ServerResponse.badRequest()
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(ApiResponse.error("参数错误", "types 支持 " + String.join(", ", UmamiService.METRIC_TYPES)
+                    + "；range 支持 daily, weekly, monthly, quarterly, yearly；limit 取值范围为 1-" + MAX_METRIC_LIMIT));
+        }
+
+        return umamiService.getMetrics(null, types, range, Integer.parseInt(limitParam))
+            .flatMap(data -> ServerResponse.ok().bodyValue(data))
+            .onErrorResume(e -> handleError("获取 Umami 细分指标", e));
+    }
+
     private Mono<ServerResponse> fetchRealtimeVisits(ServerRequest request) {
         String websiteIdParam = request.queryParam("websiteId").orElse("");
         String finalWebsiteId = StrUtil.isBlank(websiteIdParam) ? null : websiteIdParam;
         
-        return umamiService.getRealtimeVisitStatistics(finalWebsiteId)
-            .flatMap(data -> ServerResponse.ok().bodyValue(data))
+        return realtimePollService.getRealtimeData(finalWebsiteId)
+            .flatMap(this::polledResponse)
             .onErrorResume(e -> handleError("获取实时访问统计", e));
     }
 
     private Mono<ServerResponse> fetchUptimeKumaStatus(ServerRequest request) {
-        return uptimeKumaService.getStatusPage()
-            .flatMap(data -> ServerResponse.ok().bodyValue(data))
+        return realtimePollService.getUptimeStatus()
+            .flatMap(this::polledResponse)
             .onErrorResume(e -> handleError("获取 Uptime Kuma 状态页面", e));
     }
 
+    private Mono<ServerResponse> polledResponse(RealtimePollService.Polled<?> polled) {
+        long seconds = Math.max(1, (polled.nextRefresh().toMillis() + 999) / 1000);
+        return ServerResponse.ok()
+            .cacheControl(CacheControl.noCache())
+            .header(NEXT_REFRESH_HEADER, String.valueOf(seconds))
+            .bodyValue(polled.value());
+    }
+
     private Mono<ServerResponse> fetchGithubConfig(ServerRequest request) {
         return settingConfigGetter.getGithubConfig()
             .map(config -> {
@@ -168,7 +676,8 @@ public class DataStatisticsEndpoint implements CustomEndpoint {
                 String graphProxyUrl = StrUtil.isNotBlank(config.getGraphProxyUrl())
                     ? normalizeUrl(config.getGraphProxyUrl(), Constants.DefaultUrls.GITHUB_GRAPH_URL)
                     : Constants.DefaultUrls.GITHUB_GRAPH_URL;
-                return new GithubConfigResponse(proxyUrl, config.getUsername(), graphProxyUrl);
+                String cardUrl = Boolean.FALSE.equals(config.getCacheCards()) ? null : GITHUB_CARD_PATH;
+                return new GithubConfigResponse(proxyUrl, config.getUsername(), graphProxyUrl, cardUrl);
             })
             .flatMap(config -> ServerResponse.ok()
                 .contentType(MediaType.APPLICATION_JSON)
@@ -176,6 +685,27 @@ public class DataStatisticsEndpoint implements CustomEndpoint {
             .onErrorResume(e -> handleError("获取 GitHub 配置", e));
     }
 
+    private Mono<ServerResponse> fetchAsset(ServerRequest request) {
+        return pluginAssets.findByHashedName(request.pathVariable("name"))
+            .map(asset -> {
+                String etag = "\"" + asset.hash() + "\"";
+                // 地址随内容变化，缓存命中后无需再验证
+                CacheControl cacheControl = CacheControl.maxAge(ASSET_MAX_AGE).cachePublic().immutable();
+                if (request.headers().header(HttpHeaders.IF_NONE_MATCH).contains(etag)) {
+                    return ServerResponse.status(HttpStatus.NOT_MODIFIED)
+                        .eTag(etag)
+                        .cacheControl(cacheControl)
+                        .build();
+                }
+                return ServerResponse.ok()
+                    .contentType(asset.mediaType())
+                    .eTag(etag)
+                    .cacheControl(cacheControl)
+                    .bodyValue(asset.content());
+            })
+            .orElseGet(() -> ServerResponse.notFound().build());
+    }
+
     private String normalizeUrl(String url, String defaultUrl) {
         if (StrUtil.isBlank(url)) {
             return defaultUrl;
@@ -187,7 +717,10 @@ public class DataStatisticsEndpoint implements CustomEndpoint {
         return normalized;
     }
 
-    private record GithubConfigResponse(String proxyUrl, String username, String graphProxyUrl) {}
+    /**
+     * @param cardUrl 插件卡片代理地址，为空时组件直接请求上游
+     */
+    private record GithubConfigResponse(String proxyUrl, String username, String graphProxyUrl, String cardUrl) {}
 
     @Override
     public GroupVersion groupVersion() {
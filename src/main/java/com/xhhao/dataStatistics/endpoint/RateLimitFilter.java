@@ -0,0 +1,140 @@
+package com.xhhao.dataStatistics.endpoint;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.List;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.HandlerFilterFunction;
+import org.springframework.web.reactive.function.server.HandlerFunction;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+
+import com.xhhao.dataStatistics.common.ApiResponse;
+import com.xhhao.dataStatistics.common.TokenBucketRateLimiter;
+import com.xhhao.dataStatistics.common.TrustedProxies;
+import com.xhhao.dataStatistics.service.SettingConfigGetter;
+
+import cn.hutool.core.util.StrUtil;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+
+/**
+ * 公开接口的按客户端 IP 限流
+ * <p>按接口分组（chart、posts、umami、uptime、github）分别计数，每分钟配额在插件设置中配置，
+ * 超出配额返回 429 并通过 Retry-After 告知需要等待的秒数。带指纹的静态资源不限流。</p>
+ * <p>客户端地址默认取 TCP 连接的对端地址；只有对端是设置中受信任的反向代理时才读取 X-Forwarded-For / X-Real-IP，
+ * 否则任何人都能伪造请求头绕过限流，或用大量伪造地址挤掉正常访客的计数。</p>
+ *
+ * @author Handsome
+ * @since 1.0.6
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RateLimitFilter implements HandlerFilterFunction<ServerResponse, ServerResponse> {
+
+    private static final int MAX_BUCKETS = 10_000;
+    private static final String VERSION_SEGMENT = "/v1alpha1/";
+
+    private final SettingConfigGetter settingConfigGetter;
+    private final TokenBucketRateLimiter rateLimiter = new TokenBucketRateLimiter(MAX_BUCKETS);
+
+    /**
+     * 解析后的受信任代理，设置内容变化时才重新解析
+     */
+    private volatile ParsedProxies parsedProxies = new ParsedProxies("", TrustedProxies.NONE);
+
+    @Override
+    public Mono<ServerResponse> filter(ServerRequest request, HandlerFunction<ServerResponse> next) {
+        String routeGroup = routeGroup(request.path());
+        if (routeGroup == null) {
+            return next.handle(request);
+        }
+        return settingConfigGetter.getRateLimitConfig()
+            .flatMap(config -> {
+                int limit = config.limitOf(routeGroup);
+                if (limit <= 0) {
+                    return next.handle(request);
+                }
+                String clientIp = clientIp(request, trustedProxies(config.getTrustedProxies()));
+                Duration wait = rateLimiter.tryAcquire(clientIp + "|" + routeGroup, limit);
+                if (wait.isZero()) {
+                    return next.handle(request);
+                }
+                long retryAfter = Math.max(1, (wait.toMillis() + 999) / 1000);
+                log.debug("请求过于频繁: {} {}", clientIp, request.path());
+                return ServerResponse.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfter))
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .bodyValue(ApiResponse.error("请求过于频繁", "请在 " + retryAfter + " 秒后重试"));
+            });
+    }
+
+    /**
+     * 取版本号后的第一段路径作为分组，如 .../v1alpha1/umami/visits → umami
+     */
+    private static String routeGroup(String path) {
+        int index = path.indexOf(VERSION_SEGMENT);
+        if (index < 0) {
+            return null;
+        }
+        String rest = path.substring(index + VERSION_SEGMENT.length());
+        int slash = rest.indexOf('/');
+        return slash < 0 ? rest : rest.substring(0, slash);
+    }
+
+    private TrustedProxies trustedProxies(String raw) {
+        String value = StrUtil.nullToEmpty(raw);
+        ParsedProxies parsed = parsedProxies;
+        if (!parsed.raw().equals(value)) {
+            parsed = new ParsedProxies(value, TrustedProxies.parse(value));
+            parsedProxies = parsed;
+        }
+        return parsed.proxies();
+    }
+
+    /**
+     * 对端不是受信任代理时直接使用对端地址；否则从 X-Forwarded-For 右侧向左跳过受信任代理，
+     * 取第一个不受信任的地址，没有该请求头时使用 X-Real-IP
+     */
+    private static String clientIp(ServerRequest request, TrustedProxies trustedProxies) {
+        InetAddress peer = request.remoteAddress()
+            .map(InetSocketAddress::getAddress)
+            .orElse(null);
+        if (peer == null) {
+            return request.remoteAddress().map(InetSocketAddress::getHostString).orElse("unknown");
+        }
+        if (!trustedProxies.contains(peer)) {
+            return peer.getHostAddress();
+        }
+
+        List<String> forwardedFor = request.headers().header("X-Forwarded-For").stream()
+            .flatMap(value -> StrUtil.splitTrim(value, ',').stream())
+            .toList();
+        if (!forwardedFor.isEmpty()) {
+            InetAddress client = peer;
+            for (int i = forwardedFor.size() - 1; i >= 0; i--) {
+                InetAddress hop = TrustedProxies.parseLiteral(forwardedFor.get(i));
+                if (hop == null) {
+                    // 受信任代理不会写入非法地址，停在最后一个可信的地址
+                    break;
+                }
+                client = hop;
+                if (!trustedProxies.contains(hop)) {
+                    break;
+                }
+            }
+            return client.getHostAddress();
+        }
+        InetAddress realIp = TrustedProxies.parseLiteral(request.headers().firstHeader("X-Real-IP"));
+        return (realIp != null ? realIp : peer).getHostAddress();
+    }
+
+    private record ParsedProxies(String raw, TrustedProxies proxies) {}
+}
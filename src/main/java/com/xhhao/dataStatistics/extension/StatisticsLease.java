@@ -0,0 +1,36 @@
+package com.xhhao.dataStatistics.extension;
+
+import java.time.Instant;
+
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import run.halo.app.extension.AbstractExtension;
+import run.halo.app.extension.GVK;
+
+/**
+ * 多节点部署时的主节点租约，只有一个名为 {@link #NAME} 的实例
+ * <p>主节点定期续约；续约时间超过租约时长未更新时，其他节点可以接管。
+ * 同时记录主节点最近发布的快照代数，其他节点据此判断是否需要读取新的 {@link StatisticsSnapshot}。</p>
+ *
+ * @author Handsome
+ * @since 1.0.6
+ */
+@Data
+@EqualsAndHashCode(callSuper = true)
+@GVK(group = "data.statistics.xhhao.com", version = "v1alpha1", kind = "StatisticsLease",
+    plural = "statisticsleases", singular = "statisticslease")
+public class StatisticsLease extends AbstractExtension {
+
+    public static final String NAME = "statistics-leader";
+
+    private Spec spec;
+
+    @Data
+    public static class Spec {
+        private String holder;  // 持有租约的节点
+        private Instant acquiredAt;  // 本次持有的开始时间
+        private Instant renewedAt;  // 最近续约时间
+        private Integer durationSeconds;  // 租约时长（秒）
+        private Long snapshotGeneration;  // 最近发布的快照代数
+    }
+}
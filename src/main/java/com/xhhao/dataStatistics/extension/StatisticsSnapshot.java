@@ -0,0 +1,33 @@
+package com.xhhao.dataStatistics.extension;
+
+import java.time.Instant;
+
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import run.halo.app.extension.AbstractExtension;
+import run.halo.app.extension.GVK;
+
+/**
+ * 主节点发布的图表数据快照，只有一个名为 {@link #NAME} 的实例，每次发布代数加一
+ *
+ * @author Handsome
+ * @since 1.0.6
+ */
+@Data
+@EqualsAndHashCode(callSuper = true)
+@GVK(group = "data.statistics.xhhao.com", version = "v1alpha1", kind = "StatisticsSnapshot",
+    plural = "statisticssnapshots", singular = "statisticssnapshot")
+public class StatisticsSnapshot extends AbstractExtension {
+
+    public static final String NAME = "chart-data";
+
+    private Spec spec;
+
+    @Data
+    public static class Spec {
+        private Long generation;  // 代数，从 1 开始递增
+        private String publisher;  // 发布节点
+        private Instant publishedAt;  // 发布时间
+        private String payload;  // 图表数据 JSON
+    }
+}
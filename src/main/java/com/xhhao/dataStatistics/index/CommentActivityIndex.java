@@ -0,0 +1,115 @@
+package com.xhhao.dataStatistics.index;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.function.Predicate;
+
+import org.springframework.stereotype.Component;
+
+import com.xhhao.dataStatistics.common.Constants;
+
+import run.halo.app.core.extension.content.Comment;
+import run.halo.app.extension.Ref;
+
+/**
+ * 评论活跃度索引：按天、按文章维护已审核评论数
+ * 记录每条评论所在的日期和文章，评论变更或删除时只调整对应计数；文章名编码为 int，计数使用原始类型哈希表。
+ *
+ * @author Handsome
+ * @since 1.0.6
+ */
+@Component
+public class CommentActivityIndex implements CommentIndex {
+
+    private static final String POST_GROUP = "content.halo.run";
+    private static final String POST_KIND = "Post";
+    private static final int MAX_POSTS = 1 << 20;
+
+    private final Map<String, Placement> placementByComment = new HashMap<>();
+    private final LongIntHashMap countsByDay = new LongIntHashMap();
+    private final LongIntHashMap countsByPost = new LongIntHashMap();
+    private final DimensionDictionary postDictionary = new DimensionDictionary(MAX_POSTS);
+
+    @Override
+    public synchronized void onCommentChanged(Comment comment) {
+        Instant time = comment.getSpec().getCreationTime() != null
+            ? comment.getSpec().getCreationTime()
+            : comment.getMetadata().getCreationTimestamp();
+        long day = LocalDate.ofInstant(time, Constants.DEFAULT_ZONE_ID).toEpochDay();
+        Ref subject = comment.getSpec().getSubjectRef();
+        int postId = subject != null && POST_GROUP.equals(subject.getGroup()) && POST_KIND.equals(subject.getKind())
+            ? postDictionary.encode(subject.getName())
+            : DimensionDictionary.NONE;
+
+        Placement previous = placementByComment.put(comment.getMetadata().getName(), new Placement(day, postId));
+        if (previous != null) {
+            remove(previous);
+        }
+        countsByDay.addTo(day, 1);
+        if (postId != DimensionDictionary.NONE) {
+            countsByPost.addTo(postId, 1);
+        }
+    }
+
+    @Override
+    public synchronized void onCommentRemoved(String commentName) {
+        Placement previous = placementByComment.remove(commentName);
+        if (previous != null) {
+            remove(previous);
+        }
+    }
+
+    /**
+     * [start, end] 闭区间内每天的评论数，键为 yyyy-MM-dd，没有评论的日期不出现
+     */
+    public synchronized Map<String, Integer> countsBetween(LocalDate start, LocalDate end) {
+        Map<String, Integer> counts = new HashMap<>();
+        for (long day = start.toEpochDay(); day <= end.toEpochDay(); day++) {
+            int count = countsByDay.get(day);
+            if (count > 0) {
+                counts.put(LocalDate.ofEpochDay(day).toString(), count);
+            }
+        }
+        return counts;
+    }
+
+    /**
+     * 评论最多的 limit 篇文章，按评论数降序
+     *
+     * @param include 过滤文章名，如只保留已发布的文章
+     */
+    public synchronized List<PostComments> topPosts(int limit, Predicate<String> include) {
+        PriorityQueue<PostComments> heap = new PriorityQueue<>(limit + 1,
+            Comparator.comparingInt(PostComments::count));
+        countsByPost.forEach((postId, count) -> {
+            String postName = postDictionary.decode((int) postId);
+            if (count <= 0 || !include.test(postName)) {
+                return;
+            }
+            heap.offer(new PostComments(postName, count));
+            if (heap.size() > limit) {
+                heap.poll();
+            }
+        });
+        List<PostComments> top = new ArrayList<>(heap);
+        top.sort(Comparator.comparingInt(PostComments::count).reversed());
+        return top;
+    }
+
+    private void remove(Placement placement) {
+        countsByDay.addTo(placement.day(), -1);
+        if (placement.postId() != DimensionDictionary.NONE) {
+            countsByPost.addTo(placement.postId(), -1);
+        }
+    }
+
+    private record Placement(long day, int postId) {}
+
+    public record PostComments(String postName, int count) {}
+}
@@ -0,0 +1,28 @@
+package com.xhhao.dataStatistics.index;
+
+import run.halo.app.core.extension.content.Comment;
+
+/**
+ * 由评论变更驱动增量维护的内存索引
+ * 仅满足 {@link #isCounted(Comment)} 的评论会通过 {@link #onCommentChanged(Comment)} 传入，
+ * 其他情况一律视为移除。
+ *
+ * @author Handsome
+ * @since 1.0.6
+ */
+public interface CommentIndex {
+
+    void onCommentChanged(Comment comment);
+
+    void onCommentRemoved(String commentName);
+
+    /**
+     * 已审核、未隐藏且未删除的评论才计入统计
+     */
+    static boolean isCounted(Comment comment) {
+        return comment.getMetadata().getDeletionTimestamp() == null
+            && Boolean.TRUE.equals(comment.getSpec().getApproved())
+            && !Boolean.TRUE.equals(comment.getSpec().getHidden())
+            && comment.getSpec().getOwner() != null;
+    }
+}
@@ -0,0 +1,99 @@
+package com.xhhao.dataStatistics.index;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+import org.springframework.stereotype.Component;
+
+import run.halo.app.core.extension.content.Comment;
+
+/**
+ * 评论者索引：按评论者维护已审核评论数
+ * 记录每条评论归属的评论者，评论变更或删除时只调整对应计数。
+ *
+ * @author Handsome
+ * @since 1.0.6
+ */
+@Component
+public class CommenterIndex implements CommentIndex {
+
+    /**
+     * 评论数降序，评论数相同时按名称升序，顺序唯一
+     */
+    private static final Comparator<Commenter> ORDER =
+        Comparator.comparingInt(Commenter::count).reversed().thenComparing(Commenter::name);
+
+    private final Map<String, String> ownerByComment = new HashMap<>();
+    private final Map<String, Counter> counters = new HashMap<>();
+
+    @Override
+    public synchronized void onCommentChanged(Comment comment) {
+        Comment.CommentOwner owner = comment.getSpec().getOwner();
+        String ownerName = owner.getName() != null ? owner.getName() : "unknown";
+        String previous = ownerByComment.put(comment.getMetadata().getName(), ownerName);
+        if (previous != null) {
+            decrement(previous);
+        }
+        Counter counter = counters.computeIfAbsent(ownerName, key -> new Counter());
+        counter.displayName = owner.getDisplayName();
+        counter.count++;
+    }
+
+    @Override
+    public synchronized void onCommentRemoved(String commentName) {
+        String previous = ownerByComment.remove(commentName);
+        if (previous != null) {
+            decrement(previous);
+        }
+    }
+
+    /**
+     * 按评论数降序返回全部评论者
+     */
+    public synchronized List<Commenter> snapshot() {
+        return counters.entrySet().stream()
+            .map(entry -> new Commenter(entry.getKey(), entry.getValue().displayName, entry.getValue().count))
+            .sorted(ORDER)
+            .toList();
+    }
+
+    /**
+     * 按 {@link #snapshot()} 的顺序返回排在 after 之后的至多 limit 个评论者，after 为 null 时从第一个开始
+     * <p>持锁遍历一遍计数，只保留 limit 大小的堆，用于分批读取全部评论者而不复制整个索引。
+     * 两批之间评论数发生变化的评论者可能重复或缺失一次。</p>
+     */
+    public synchronized List<Commenter> slice(Commenter after, int limit) {
+        PriorityQueue<Commenter> heap = new PriorityQueue<>(limit + 1, ORDER.reversed());
+        for (Map.Entry<String, Counter> entry : counters.entrySet()) {
+            Commenter commenter = new Commenter(entry.getKey(), entry.getValue().displayName, entry.getValue().count);
+            if (after != null && ORDER.compare(commenter, after) <= 0) {
+                continue;
+            }
+            heap.offer(commenter);
+            if (heap.size() > limit) {
+                heap.poll();
+            }
+        }
+        List<Commenter> slice = new ArrayList<>(heap);
+        slice.sort(ORDER);
+        return slice;
+    }
+
+    private void decrement(String ownerName) {
+        Counter counter = counters.get(ownerName);
+        if (counter != null && --counter.count <= 0) {
+            counters.remove(ownerName);
+        }
+    }
+
+    public record Commenter(String name, String displayName, int count) {}
+
+    private static class Counter {
+        private String displayName;
+        private int count;
+    }
+}
@@ -0,0 +1,110 @@
+package com.xhhao.dataStatistics.index;
+
+import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * 按天保存的去重计数存储
+ * <p>每天先以 64 位哈希集合精确记录，超过 {@link #PROMOTE_THRESHOLD} 个取值后升级为 {@link HyperLogLog}，
+ * 集合随即丢弃，因此每天的内存占用有上限（集合最多 {@value #PROMOTE_THRESHOLD} 个哈希，或 4 KB 的草图），
+ * 与评论总数无关。区间查询时把各天的集合/草图求并：</p>
+ * <ul>
+ *     <li>{@link Mode#EXACT}：区间内没有升级为草图的日期时精确，否则只能合并为草图，结果标明为近似值</li>
+ *     <li>{@link Mode#APPROXIMATE}：始终合并为草图，合并结果的内存占用恒定</li>
+ *     <li>{@link Mode#AUTO}：并集不超过 {@link #AUTO_EXACT_LIMIT} 且没有升级为草图的日期时精确，否则自动转为草图</li>
+ * </ul>
+ * <p>重复添加同一取值没有影响。草图不支持删除，需要剔除数据时由调用方重建整个存储。</p>
+ *
+ * @author Handsome
+ * @since 1.0.6
+ */
+public class DailyDistinctStore {
+
+    static final int PROMOTE_THRESHOLD = 512;
+    static final int AUTO_EXACT_LIMIT = 10_000;
+
+    private final TreeMap<Long, DaySketch> days = new TreeMap<>();
+
+    public synchronized void add(LocalDate date, long hash) {
+        days.computeIfAbsent(date.toEpochDay(), day -> new DaySketch()).add(hash);
+    }
+
+    public synchronized void clear() {
+        days.clear();
+    }
+
+    /**
+     * 统计 [start, end] 闭区间内的去重数量，start 晚于 end 时为 0
+     */
+    public synchronized DistinctCount count(LocalDate start, LocalDate end, Mode mode) {
+        if (start.isAfter(end)) {
+            return new DistinctCount(0, false, 0);
+        }
+        Set<Long> exact = mode == Mode.APPROXIMATE ? null : new HashSet<>();
+        HyperLogLog merged = mode == Mode.APPROXIMATE ? new HyperLogLog() : null;
+
+        for (DaySketch day : days.subMap(start.toEpochDay(), true, end.toEpochDay(), true).values()) {
+            if (merged == null && (day.sketch != null
+                || (mode == Mode.AUTO && exact.size() + day.exact.size() > AUTO_EXACT_LIMIT))) {
+                merged = new HyperLogLog();
+                exact.forEach(merged::offer);
+                exact = null;
+            }
+            if (merged != null) {
+                day.mergeInto(merged);
+            } else {
+                exact.addAll(day.exact);
+            }
+        }
+
+        if (merged != null) {
+            return new DistinctCount(merged.estimate(), true, merged.relativeError());
+        }
+        return new DistinctCount(exact.size(), false, 0);
+    }
+
+    public enum Mode {
+        AUTO, EXACT, APPROXIMATE;
+
+        public static Mode parse(String value) {
+            if (value == null || value.isBlank()) {
+                return AUTO;
+            }
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        }
+    }
+
+    /**
+     * 去重计数结果，approximate 为 true 时 relativeError 为理论相对标准误差
+     */
+    public record DistinctCount(long count, boolean approximate, double relativeError) {}
+
+    private static class DaySketch {
+        private Set<Long> exact = new HashSet<>();
+        private HyperLogLog sketch;
+
+        void add(long hash) {
+            if (sketch != null) {
+                sketch.offer(hash);
+                return;
+            }
+            exact.add(hash);
+            if (exact.size() > PROMOTE_THRESHOLD) {
+                sketch = new HyperLogLog();
+                exact.forEach(sketch::offer);
+                exact = null;
+            }
+        }
+
+        void mergeInto(HyperLogLog target) {
+            if (sketch != null) {
+                target.merge(sketch);
+            } else {
+                exact.forEach(target::offer);
+            }
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.xhhao.dataStatistics.index;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 维度字典编码：把字符串维度值映射为紧凑的 int id
+ * id 0 保留为「无」（如未分类、无标签），有效 id 从 1 开始且分配后不再回收。
+ * 非线程安全，由持有者负责并发控制。
+ *
+ * @author Handsome
+ * @since 1.0.6
+ */
+public class DimensionDictionary {
+
+    public static final int NONE = 0;
+
+    private final int maxId;
+    private final Map<String, Integer> ids = new HashMap<>();
+    private final List<String> values = new ArrayList<>();
+
+    public DimensionDictionary(int maxId) {
+        this.maxId = maxId;
+        values.add(null);
+    }
+
+    /**
+     * 获取或分配维度值的 id
+     */
+    public int encode(String value) {
+        if (value == null) {
+            return NONE;
+        }
+        Integer id = ids.get(value);
+        if (id != null) {
+            return id;
+        }
+        int next = values.size();
+        if (next > maxId) {
+            throw new IllegalStateException("维度字典已满，最多支持 " + maxId + " 个取值");
+        }
+        ids.put(value, next);
+        values.add(value);
+        return next;
+    }
+
+    /**
+     * 查询已有维度值的 id，不存在时返回 -1
+     */
+    public int idOf(String value) {
+        if (value == null) {
+            return NONE;
+        }
+        return ids.getOrDefault(value, -1);
+    }
+
+    public String decode(int id) {
+        return id > 0 && id < values.size() ? values.get(id) : null;
+    }
+
+    public int size() {
+        return values.size() - 1;
+    }
+}
@@ -0,0 +1,18 @@
+package com.xhhao.dataStatistics.index;
+
+import run.halo.app.core.extension.content.Post;
+
+/**
+ * 由文章变更驱动增量维护的内存索引
+ * 仅已发布、公开且未删除的文章会通过 {@link #onPostChanged(Post)} 传入，
+ * 其他情况（删除、下线、私密）一律视为移除。
+ *
+ * @author Handsome
+ * @since 1.0.6
+ */
+public interface PostIndex {
+
+    void onPostChanged(Post post);
+
+    void onPostRemoved(String postName);
+}
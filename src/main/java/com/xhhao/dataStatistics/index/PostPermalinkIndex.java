@@ -0,0 +1,115 @@
+package com.xhhao.dataStatistics.index;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.stereotype.Component;
+import org.springframework.web.util.UriUtils;
+
+import cn.hutool.core.util.StrUtil;
+import run.halo.app.core.extension.content.Post;
+
+/**
+ * 文章固定链接索引：按规范化后的访问路径查找文章
+ * 文章变更时只替换该文章原来的路径，按路径查询为一次哈希查找，
+ * 因此把 Umami 的页面访问量关联到文章只与页面数有关，与文章数无关。
+ *
+ * @author Handsome
+ * @since 1.0.6
+ */
+@Component
+public class PostPermalinkIndex implements PostIndex {
+
+    private final Map<String, Entry> postsByPath = new ConcurrentHashMap<>();
+    private final Map<String, String> pathByPost = new HashMap<>();
+
+    @Override
+    public synchronized void onPostChanged(Post post) {
+        String name = post.getMetadata().getName();
+        String permalink = post.getStatusOrDefault().getPermalink();
+        String path = normalize(permalink);
+        String previous = path == null ? pathByPost.remove(name) : pathByPost.put(name, path);
+        if (previous != null && !previous.equals(path)) {
+            unlink(previous, name);
+        }
+        if (path != null) {
+            postsByPath.put(path, new Entry(name, post.getSpec().getTitle(), permalink));
+        }
+    }
+
+    @Override
+    public synchronized void onPostRemoved(String postName) {
+        String previous = pathByPost.remove(postName);
+        if (previous != null) {
+            unlink(previous, postName);
+        }
+    }
+
+    /**
+     * 按页面地址查找文章，地址可以是完整 URL 或路径，查询参数和末尾斜杠不影响匹配；未匹配返回 null
+     */
+    public Entry lookup(String url) {
+        String path = normalize(url);
+        return path == null ? null : postsByPath.get(path);
+    }
+
+    /**
+     * 按文章名查找，未发布或不存在的文章返回 null
+     */
+    public synchronized Entry get(String postName) {
+        String path = pathByPost.get(postName);
+        Entry entry = path == null ? null : postsByPath.get(path);
+        return entry != null && entry.name().equals(postName) ? entry : null;
+    }
+
+    /**
+     * 两篇文章使用同一路径时，只移除仍属于该文章的映射
+     */
+    private void unlink(String path, String postName) {
+        postsByPath.computeIfPresent(path, (key, entry) -> entry.name().equals(postName) ? null : entry);
+    }
+
+    /**
+     * 去掉协议和域名、查询参数和锚点、末尾斜杠，并解码百分号编码，使 Halo 与 Umami 记录的路径一致
+     */
+    static String normalize(String url) {
+        if (StrUtil.isBlank(url)) {
+            return null;
+        }
+        String path = url.trim();
+        int scheme = path.indexOf("://");
+        if (scheme >= 0) {
+            int slash = path.indexOf('/', scheme + 3);
+            path = slash < 0 ? "/" : path.substring(slash);
+        }
+        int end = path.length();
+        int query = path.indexOf('?');
+        int fragment = path.indexOf('#');
+        if (query >= 0) {
+            end = query;
+        }
+        if (fragment >= 0 && fragment < end) {
+            end = fragment;
+        }
+        path = path.substring(0, end);
+        try {
+            path = UriUtils.decode(path, StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            // 非法的百分号编码按原样匹配
+        }
+        if (!path.startsWith("/")) {
+            path = "/" + path;
+        }
+        while (path.length() > 1 && path.endsWith("/")) {
+            path = path.substring(0, path.length() - 1);
+        }
+        return path;
+    }
+
+    /**
+     * @param permalink 文章的固定链接，原样返回给前端
+     */
+    public record Entry(String name, String title, String permalink) {}
+}
@@ -0,0 +1,79 @@
+package com.xhhao.dataStatistics.index;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import org.springframework.stereotype.Component;
+
+import com.xhhao.dataStatistics.common.Constants;
+
+import run.halo.app.core.extension.content.Post;
+
+/**
+ * 文章发布日索引：按天维护已发布文章数
+ * 热力图直接读取此索引，重建图表时无需扫描和反序列化全部文章。
+ *
+ * @author Handsome
+ * @since 1.0.6
+ */
+@Component
+public class PostPublishDayIndex implements PostIndex {
+
+    private final Map<String, Long> dayByPost = new HashMap<>();
+    private final LongIntHashMap countsByDay = new LongIntHashMap();
+
+    @Override
+    public synchronized void onPostChanged(Post post) {
+        Instant time = post.getSpec().getPublishTime() != null
+            ? post.getSpec().getPublishTime()
+            : post.getMetadata().getCreationTimestamp();
+        long day = LocalDate.ofInstant(time, Constants.DEFAULT_ZONE_ID).toEpochDay();
+        Long previous = dayByPost.put(post.getMetadata().getName(), day);
+        if (previous != null) {
+            countsByDay.addTo(previous, -1);
+        }
+        countsByDay.addTo(day, 1);
+    }
+
+    @Override
+    public synchronized void onPostRemoved(String postName) {
+        Long previous = dayByPost.remove(postName);
+        if (previous != null) {
+            countsByDay.addTo(previous, -1);
+        }
+    }
+
+    /**
+     * [start, end] 闭区间内每天的发布数，键为 yyyy-MM-dd，没有发布的日期不出现
+     */
+    public synchronized Map<String, Integer> countsBetween(LocalDate start, LocalDate end) {
+        Map<String, Integer> counts = new HashMap<>();
+        for (long day = start.toEpochDay(); day <= end.toEpochDay(); day++) {
+            int count = countsByDay.get(day);
+            if (count > 0) {
+                counts.put(LocalDate.ofEpochDay(day).toString(), count);
+            }
+        }
+        return counts;
+    }
+
+    public synchronized int countOn(LocalDate day) {
+        return Math.max(0, countsByDay.get(day.toEpochDay()));
+    }
+
+    /**
+     * 最早有文章发布的日期
+     */
+    public synchronized Optional<LocalDate> firstDay() {
+        long[] first = {Long.MAX_VALUE};
+        countsByDay.forEach((day, count) -> {
+            if (count > 0 && day < first[0]) {
+                first[0] = day;
+            }
+        });
+        return first[0] == Long.MAX_VALUE ? Optional.empty() : Optional.of(LocalDate.ofEpochDay(first[0]));
+    }
+}
@@ -0,0 +1,266 @@
+package com.xhhao.dataStatistics.index;
+
+import java.time.Instant;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.springframework.stereotype.Component;
+
+import com.xhhao.dataStatistics.common.Constants;
+
+import run.halo.app.core.extension.content.Post;
+
+/**
+ * 文章多维汇总立方体（月份 × 分类 × 标签 × 作者）
+ * <p>每个维度字典编码为 16 位 id，四个维度拼成一个 long 键；
+ * 为 2^4 个维度子集各维护一张 {@link LongIntHashMap}（cuboid），
+ * 每篇文章在每个 cuboid 中对自己的每种维度组合只计 1 次，
+ * 因此按任意维度分组 + 等值过滤都能直接从对应 cuboid 精确求和，不会重复计数。</p>
+ * <p>文章变更时先扣除旧事实再累加新事实，维护成本与该文章的分类数 × 标签数成正比。</p>
+ *
+ * @author Handsome
+ * @since 1.0.6
+ */
+@Component
+public class PostRollupCube implements PostIndex {
+
+    private static final int DIMENSION_BITS = 16;
+    private static final int MAX_DIMENSION_ID = (1 << DIMENSION_BITS) - 1;
+    private static final int[] NONE_IDS = {DimensionDictionary.NONE};
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final DimensionDictionary categories = new DimensionDictionary(MAX_DIMENSION_ID);
+    private final DimensionDictionary tags = new DimensionDictionary(MAX_DIMENSION_ID);
+    private final DimensionDictionary owners = new DimensionDictionary(MAX_DIMENSION_ID);
+    private final LongIntHashMap[] cuboids = new LongIntHashMap[1 << Dimension.values().length];
+    private final Map<String, PostFact> facts = new HashMap<>();
+
+    public PostRollupCube() {
+        for (int i = 0; i < cuboids.length; i++) {
+            cuboids[i] = new LongIntHashMap();
+        }
+    }
+
+    @Override
+    public void onPostChanged(Post post) {
+        lock.writeLock().lock();
+        try {
+            PostFact fact = toFact(post);
+            PostFact previous = facts.put(post.getMetadata().getName(), fact);
+            if (previous != null) {
+                apply(previous, -1);
+            }
+            apply(fact, 1);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void onPostRemoved(String postName) {
+        lock.writeLock().lock();
+        try {
+            PostFact previous = facts.remove(postName);
+            if (previous != null) {
+                apply(previous, -1);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 按查询条件从对应 cuboid 汇总
+     */
+    public List<Cell> query(Query query) {
+        lock.readLock().lock();
+        try {
+            int groupMask = Dimension.maskOf(query.groupBy());
+            int filterMask = 0;
+            long filterKey = 0L;
+            if (query.month() != null) {
+                filterMask |= Dimension.MONTH.bit();
+                filterKey |= Dimension.MONTH.shift(encodeMonth(query.month()));
+            }
+            if (query.category() != null) {
+                int id = categories.idOf(query.category());
+                if (id < 0) {
+                    return List.of();
+                }
+                filterMask |= Dimension.CATEGORY.bit();
+                filterKey |= Dimension.CATEGORY.shift(id);
+            }
+            if (query.tag() != null) {
+                int id = tags.idOf(query.tag());
+                if (id < 0) {
+                    return List.of();
+                }
+                filterMask |= Dimension.TAG.bit();
+                filterKey |= Dimension.TAG.shift(id);
+            }
+            if (query.owner() != null) {
+                int id = owners.idOf(query.owner());
+                if (id < 0) {
+                    return List.of();
+                }
+                filterMask |= Dimension.OWNER.bit();
+                filterKey |= Dimension.OWNER.shift(id);
+            }
+
+            long filterBits = Dimension.keyMaskOf(filterMask);
+            long groupBits = Dimension.keyMaskOf(groupMask);
+            long expected = filterKey;
+            LongIntHashMap groups = new LongIntHashMap();
+            cuboids[groupMask | filterMask].forEach((key, count) -> {
+                if ((key & filterBits) == expected) {
+                    groups.addTo(key & groupBits, count);
+                }
+            });
+
+            List<Cell> cells = new ArrayList<>(groups.size());
+            groups.forEach((key, count) -> cells.add(new Cell(
+                query.groupBy().contains(Dimension.MONTH)
+                    ? decodeMonth(Dimension.MONTH.extract(key)) : null,
+                query.groupBy().contains(Dimension.CATEGORY)
+                    ? categories.decode(Dimension.CATEGORY.extract(key)) : null,
+                query.groupBy().contains(Dimension.TAG)
+                    ? tags.decode(Dimension.TAG.extract(key)) : null,
+                query.groupBy().contains(Dimension.OWNER)
+                    ? owners.decode(Dimension.OWNER.extract(key)) : null,
+                count)));
+            cells.sort(Comparator.comparing(Cell::month, Comparator.nullsLast(Comparator.reverseOrder()))
+                .thenComparing(Comparator.comparingInt(Cell::count).reversed()));
+            return cells;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int postCount() {
+        lock.readLock().lock();
+        try {
+            return facts.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private PostFact toFact(Post post) {
+        Instant time = post.getSpec().getPublishTime() != null
+            ? post.getSpec().getPublishTime()
+            : post.getMetadata().getCreationTimestamp();
+        int month = encodeMonth(YearMonth.from(time.atZone(Constants.DEFAULT_ZONE_ID)));
+        int owner = owners.encode(post.getSpec().getOwner());
+        return new PostFact(month, owner, encodeAll(categories, post.getSpec().getCategories()),
+            encodeAll(tags, post.getSpec().getTags()));
+    }
+
+    private int[] encodeAll(DimensionDictionary dictionary, List<String> values) {
+        if (values == null || values.isEmpty()) {
+            return NONE_IDS;
+        }
+        return values.stream()
+            .mapToInt(dictionary::encode)
+            .distinct()
+            .toArray();
+    }
+
+    /**
+     * 把一篇文章的事实按 delta 累加到全部 cuboid
+     */
+    private void apply(PostFact fact, int delta) {
+        for (int mask = 0; mask < cuboids.length; mask++) {
+            long base = 0L;
+            if ((mask & Dimension.MONTH.bit()) != 0) {
+                base |= Dimension.MONTH.shift(fact.month());
+            }
+            if ((mask & Dimension.OWNER.bit()) != 0) {
+                base |= Dimension.OWNER.shift(fact.owner());
+            }
+            int[] categoryIds = (mask & Dimension.CATEGORY.bit()) != 0 ? fact.categories() : NONE_IDS;
+            int[] tagIds = (mask & Dimension.TAG.bit()) != 0 ? fact.tags() : NONE_IDS;
+            for (int categoryId : categoryIds) {
+                for (int tagId : tagIds) {
+                    long key = base | Dimension.CATEGORY.shift(categoryId) | Dimension.TAG.shift(tagId);
+                    cuboids[mask].addTo(key, delta);
+                }
+            }
+        }
+    }
+
+    private static int encodeMonth(YearMonth month) {
+        return month.getYear() * 12 + month.getMonthValue() - 1;
+    }
+
+    private static String decodeMonth(int encoded) {
+        return YearMonth.of(encoded / 12, encoded % 12 + 1).toString();
+    }
+
+    private record PostFact(int month, int owner, int[] categories, int[] tags) {}
+
+    /**
+     * 汇总维度，ordinal 决定其在键中的位置（MONTH 位于最高 16 位）
+     */
+    public enum Dimension {
+        OWNER, TAG, CATEGORY, MONTH;
+
+        int bit() {
+            return 1 << ordinal();
+        }
+
+        long shift(int id) {
+            return ((long) id & MAX_DIMENSION_ID) << (ordinal() * DIMENSION_BITS);
+        }
+
+        int extract(long key) {
+            return (int) (key >>> (ordinal() * DIMENSION_BITS)) & MAX_DIMENSION_ID;
+        }
+
+        static int maskOf(Set<Dimension> dimensions) {
+            int mask = 0;
+            for (Dimension dimension : dimensions) {
+                mask |= dimension.bit();
+            }
+            return mask;
+        }
+
+        static long keyMaskOf(int mask) {
+            long bits = 0L;
+            for (Dimension dimension : values()) {
+                if ((mask & dimension.bit()) != 0) {
+                    bits |= (long) MAX_DIMENSION_ID << (dimension.ordinal() * DIMENSION_BITS);
+                }
+            }
+            return bits;
+        }
+
+        public static Dimension parse(String value) {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        }
+    }
+
+    /**
+     * 切片查询：groupBy 为分组维度，其余非空字段为等值过滤条件
+     */
+    public record Query(Set<Dimension> groupBy, YearMonth month, String category, String tag,
+                        String owner) {
+        public Query {
+            groupBy = groupBy == null || groupBy.isEmpty()
+                ? EnumSet.noneOf(Dimension.class) : EnumSet.copyOf(groupBy);
+        }
+    }
+
+    /**
+     * 查询结果单元，未参与分组的维度为 null
+     */
+    public record Cell(String month, String category, String tag, String owner, int count) {}
+}
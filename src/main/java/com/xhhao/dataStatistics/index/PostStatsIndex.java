@@ -0,0 +1,66 @@
+package com.xhhao.dataStatistics.index;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import lombok.extern.slf4j.Slf4j;
+import run.halo.app.core.extension.content.Post;
+
+/**
+ * 单篇文章统计索引：按文章名维护访问量、评论数、点赞数
+ * Halo 定期把计数写回文章注解 content.halo.run/stats，注解变化会触发文章变更，
+ * 因此只需在变更时解析一次，批量查询时直接读内存，无需读取文章。
+ *
+ * @author Handsome
+ * @since 1.0.6
+ */
+@Slf4j
+@Component
+public class PostStatsIndex implements PostIndex {
+
+    private static final String STATS_ANNOTATION = "content.halo.run/stats";
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private final Map<String, Stats> statsByPost = new ConcurrentHashMap<>();
+
+    @Override
+    public void onPostChanged(Post post) {
+        statsByPost.put(post.getMetadata().getName(), parseStats(post));
+    }
+
+    @Override
+    public void onPostRemoved(String postName) {
+        statsByPost.remove(postName);
+    }
+
+    /**
+     * 未发布、私密或不存在的文章返回 null
+     */
+    public Stats get(String postName) {
+        return statsByPost.get(postName);
+    }
+
+    private static Stats parseStats(Post post) {
+        Map<String, String> annotations = post.getMetadata().getAnnotations();
+        String statsJson = annotations == null ? null : annotations.get(STATS_ANNOTATION);
+        if (statsJson == null || statsJson.isEmpty()) {
+            return Stats.EMPTY;
+        }
+        try {
+            JsonNode node = OBJECT_MAPPER.readTree(statsJson);
+            return new Stats(node.path("visit").asInt(), node.path("comment").asInt(), node.path("upvote").asInt());
+        } catch (Exception e) {
+            log.debug("解析文章 {} 的统计信息失败: {}", post.getMetadata().getName(), e.getMessage());
+            return Stats.EMPTY;
+        }
+    }
+
+    public record Stats(int visit, int comment, int upvote) {
+        static final Stats EMPTY = new Stats(0, 0, 0);
+    }
+}
@@ -0,0 +1,235 @@
+package com.xhhao.dataStatistics.index;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.stereotype.Component;
+
+import com.xhhao.dataStatistics.common.Constants;
+import com.xhhao.dataStatistics.common.WordCounter;
+import com.xhhao.dataStatistics.config.PluginWorkDir;
+
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Schedulers;
+import run.halo.app.content.ContentWrapper;
+import run.halo.app.content.PostContentService;
+import run.halo.app.core.extension.content.Post;
+
+/**
+ * 文章字数索引：按文章的发布快照（spec.releaseSnapshot）缓存字数，按发布月份汇总
+ * 只有发布快照变化的文章才会重新读取正文计数，改标题、改标签、计数器回写等变更只调整所属月份。
+ * 字数连同快照名持久化在插件数据目录中，重启后控制器全量同步时快照未变的文章也无需重新计数。
+ *
+ * @author Handsome
+ * @since 1.0.6
+ */
+@Slf4j
+@Component
+public class PostWordCountIndex implements PostIndex, InitializingBean, DisposableBean {
+
+    private static final Duration CONTENT_TIMEOUT = Duration.ofSeconds(10);
+    private static final Duration FLUSH_INTERVAL = Duration.ofMinutes(1);
+
+    private final PostContentService postContentService;
+    private final Path file;
+
+    /**
+     * 已计数的文章，含磁盘中恢复、尚未被同步到的文章
+     */
+    private final Map<String, Counted> countedByPost = new HashMap<>();
+    private final Map<String, YearMonth> monthByPost = new HashMap<>();
+    private final Map<YearMonth, long[]> totalsByMonth = new HashMap<>();
+    private long totalWords;
+    private int postCount;
+    private boolean dirty;
+
+    private Disposable flushTask;
+
+    public PostWordCountIndex(PostContentService postContentService, PluginWorkDir pluginWorkDir) {
+        this.postContentService = postContentService;
+        this.file = pluginWorkDir.resolve("post-word-counts.properties");
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        load();
+        flushTask = Flux.interval(FLUSH_INTERVAL)
+            .onBackpressureDrop()
+            .publishOn(Schedulers.boundedElastic())
+            .subscribe(tick -> flush());
+    }
+
+    @Override
+    public void destroy() {
+        if (flushTask != null) {
+            flushTask.dispose();
+        }
+        flush();
+    }
+
+    @Override
+    public void onPostChanged(Post post) {
+        String name = post.getMetadata().getName();
+        String snapshot = String.valueOf(post.getSpec().getReleaseSnapshot());
+        Counted counted;
+        synchronized (this) {
+            counted = countedByPost.get(name);
+        }
+        if (counted == null || !counted.snapshot().equals(snapshot)) {
+            // 在锁外读取正文，避免阻塞查询；读取失败时不记快照名，下次变更重新计数
+            Integer words = countWords(name);
+            counted = words == null ? new Counted("", 0) : new Counted(snapshot, words);
+        }
+        Instant time = post.getSpec().getPublishTime() != null
+            ? post.getSpec().getPublishTime()
+            : post.getMetadata().getCreationTimestamp();
+        YearMonth month = YearMonth.from(time.atZone(Constants.DEFAULT_ZONE_ID));
+
+        synchronized (this) {
+            remove(name);
+            Counted previous = countedByPost.put(name, counted);
+            dirty |= !counted.equals(previous);
+            monthByPost.put(name, month);
+            add(month, counted.words(), 1);
+        }
+    }
+
+    @Override
+    public synchronized void onPostRemoved(String postName) {
+        remove(postName);
+        dirty |= countedByPost.remove(postName) != null;
+    }
+
+    /**
+     * 最近 months 个月（含本月）的按月字数，按月份升序，没有文章的月份字数为 0
+     */
+    public synchronized Snapshot snapshot(int months) {
+        YearMonth current = YearMonth.now(Constants.DEFAULT_ZONE_ID);
+        List<MonthTotal> monthTotals = new ArrayList<>(months);
+        for (int i = months - 1; i >= 0; i--) {
+            YearMonth month = current.minusMonths(i);
+            long[] totals = totalsByMonth.get(month);
+            monthTotals.add(new MonthTotal(month, totals == null ? 0 : totals[0],
+                totals == null ? 0 : (int) totals[1]));
+        }
+        return new Snapshot(totalWords, postCount, monthTotals);
+    }
+
+    /**
+     * 只撤销文章对汇总的贡献，保留已计数的字数以便快照未变时复用
+     */
+    private void remove(String postName) {
+        YearMonth month = monthByPost.remove(postName);
+        Counted counted = countedByPost.get(postName);
+        if (month != null && counted != null) {
+            add(month, -counted.words(), -1);
+        }
+    }
+
+    private void add(YearMonth month, long words, int posts) {
+        long[] totals = totalsByMonth.computeIfAbsent(month, key -> new long[2]);
+        totals[0] += words;
+        totals[1] += posts;
+        if (totals[1] <= 0) {
+            totalsByMonth.remove(month);
+        }
+        totalWords += words;
+        postCount += posts;
+    }
+
+    private Integer countWords(String postName) {
+        try {
+            ContentWrapper content = postContentService.getReleaseContent(postName).block(CONTENT_TIMEOUT);
+            return content == null ? 0 : WordCounter.countHtml(content.getContent());
+        } catch (Exception e) {
+            log.warn("读取文章 {} 的发布内容失败，暂按 0 字计: {}", postName, e.getMessage());
+            return null;
+        }
+    }
+
+    private void load() {
+        if (!Files.exists(file)) {
+            return;
+        }
+        Properties properties = new Properties();
+        try (InputStream in = Files.newInputStream(file)) {
+            properties.load(in);
+        } catch (IOException | IllegalArgumentException e) {
+            log.warn("读取文章字数缓存失败，将重新计数: {}", e.getMessage());
+            return;
+        }
+        synchronized (this) {
+            for (String name : properties.stringPropertyNames()) {
+                String value = properties.getProperty(name);
+                int comma = value.lastIndexOf(',');
+                try {
+                    countedByPost.putIfAbsent(name,
+                        new Counted(value.substring(0, comma), Integer.parseInt(value.substring(comma + 1))));
+                } catch (RuntimeException e) {
+                    log.debug("忽略损坏的字数缓存 {}: {}", name, value);
+                }
+            }
+        }
+    }
+
+    /**
+     * 写入临时文件后原子替换；只写入已同步到的文章，已删除的文章随之清理
+     */
+    private void flush() {
+        Properties properties = new Properties();
+        synchronized (this) {
+            if (!dirty) {
+                return;
+            }
+            monthByPost.keySet().forEach(name -> {
+                Counted counted = countedByPost.get(name);
+                properties.setProperty(name, counted.snapshot() + "," + counted.words());
+            });
+            dirty = false;
+        }
+        try {
+            Files.createDirectories(file.getParent());
+            Path temp = Files.createTempFile(file.getParent(), "post-word-counts", ".tmp");
+            try (OutputStream out = Files.newOutputStream(temp)) {
+                properties.store(out, null);
+            }
+            try {
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException e) {
+            synchronized (this) {
+                dirty = true;
+            }
+            log.warn("保存文章字数缓存失败: {}", e.getMessage());
+        }
+    }
+
+    private record Counted(String snapshot, int words) {}
+
+    /**
+     * @param totalWords 全部已发布文章的字数
+     * @param postCount 已发布文章数
+     */
+    public record Snapshot(long totalWords, int postCount, List<MonthTotal> months) {}
+
+    public record MonthTotal(YearMonth month, long words, int posts) {}
+}
@@ -0,0 +1,145 @@
+package com.xhhao.dataStatistics.index;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.springframework.stereotype.Component;
+
+import run.halo.app.core.extension.content.Post;
+
+/**
+ * 标签共现矩阵：统计每对标签同时出现在同一篇文章上的次数
+ * <p>稀疏对称矩阵只存上三角，键为 (较小 id &lt;&lt; 32 | 较大 id)，值为共现次数；
+ * 文章变更时只扣除旧标签组合并累加新组合，代价为 O(该文章标签数²)，与文章总数无关。</p>
+ * <p>Top-K 邻居结果按数据版本缓存，矩阵未变化时重复查询不再扫描。</p>
+ *
+ * @author Handsome
+ * @since 1.0.6
+ */
+@Component
+public class TagCooccurrenceIndex implements PostIndex {
+
+    private static final int[] EMPTY = new int[0];
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final DimensionDictionary tags = new DimensionDictionary(Integer.MAX_VALUE - 1);
+    private final LongIntHashMap pairs = new LongIntHashMap();
+    private final Map<String, int[]> tagsByPost = new HashMap<>();
+
+    private long generation;
+    private volatile CachedNeighbors cachedNeighbors;
+
+    @Override
+    public void onPostChanged(Post post) {
+        lock.writeLock().lock();
+        try {
+            int[] tagIds = encode(post.getSpec().getTags());
+            int[] previous = tagsByPost.put(post.getMetadata().getName(), tagIds);
+            apply(previous, -1);
+            apply(tagIds, 1);
+            generation++;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void onPostRemoved(String postName) {
+        lock.writeLock().lock();
+        try {
+            int[] previous = tagsByPost.remove(postName);
+            if (previous != null) {
+                apply(previous, -1);
+                generation++;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 查询每个标签共现次数最多的 k 个相关标签
+     *
+     * @return 标签名称 → 按共现次数降序的相关标签
+     */
+    public Map<String, List<Neighbor>> topNeighbors(int k) {
+        CachedNeighbors cached = cachedNeighbors;
+        lock.readLock().lock();
+        try {
+            if (cached != null && cached.generation() == generation && cached.k() == k) {
+                return cached.neighbors();
+            }
+            Map<Integer, PriorityQueue<Long>> heaps = new HashMap<>();
+            pairs.forEach((key, count) -> {
+                int first = (int) (key >>> 32);
+                int second = (int) key;
+                offer(heaps, first, second, count, k);
+                offer(heaps, second, first, count, k);
+            });
+
+            Map<String, List<Neighbor>> neighbors = new HashMap<>(heaps.size() * 2);
+            heaps.forEach((tagId, heap) -> {
+                List<Neighbor> list = new ArrayList<>(heap.size());
+                while (!heap.isEmpty()) {
+                    long entry = heap.poll();
+                    list.add(new Neighbor(tags.decode((int) entry), (int) (entry >>> 32)));
+                }
+                list.sort((a, b) -> Integer.compare(b.count(), a.count()));
+                neighbors.put(tags.decode(tagId), List.copyOf(list));
+            });
+            cachedNeighbors = new CachedNeighbors(generation, k, neighbors);
+            return neighbors;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 维护容量为 k 的小顶堆，元素为 (共现次数 &lt;&lt; 32 | 邻居 id)
+     */
+    private static void offer(Map<Integer, PriorityQueue<Long>> heaps, int tagId, int neighborId,
+                              int count, int k) {
+        PriorityQueue<Long> heap = heaps.computeIfAbsent(tagId, id -> new PriorityQueue<>(k + 1));
+        long entry = ((long) count << 32) | (neighborId & 0xFFFFFFFFL);
+        if (heap.size() < k) {
+            heap.offer(entry);
+        } else if (heap.peek() < entry) {
+            heap.poll();
+            heap.offer(entry);
+        }
+    }
+
+    private int[] encode(List<String> tagNames) {
+        if (tagNames == null || tagNames.isEmpty()) {
+            return EMPTY;
+        }
+        return tagNames.stream()
+            .mapToInt(tags::encode)
+            .distinct()
+            .sorted()
+            .toArray();
+    }
+
+    /**
+     * tagIds 已去重且升序，直接以 (i, j) 组成上三角键
+     */
+    private void apply(int[] tagIds, int delta) {
+        if (tagIds == null) {
+            return;
+        }
+        for (int i = 0; i < tagIds.length; i++) {
+            for (int j = i + 1; j < tagIds.length; j++) {
+                pairs.addTo(((long) tagIds[i] << 32) | tagIds[j], delta);
+            }
+        }
+    }
+
+    public record Neighbor(String name, int count) {}
+
+    private record CachedNeighbors(long generation, int k, Map<String, List<Neighbor>> neighbors) {}
+}
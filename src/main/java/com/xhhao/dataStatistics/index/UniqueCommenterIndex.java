@@ -0,0 +1,143 @@
+package com.xhhao.dataStatistics.index;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.stereotype.Component;
+
+import com.xhhao.dataStatistics.common.Constants;
+import com.xhhao.dataStatistics.service.ExtensionScanner;
+
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import run.halo.app.core.extension.content.Comment;
+import run.halo.app.extension.ListOptions;
+import run.halo.app.extension.index.query.Queries;
+import run.halo.app.extension.router.selector.FieldSelector;
+
+/**
+ * 按天记录评论者的去重草图，用于统计任意日期区间内的独立评论者数量
+ * 每天的内存占用有上限（见 {@link DailyDistinctStore}），不按评论记录任何状态：
+ * 评论变更时把评论者计入评论当天，重复计入没有影响；草图无法撤销单条评论，
+ * 因此评论删除或不再可见时只标记待重建，每 {@link #REBUILD_INTERVAL} 检查一次，
+ * 有标记时分块扫描全部已审核评论重建整个存储后替换。重建前被移除评论的评论者仍会计入。
+ * 评论的评论者和创建时间创建后不再变化，变更时无需撤销原来的计数。
+ *
+ * @author Handsome
+ * @since 1.0.6
+ */
+@Slf4j
+@Component
+public class UniqueCommenterIndex implements CommentIndex, InitializingBean, DisposableBean {
+
+    private static final Duration REBUILD_INTERVAL = Duration.ofMinutes(10);
+
+    private final ExtensionScanner extensionScanner;
+
+    private DailyDistinctStore store = new DailyDistinctStore();
+    /**
+     * 重建中的存储，重建期间的评论变更同时计入，重建完成后替换 store
+     */
+    private DailyDistinctStore rebuilding;
+    private boolean dirty;
+
+    private Disposable rebuildTask;
+
+    public UniqueCommenterIndex(ExtensionScanner extensionScanner) {
+        this.extensionScanner = extensionScanner;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        rebuildTask = Flux.interval(REBUILD_INTERVAL)
+            .onBackpressureDrop()
+            .filter(tick -> startRebuild())
+            .concatMap(tick -> rebuild())
+            .subscribe();
+    }
+
+    @Override
+    public void destroy() {
+        if (rebuildTask != null) {
+            rebuildTask.dispose();
+        }
+    }
+
+    @Override
+    public synchronized void onCommentChanged(Comment comment) {
+        add(store, comment);
+        if (rebuilding != null) {
+            add(rebuilding, comment);
+        }
+    }
+
+    /**
+     * 重建期间移除的评论可能已被扫描计入，仍保留标记，下次再重建
+     */
+    @Override
+    public synchronized void onCommentRemoved(String commentName) {
+        dirty = true;
+    }
+
+    public synchronized DailyDistinctStore.DistinctCount count(LocalDate start, LocalDate end,
+                                                               DailyDistinctStore.Mode mode) {
+        return store.count(start, end, mode);
+    }
+
+    private synchronized boolean startRebuild() {
+        if (!dirty || rebuilding != null) {
+            return false;
+        }
+        dirty = false;
+        rebuilding = new DailyDistinctStore();
+        return true;
+    }
+
+    private Mono<Void> rebuild() {
+        DailyDistinctStore target;
+        synchronized (this) {
+            target = rebuilding;
+        }
+        ListOptions listOptions = new ListOptions();
+        listOptions.setFieldSelector(FieldSelector.of(Queries.equal("spec.approved", "true")));
+
+        return extensionScanner.fold(Comment.class, listOptions, () -> target,
+                (DailyDistinctStore rebuilt, Comment comment) -> {
+                    if (CommentIndex.isCounted(comment)) {
+                        add(rebuilt, comment);
+                    }
+                })
+            .doOnNext(rebuilt -> {
+                synchronized (this) {
+                    store = rebuilt;
+                    rebuilding = null;
+                }
+            })
+            .onErrorResume(e -> {
+                log.warn("重建独立评论者索引失败，稍后重试: {}", e.getMessage());
+                synchronized (this) {
+                    rebuilding = null;
+                    dirty = true;
+                }
+                return Mono.empty();
+            })
+            .then();
+    }
+
+    private static void add(DailyDistinctStore target, Comment comment) {
+        String ownerName = comment.getSpec().getOwner().getName();
+        if (ownerName == null) {
+            return;
+        }
+        Instant time = comment.getSpec().getCreationTime() != null
+            ? comment.getSpec().getCreationTime()
+            : comment.getMetadata().getCreationTimestamp();
+        target.add(LocalDate.ofInstant(time, Constants.DEFAULT_ZONE_ID),
+            HyperLogLog.hash(ownerName));
+    }
+}
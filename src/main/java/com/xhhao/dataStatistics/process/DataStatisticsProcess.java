@@ -1,7 +1,16 @@
 package com.xhhao.dataStatistics.process;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.xhhao.dataStatistics.service.SettingConfigGetter;
+import com.xhhao.dataStatistics.service.StatisticalService;
+import com.xhhao.dataStatistics.vo.PieChartVO;
+import cn.hutool.core.util.StrUtil;
 import lombok.RequiredArgsConstructor;
-import org.pf4j.PluginWrapper;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 import org.springframework.util.PropertyPlaceholderHelper;
 import org.thymeleaf.context.ITemplateContext;
@@ -12,6 +21,7 @@ import reactor.core.publisher.Mono;
 import run.halo.app.theme.dialect.TemplateHeadProcessor;
 import java.util.Properties;
 
+@Slf4j
 @Component
 @RequiredArgsConstructor
 public class DataStatisticsProcess implements TemplateHeadProcessor {
@@ -19,29 +29,103 @@ public class DataStatisticsProcess implements TemplateHeadProcessor {
     static final PropertyPlaceholderHelper PROPERTY_PLACEHOLDER_HELPER =
         new PropertyPlaceholderHelper("${", "}");
 
-    private final PluginWrapper pluginWrapper;
+    /**
+     * 与 WebFlux 默认序列化保持一致：日期输出为 ISO 字符串
+     */
+    private static final ObjectMapper INLINE_MAPPER = JsonMapper.builder()
+        .addModule(new JavaTimeModule())
+        .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+        .build();
+
+    private final PluginAssets pluginAssets;
+    private final SettingConfigGetter settingConfigGetter;
+    private final StatisticalService statisticalService;
+
+    /**
+     * 同一份缓存数据只序列化一次
+     */
+    private volatile InlineChartData inlineChartData;
+
+    /**
+     * 资源指纹在插件运行期间不变，注入内容只需生成一次
+     */
+    private volatile String cachedComponentScript;
 
     @Override
     public Mono<Void> process(ITemplateContext context, IModel model,
         IElementModelStructureHandler structureHandler) {
         final IModelFactory modelFactory = context.getModelFactory();
-        model.add(modelFactory.createText(componentScript()));
-        return Mono.empty();
+        String templateName = templateName(context);
+        return settingConfigGetter.getBasicsConfig()
+            .filter(config -> config.injectsInto(templateName))
+            .doOnNext(config -> {
+                model.add(modelFactory.createText(componentScript()));
+                if (Boolean.TRUE.equals(config.getInlineChartData())) {
+                    statisticalService.getCachedPieChartVO()
+                        .map(this::inlineChartScript)
+                        .ifPresent(script -> model.add(modelFactory.createText(script)));
+                }
+            })
+            .then();
+    }
+
+    /**
+     * 取模板名的最后一段并去掉扩展名，如 themes/foo/templates/post.html → post
+     */
+    private static String templateName(ITemplateContext context) {
+        String template = context.getTemplateData().getTemplate();
+        if (template == null) {
+            return "";
+        }
+        String name = template.substring(template.lastIndexOf('/') + 1);
+        return StrUtil.removeSuffix(name, ".html");
+    }
+
+    /**
+     * 缓存有效时把图表数据内联为 JSON，siteCharts.js 优先读取，省去一次请求
+     */
+    private String inlineChartScript(PieChartVO data) {
+        InlineChartData cached = inlineChartData;
+        if (cached == null || cached.source() != data) {
+            try {
+                // 转义 <，避免数据中的 </script> 提前闭合标签
+                String json = INLINE_MAPPER.writeValueAsString(data).replace("<", "\\u003c");
+                cached = new InlineChartData(data,
+                    "<script type=\"application/json\" id=\"data-statistics-chart-data\">" + json + "</script>\n");
+                inlineChartData = cached;
+            } catch (JsonProcessingException e) {
+                log.warn("序列化内联图表数据失败: {}", e.getMessage());
+                return "";
+            }
+        }
+        return cached.script();
     }
 
+    /**
+     * 资源地址带内容指纹，可被浏览器永久缓存；Chart.js 不直接引入，由 siteCharts.js 在页面存在图表时按需加载
+     */
     private String componentScript() {
+        String script = cachedComponentScript;
+        if (script == null) {
+            final Properties properties = new Properties();
+            properties.setProperty("chartJs", pluginAssets.url(PluginAssets.CHART_JS));
+            properties.setProperty("siteChartsCss", pluginAssets.url(PluginAssets.SITE_CHARTS_CSS));
+            properties.setProperty("siteChartsJs", pluginAssets.url(PluginAssets.SITE_CHARTS_JS));
+            properties.setProperty("dataStatisticsJs", pluginAssets.url(PluginAssets.DATA_STATISTICS_JS));
+            properties.setProperty("dataStatisticsCss", pluginAssets.url(PluginAssets.DATA_STATISTICS_CSS));
 
-        final Properties properties = new Properties();
-        properties.setProperty("version", pluginWrapper.getDescriptor().getVersion());
-
-        return PROPERTY_PLACEHOLDER_HELPER.replacePlaceholders("""
-            <!-- data-statistics start -->
-            <script defer src="/plugins/data-statistics/assets/static/min/chart.umd.min.js?version=${version}"></script>
-            <link rel="stylesheet" href="/plugins/data-statistics/assets/static/min/siteCharts.min.css?version=${version}" />
-            <script defer src="/plugins/data-statistics/assets/static/min/siteCharts.min.js?version=${version}"></script>
-            <script defer src="/plugins/data-statistics/assets/static/min/dataStatistics.min.js?version=${version}"></script>
-            <link rel="stylesheet" href="/plugins/data-statistics/assets/static/min/dataStatistics.min.css?version=${version}" />
-            <!-- data-statistics end -->
-            """, properties);
+            script = PROPERTY_PLACEHOLDER_HELPER.replacePlaceholders("""
+                <!-- data-statistics start -->
+                <link rel="stylesheet" href="${siteChartsCss}" />
+                <script defer src="${siteChartsJs}" data-chart-src="${chartJs}"></script>
+                <script defer src="${dataStatisticsJs}"></script>
+                <link rel="stylesheet" href="${dataStatisticsCss}" />
+                <!-- data-statistics end -->
+                """, properties);
+            cachedComponentScript = script;
+        }
+        return script;
     }
-}
\ No newline at end of file
+
+    private record InlineChartData(PieChartVO source, String script) {}
+}
@@ -0,0 +1,104 @@
+package com.xhhao.dataStatistics.process;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import org.pf4j.PluginWrapper;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+
+import cn.hutool.crypto.digest.DigestUtil;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 前台静态资源的内容指纹表
+ * <p>插件启动时读取 static/min 下的资源并计算 SHA-256，文件名改写为 {@code 名称.指纹.扩展名}，
+ * 内容不变时地址不变，浏览器可以永久缓存；升级插件后只有内容变化的文件地址会变化。</p>
+ *
+ * @author Handsome
+ * @since 1.0.6
+ */
+@Slf4j
+@Component
+public class PluginAssets {
+
+    public static final String CHART_JS = "chart.umd.min.js";
+    public static final String SITE_CHARTS_JS = "siteCharts.min.js";
+    public static final String SITE_CHARTS_CSS = "siteCharts.min.css";
+    public static final String DATA_STATISTICS_JS = "dataStatistics.min.js";
+    public static final String DATA_STATISTICS_CSS = "dataStatistics.min.css";
+
+    static final String URL_PREFIX = "/apis/api.data.statistics.xhhao.com/v1alpha1/assets/";
+
+    private static final String RESOURCE_DIR = "static/min/";
+    private static final String FALLBACK_PREFIX = "/plugins/data-statistics/assets/static/min/";
+    private static final int HASH_LENGTH = 10;
+
+    /**
+     * 原始文件名 → 资源
+     */
+    private final Map<String, Asset> byFileName = new HashMap<>();
+
+    /**
+     * 带指纹的文件名 → 资源
+     */
+    private final Map<String, Asset> byHashedName = new HashMap<>();
+
+    private final String version;
+
+    public PluginAssets(PluginWrapper pluginWrapper) {
+        this.version = pluginWrapper.getDescriptor().getVersion();
+        ClassLoader classLoader = pluginWrapper.getPluginClassLoader();
+        for (String fileName : new String[] {CHART_JS, SITE_CHARTS_JS, SITE_CHARTS_CSS,
+            DATA_STATISTICS_JS, DATA_STATISTICS_CSS}) {
+            byte[] content = read(classLoader, RESOURCE_DIR + fileName);
+            if (content == null) {
+                log.warn("未找到静态资源 {}，将回退为按版本号引用", fileName);
+                continue;
+            }
+            String hash = DigestUtil.sha256Hex(content).substring(0, HASH_LENGTH);
+            int dot = fileName.lastIndexOf('.');
+            String hashedName = fileName.substring(0, dot) + "." + hash + fileName.substring(dot);
+            Asset asset = new Asset(hashedName, hash, mediaType(fileName), content);
+            byFileName.put(fileName, asset);
+            byHashedName.put(hashedName, asset);
+        }
+    }
+
+    /**
+     * 资源的引用地址，优先使用带指纹的地址
+     */
+    public String url(String fileName) {
+        Asset asset = byFileName.get(fileName);
+        if (asset == null) {
+            return FALLBACK_PREFIX + fileName + "?version=" + version;
+        }
+        return URL_PREFIX + asset.hashedName();
+    }
+
+    public Optional<Asset> findByHashedName(String hashedName) {
+        return Optional.ofNullable(byHashedName.get(hashedName));
+    }
+
+    private static byte[] read(ClassLoader classLoader, String path) {
+        try (InputStream in = classLoader.getResourceAsStream(path)) {
+            return in == null ? null : in.readAllBytes();
+        } catch (IOException e) {
+            throw new UncheckedIOException("读取静态资源失败: " + path, e);
+        }
+    }
+
+    private static MediaType mediaType(String fileName) {
+        if (fileName.endsWith(".css")) {
+            return new MediaType("text", "css", StandardCharsets.UTF_8);
+        }
+        return new MediaType("text", "javascript", StandardCharsets.UTF_8);
+    }
+
+    public record Asset(String hashedName, String hash, MediaType mediaType, byte[] content) {}
+}
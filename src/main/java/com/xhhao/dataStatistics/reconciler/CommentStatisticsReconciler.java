@@ -0,0 +1,56 @@
+package com.xhhao.dataStatistics.reconciler;
+
+import java.util.List;
+
+import org.springframework.stereotype.Component;
+
+import com.xhhao.dataStatistics.index.CommentIndex;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import run.halo.app.core.extension.content.Comment;
+import run.halo.app.extension.ExtensionClient;
+import run.halo.app.extension.controller.Controller;
+import run.halo.app.extension.controller.ControllerBuilder;
+import run.halo.app.extension.controller.Reconciler;
+
+/**
+ * 监听评论变更，把每条评论的最新状态分发给所有 {@link CommentIndex}
+ *
+ * @author Handsome
+ * @since 1.0.6
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CommentStatisticsReconciler implements Reconciler<Reconciler.Request> {
+
+    private final ExtensionClient client;
+    private final List<CommentIndex> commentIndexes;
+
+    @Override
+    public Result reconcile(Request request) {
+        String name = request.name();
+        client.fetch(Comment.class, name)
+            .filter(CommentIndex::isCounted)
+            .ifPresentOrElse(
+                comment -> commentIndexes.forEach(index -> dispatch(index, comment)),
+                () -> commentIndexes.forEach(index -> index.onCommentRemoved(name)));
+        return Result.doNotRetry();
+    }
+
+    private void dispatch(CommentIndex index, Comment comment) {
+        try {
+            index.onCommentChanged(comment);
+        } catch (Exception e) {
+            log.warn("更新评论索引 {} 失败: {}", index.getClass().getSimpleName(), e.getMessage());
+        }
+    }
+
+    @Override
+    public Controller setupWith(ControllerBuilder builder) {
+        return builder
+            .extension(new Comment())
+            .build();
+    }
+}
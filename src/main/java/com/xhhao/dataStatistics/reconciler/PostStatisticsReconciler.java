@@ -0,0 +1,67 @@
+package com.xhhao.dataStatistics.reconciler;
+
+import java.util.List;
+
+import org.springframework.stereotype.Component;
+
+import com.xhhao.dataStatistics.index.PostIndex;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import run.halo.app.core.extension.content.Post;
+import run.halo.app.extension.ExtensionClient;
+import run.halo.app.extension.controller.Controller;
+import run.halo.app.extension.controller.ControllerBuilder;
+import run.halo.app.extension.controller.Reconciler;
+
+/**
+ * 监听文章变更，把每篇文章的最新状态分发给所有 {@link PostIndex}
+ * 启动时控制器会全量同步一次，之后只处理发生变化的文章。
+ *
+ * @author Handsome
+ * @since 1.0.6
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PostStatisticsReconciler implements Reconciler<Reconciler.Request> {
+
+    private final ExtensionClient client;
+    private final List<PostIndex> postIndexes;
+
+    @Override
+    public Result reconcile(Request request) {
+        String name = request.name();
+        client.fetch(Post.class, name)
+            .filter(PostStatisticsReconciler::isLive)
+            .ifPresentOrElse(
+                post -> postIndexes.forEach(index -> dispatch(index, post)),
+                () -> postIndexes.forEach(index -> index.onPostRemoved(name)));
+        return Result.doNotRetry();
+    }
+
+    private void dispatch(PostIndex index, Post post) {
+        try {
+            index.onPostChanged(post);
+        } catch (Exception e) {
+            log.warn("更新文章索引 {} 失败: {}", index.getClass().getSimpleName(), e.getMessage());
+        }
+    }
+
+    /**
+     * 已发布、公开且未删除的文章才计入统计
+     */
+    static boolean isLive(Post post) {
+        return post.getMetadata().getDeletionTimestamp() == null
+            && !post.isDeleted()
+            && post.isPublished()
+            && Post.VisibleEnum.PUBLIC.equals(post.getSpec().getVisible());
+    }
+
+    @Override
+    public Controller setupWith(ControllerBuilder builder) {
+        return builder
+            .extension(new Post())
+            .build();
+    }
+}
@@ -0,0 +1,36 @@
+package com.xhhao.dataStatistics.service;
+
+import java.time.Instant;
+
+/**
+ * 统计缓存的重建：控制台手动触发，或按缓存设置中的间隔在后台定期执行
+ *
+ * @author Handsome
+ * @since 1.0.6
+ */
+public interface CacheRefreshService {
+
+    /**
+     * 异步重建图表数据并清空 Umami、Uptime Kuma 的缓存，立即返回；已有重建在进行时不会重复触发
+     *
+     * @return 触发后的状态
+     */
+    RefreshStatus refresh();
+
+    /**
+     * 最近一次重建的状态
+     */
+    RefreshStatus status();
+
+    enum State {
+        IDLE, RUNNING, SUCCEEDED, FAILED
+    }
+
+    /**
+     * @param trigger 触发方式：manual-控制台手动，schedule-后台定时
+     * @param durationMillis 重建耗时，进行中为 null
+     * @param error 失败原因，成功时为 null
+     */
+    record RefreshStatus(State state, String trigger, Instant startedAt, Instant finishedAt,
+                         Long durationMillis, String error) {}
+}
@@ -0,0 +1,39 @@
+package com.xhhao.dataStatistics.service;
+
+import java.util.Locale;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * 在服务端把图表数据渲染为 SVG，供移动端、RSS、邮件等无法运行脚本的场景直接以图片引用
+ *
+ * @author Handsome
+ * @since 1.0.6
+ */
+public interface ChartSvgService {
+
+    /**
+     * 渲染图表，同一份图表数据和主题只渲染一次
+     */
+    Mono<SvgImage> render(Chart chart, Theme theme);
+
+    enum Chart {
+        HEATMAP, TAGS, CATEGORIES
+    }
+
+    enum Theme {
+        LIGHT, DARK;
+
+        public static Theme parse(String value) {
+            if (value == null || value.isBlank()) {
+                return LIGHT;
+            }
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        }
+    }
+
+    /**
+     * @param etag 按内容计算的强 ETag（已带引号）
+     */
+    record SvgImage(byte[] content, String etag) {}
+}
@@ -0,0 +1,31 @@
+package com.xhhao.dataStatistics.service;
+
+import java.time.Instant;
+
+/**
+ * 多节点部署时共享图表数据：通过租约选出一个主节点统计并发布快照，其他节点只读取快照
+ * <p>未开启多节点共享时每个节点各自统计，与单节点部署相同。外部接口的缓存和 Umami 每日归档始终按节点维护。</p>
+ *
+ * @author Handsome
+ * @since 1.0.6
+ */
+public interface ClusterService {
+
+    boolean isEnabled();
+
+    /**
+     * 已开启共享且当前节点持有租约
+     */
+    boolean isLeader();
+
+    ClusterStatus status();
+
+    /**
+     * @param nodeId 当前节点标识，每次启动生成
+     * @param leaderId 租约持有者，尚未读到租约时为 null
+     * @param generation 当前节点已发布或已使用的快照代数，0 表示尚无快照
+     * @param publishedAt 该快照的发布时间
+     */
+    record ClusterStatus(boolean enabled, String nodeId, boolean leader, String leaderId,
+                         Instant leaseRenewedAt, long generation, Instant publishedAt) {}
+}
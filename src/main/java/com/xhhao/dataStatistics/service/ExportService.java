@@ -0,0 +1,92 @@
+package com.xhhao.dataStatistics.service;
+
+import org.springframework.core.io.buffer.DataBuffer;
+
+import reactor.core.publisher.Flux;
+
+/**
+ * 统计数据导出：逐行读取索引与扩展并写出，不在内存中构建完整数据集
+ *
+ * @author Handsome
+ * @since 1.0.6
+ */
+public interface ExportService {
+
+    /**
+     * 按下游请求的速度逐批生成内容，下游取消时停止读取
+     */
+    Flux<DataBuffer> export(Dataset dataset, Format format);
+
+    enum Dataset {
+        /** 每日发布文章数：date, posts，没有发布文章的日期不输出 */
+        DAILY_POSTS("daily-posts"),
+        /** 公开已审核的瞬间：name, date */
+        MOMENTS("moments"),
+        /** 评论者的已审核评论数：name, displayName, comments，按评论数降序 */
+        COMMENTERS("commenters"),
+        /** 已发布文章：name, title, publishTime, visit, comment, upvote */
+        POSTS("posts"),
+        /** 本地归档的 Umami 每日访问统计：date, pageviews, visits, visitors */
+        VISITS("visits");
+
+        private final String key;
+
+        Dataset(String key) {
+            this.key = key;
+        }
+
+        public String key() {
+            return key;
+        }
+
+        /**
+         * @throws IllegalArgumentException 不支持的数据集
+         */
+        public static Dataset parse(String value) {
+            for (Dataset dataset : values()) {
+                if (dataset.key.equalsIgnoreCase(value)) {
+                    return dataset;
+                }
+            }
+            throw new IllegalArgumentException("不支持的数据集: " + value);
+        }
+    }
+
+    enum Format {
+        NDJSON("application/x-ndjson", "ndjson"),
+        CSV("text/csv", "csv");
+
+        private final String mediaType;
+        private final String extension;
+
+        Format(String mediaType, String extension) {
+            this.mediaType = mediaType;
+            this.extension = extension;
+        }
+
+        public String mediaType() {
+            return mediaType;
+        }
+
+        public String extension() {
+            return extension;
+        }
+
+        /**
+         * 为空时使用 NDJSON
+         *
+         * @throws IllegalArgumentException 不支持的格式
+         */
+        public static Format parse(String value) {
+            if (value == null || value.isBlank()) {
+                return NDJSON;
+            }
+            for (Format format : values()) {
+                if (format.extension.equalsIgnoreCase(value)) {
+                    return format;
+                }
+            }
+            throw new IllegalArgumentException("不支持的导出格式: " + value);
+        }
+    }
+}
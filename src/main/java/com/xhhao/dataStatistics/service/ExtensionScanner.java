@@ -0,0 +1,36 @@
+package com.xhhao.dataStatistics.service;
+
+import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import run.halo.app.extension.Extension;
+import run.halo.app.extension.GroupVersionKind;
+import run.halo.app.extension.ListOptions;
+
+/**
+ * 分块扫描扩展：按固定大小分页读取，逐块折叠进累加器，
+ * 内存占用只与块大小和累加器大小有关，与扩展总数无关。
+ */
+public interface ExtensionScanner {
+
+    int DEFAULT_CHUNK_SIZE = 200;
+
+    /**
+     * 按块扫描，下游请求下一块时才会读取下一页
+     */
+    <E extends Extension> Flux<List<E>> scan(Class<E> type, ListOptions options, int chunkSize);
+
+    /**
+     * 按块扫描扩展名称，用于没有 Java 类型、只能按 GVK 读取的扩展（如瞬间插件的 Moment）
+     */
+    Flux<List<String>> scanNames(GroupVersionKind type, ListOptions options, int chunkSize);
+
+    /**
+     * 扫描全部扩展并折叠进累加器，累加器在统计线程池上执行
+     */
+    <E extends Extension, A> Mono<A> fold(Class<E> type, ListOptions options,
+                                          Supplier<A> initial, BiConsumer<A, ? super E> accumulator);
+}
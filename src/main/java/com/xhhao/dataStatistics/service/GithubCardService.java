@@ -0,0 +1,111 @@
+package com.xhhao.dataStatistics.service;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Predicate;
+
+import org.springframework.util.MultiValueMap;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * GitHub 统计卡片的缓存代理
+ *
+ * @author Handsome
+ * @since 1.0.6
+ */
+public interface GithubCardService {
+
+    /**
+     * 获取卡片 SVG，用户名固定为设置中的 GitHub 用户名
+     *
+     * @param params 经 {@link CardType#normalize} 校验后的展示参数
+     */
+    Mono<Card> getCard(CardType type, Map<String, String> params);
+
+    /**
+     * 各卡片允许的展示参数及取值，与编辑器中可选的值一致；
+     * 其余参数一律拒绝，避免接口被当作任意用户、任意参数的开放代理，也避免大量参数组合挤掉已缓存的卡片
+     */
+    enum CardType {
+        STATS("stats", "api", Map.of(
+            "locale", oneOf("cn", "zh-tw", "en"),
+            "show_icons", oneOf("true", "false"),
+            "theme", oneOf("dark", "radical", "merko", "gruvbox", "dracula"))),
+        PIN("pin", "api/pin/", Map.of(
+            "repo", value -> value.matches("[A-Za-z0-9._-]{1,100}"))),
+        TOP_LANGS("top-langs", "api/top-langs/", Map.of(
+            "layout", oneOf("compact", "donut", "pie"),
+            "hide_progress", oneOf("true", "false"),
+            "stats_format", oneOf("bytes", "percentages"))),
+        GRAPH("graph", "graph", Map.of(
+            "theme", oneOf("minimal", "radical", "coral", "nord", "lucent", "dracula", "gruvbox",
+                "chartreuse-dark", "github-light", "github-dark", "github-dark-dimmed", "material-palenight",
+                "green", "gotham", "noctis-minimus", "monokai", "one-dark", "elegant", "aqua", "synthwave-84",
+                "react", "merko", "vue", "tokyo-day", "tokyo-night", "high-contrast", "cobalt", "material",
+                "nightowl", "modern-lilac", "arctic")));
+
+        private static final String USERNAME = "username";
+
+        private final String value;
+        private final String upstreamPath;
+        private final Map<String, Predicate<String>> params;
+
+        CardType(String value, String upstreamPath, Map<String, Predicate<String>> params) {
+            this.value = value;
+            this.upstreamPath = upstreamPath;
+            this.params = params;
+        }
+
+        public String upstreamPath() {
+            return upstreamPath;
+        }
+
+        /**
+         * 校验查询参数，返回按名称排序的展示参数；请求中的 username 忽略，由设置决定
+         *
+         * @throws IllegalArgumentException 参数不在允许范围内、取值不合法或重复
+         */
+        public Map<String, String> normalize(MultiValueMap<String, String> query) {
+            Map<String, String> normalized = new TreeMap<>();
+            query.forEach((name, values) -> {
+                if (USERNAME.equals(name)) {
+                    return;
+                }
+                Predicate<String> allowed = params.get(name);
+                String first = values.isEmpty() ? null : values.get(0);
+                if (allowed == null || values.size() != 1 || first == null || !allowed.test(first)) {
+                    throw new IllegalArgumentException("不支持的参数或取值: " + name);
+                }
+                normalized.put(name, first);
+            });
+            return normalized;
+        }
+
+        /**
+         * 允许的参数名，用于错误提示
+         */
+        public Set<String> paramNames() {
+            return params.keySet();
+        }
+
+        public static CardType parse(String value) {
+            for (CardType type : values()) {
+                if (type.value.equals(value)) {
+                    return type;
+                }
+            }
+            throw new IllegalArgumentException("不支持的卡片类型: " + value);
+        }
+
+        private static Predicate<String> oneOf(String... values) {
+            return Set.of(values)::contains;
+        }
+    }
+
+    /**
+     * @param etag 按内容计算的强 ETag（已带引号）
+     */
+    record Card(byte[] content, String etag) {}
+}
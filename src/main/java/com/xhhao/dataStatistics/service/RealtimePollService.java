@@ -0,0 +1,35 @@
+package com.xhhao.dataStatistics.service;
+
+import java.time.Duration;
+
+import com.xhhao.dataStatistics.service.UptimeKumaService.UptimeStatus;
+import com.xhhao.dataStatistics.vo.UmamiRealtimeVO;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * 实时数据的自适应轮询：按数值变化和访问需求决定多久访问一次上游，并告知前端下一次刷新时间
+ * <p>数值变化快、关注的访客多时间隔接近下限；数值平稳或访问稀少时退避到分钟级，无人访问时不访问上游。</p>
+ *
+ * @author Handsome
+ * @since 1.0.6
+ */
+public interface RealtimePollService {
+
+    /**
+     * @param websiteId 网站 ID，为空时使用设置中的网站
+     */
+    Mono<Polled<UmamiRealtimeVO>> getRealtimeData(String websiteId);
+
+    Mono<Polled<UptimeStatus>> getUptimeStatus();
+
+    /**
+     * 清空轮询状态，下一次请求重新访问上游
+     */
+    void clearCache();
+
+    /**
+     * @param nextRefresh 距离下一次访问上游的时间，前端据此安排下一次请求
+     */
+    record Polled<T>(T value, Duration nextRefresh) {}
+}
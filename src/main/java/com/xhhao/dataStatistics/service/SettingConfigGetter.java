@@ -1,5 +1,10 @@
 package com.xhhao.dataStatistics.service;
 
+import java.time.Duration;
+import java.util.Arrays;
+
+import com.xhhao.dataStatistics.common.Constants;
+
 import lombok.Data;
 import reactor.core.publisher.Mono;
 
@@ -8,12 +13,32 @@ public interface SettingConfigGetter {
     Mono<UmamiConfig> getUmamiConfig();
     Mono<UptimeConfig> getUptimeKumaConfig();
     Mono<GithubConfig> getGithubConfig();
+    Mono<RateLimitConfig> getRateLimitConfig();
+    Mono<CacheConfig> getCacheConfig();
+    Mono<HttpClientConfig> getHttpClientConfig();
+    Mono<ClusterConfig> getClusterConfig();
     
     @Data
     class BasicsConfig {
         public static final String GROUP = "basics";
+        public static final String DEFAULT_INJECT_TEMPLATES = "post,page";
         private String title;
         private Boolean enableMomentHeatmap;
+        private String uniqueCountMode;
+        private Boolean inlineChartData;
+        private String injectTemplates;
+
+        /**
+         * 是否在该模板的页面中注入统计组件资源，* 表示所有页面
+         * <p>未配置时只注入文章和独立页面，编辑器插入的组件只会出现在它们的正文中。</p>
+         */
+        public boolean injectsInto(String templateName) {
+            String templates = injectTemplates == null || injectTemplates.isBlank()
+                ? DEFAULT_INJECT_TEMPLATES : injectTemplates;
+            return Arrays.stream(templates.split(","))
+                .map(String::trim)
+                .anyMatch(template -> template.equals("*") || template.equals(templateName));
+        }
     }
     @Data
     class UmamiConfig {
@@ -34,6 +59,135 @@ public interface SettingConfigGetter {
         private String proxyUrl;
         private String graphProxyUrl;
         private String username;
+        private Boolean cacheCards;
+    }
+    @Data
+    class RateLimitConfig {
+        public static final String GROUP = "rateLimit";
+        private Boolean enabled;
+        private Integer chartPerMinute;
+        private Integer umamiPerMinute;
+        private Integer uptimePerMinute;
+        private Integer githubPerMinute;
+        private String trustedProxies;
+
+        /**
+         * 接口分组每分钟允许的请求数，0 或未知分组表示不限流
+         */
+        public int limitOf(String routeGroup) {
+            if (Boolean.FALSE.equals(enabled)) {
+                return 0;
+            }
+            return switch (routeGroup) {
+                case "chart", "posts" -> chartPerMinute == null ? 120 : chartPerMinute;
+                case "umami" -> umamiPerMinute == null ? 30 : umamiPerMinute;
+                case "uptime" -> uptimePerMinute == null ? 30 : uptimePerMinute;
+                case "github", "github-cards" -> githubPerMinute == null ? 60 : githubPerMinute;
+                default -> 0;
+            };
+        }
+    }
+    @Data
+    class CacheConfig {
+        public static final String GROUP = "cache";
+        private Integer chartCacheMinutes;
+        private Integer chartRefreshMinutes;
+        private Integer umamiCacheMinutes;
+        private Integer umamiTokenCacheHours;
+        private Integer uptimeCacheSeconds;
+        private Integer githubCardFreshMinutes;
+        private Integer umamiArchiveIntervalMinutes;
+        private Integer aggregationParallelism;
+
+        public Duration chartCacheTtl() {
+            return Duration.ofMinutes(positiveOrDefault(chartCacheMinutes, Constants.Cache.CHART_DATA_CACHE_MINUTES));
+        }
+
+        /**
+         * 后台重建图表数据的间隔，{@link Duration#ZERO} 表示只在缓存过期后按需重建
+         */
+        public Duration chartRefreshInterval() {
+            return chartRefreshMinutes == null || chartRefreshMinutes <= 0
+                ? Duration.ZERO : Duration.ofMinutes(chartRefreshMinutes);
+        }
+
+        public Duration umamiCacheTtl() {
+            return Duration.ofMinutes(positiveOrDefault(umamiCacheMinutes, Constants.Cache.UMAMI_METRICS_CACHE_MINUTES));
+        }
+
+        public Duration umamiTokenTtl() {
+            return Duration.ofHours(positiveOrDefault(umamiTokenCacheHours, Constants.Cache.UMAMI_TOKEN_CACHE_HOURS));
+        }
+
+        /**
+         * Uptime Kuma 状态的缓存时间，{@link Duration#ZERO} 表示不缓存
+         */
+        public Duration uptimeCacheTtl() {
+            if (uptimeCacheSeconds == null) {
+                return Duration.ofSeconds(Constants.Cache.UPTIME_CACHE_SECONDS);
+            }
+            return Duration.ofSeconds(Math.max(0, uptimeCacheSeconds));
+        }
+
+        public Duration githubCardFreshTtl() {
+            return Duration.ofMinutes(positiveOrDefault(githubCardFreshMinutes,
+                Constants.Cache.GITHUB_CARD_FRESH_MINUTES));
+        }
+
+        public Duration umamiArchiveInterval() {
+            return Duration.ofMinutes(positiveOrDefault(umamiArchiveIntervalMinutes,
+                Constants.Cache.UMAMI_ARCHIVE_INTERVAL_MINUTES));
+        }
+
+        /**
+         * 图表数据统计线程数，即各分区并行统计的上限，不超过 CPU 核数
+         */
+        public int aggregationParallelism() {
+            return Math.min(positiveOrDefault(aggregationParallelism, Constants.Cache.AGGREGATION_PARALLELISM),
+                Runtime.getRuntime().availableProcessors());
+        }
+
+        private static int positiveOrDefault(Integer value, int defaultValue) {
+            return value == null || value <= 0 ? defaultValue : value;
+        }
+    }
+    @Data
+    class HttpClientConfig {
+        public static final String GROUP = "httpClient";
+        private Profile umami;
+        private Profile uptime;
+        private Profile github;
+        private Boolean compression;
+        private Boolean http2;
+        private Integer dnsCacheSeconds;
+        private Integer maxIdleSeconds;
+
+        /**
+         * 单个上游的连接池与超时设置，未填写的项使用各上游的默认值
+         */
+        @Data
+        public static class Profile {
+            private Integer maxConnections;
+            private Integer connectTimeoutSeconds;
+            private Integer responseTimeoutSeconds;
+        }
+    }
+    @Data
+    class ClusterConfig {
+        public static final String GROUP = "cluster";
+        private static final int DEFAULT_LEASE_SECONDS = 30;
+        private static final int MIN_LEASE_SECONDS = 10;
+        private Boolean enabled;
+        private Integer leaseSeconds;
+
+        /**
+         * 主节点租约时长，主节点每隔三分之一租约时长续约一次
+         */
+        public Duration leaseDuration() {
+            if (leaseSeconds == null) {
+                return Duration.ofSeconds(DEFAULT_LEASE_SECONDS);
+            }
+            return Duration.ofSeconds(Math.max(MIN_LEASE_SECONDS, leaseSeconds));
+        }
     }
-    
 }
@@ -1,8 +1,46 @@
 package com.xhhao.dataStatistics.service;
 
+import com.xhhao.dataStatistics.index.PostRollupCube;
 import com.xhhao.dataStatistics.vo.PieChartVO;
+import com.xhhao.dataStatistics.vo.PostStatsVO;
+import com.xhhao.dataStatistics.vo.RollupVO;
+import com.xhhao.dataStatistics.vo.UniqueCountVO;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Set;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 public interface StatisticalService {
     Mono<PieChartVO> getPieChartVO();
+    /** 只构建并返回指定分区，每个分区独立缓存 */
+    Mono<PieChartVO> getPieChartVO(Set<Section> sections);
+    /** 只返回缓存有效的分区，其余分区为 null，不会触发重建 */
+    Optional<PieChartVO> getCachedPieChartVO();
+    /** 忽略缓存立即重建图表数据，已有重建在进行时复用它 */
+    Mono<PieChartVO> refreshPieChartVO();
+    /** 使用其他节点发布的图表数据代替本地统计，传 null 恢复本地统计 */
+    void useSharedPieChart(PieChartVO shared);
+    Mono<RollupVO> getRollup(PostRollupCube.Query query);
+    Mono<List<PieChartVO.Tag>> getRelatedTags(int limit);
+    Mono<UniqueCountVO> getUniqueCommenters(LocalDate start, LocalDate end);
+    /** 按传入顺序返回文章统计，未发布、私密或不存在的文章被忽略 */
+    Mono<List<PostStatsVO>> getPostStats(List<String> postNames);
+    /** 公开已审核的瞬间及其发布日期（yyyy-MM-dd），未安装瞬间插件时报错 */
+    Flux<MomentRelease> streamMoments();
+
+    record MomentRelease(String name, String date) {}
+
+    /**
+     * 图表数据的分区，heatmap 对应 articles 和 enableMomentHeatmap
+     */
+    enum Section {
+        TAGS, CATEGORIES, HEATMAP, COMMENTS, TOP10, WRITING, DISCUSSED;
+
+        public static Section parse(String value) {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        }
+    }
 }
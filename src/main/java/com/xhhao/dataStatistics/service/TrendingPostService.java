@@ -0,0 +1,28 @@
+package com.xhhao.dataStatistics.service;
+
+import java.util.List;
+
+import com.xhhao.dataStatistics.vo.TrendingPostVO;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * 近期热门文章：以 Umami 中各页面最近若干天的浏览量排序，区别于按累计访问量排序的 top10
+ *
+ * @author Handsome
+ * @since 1.0.6
+ */
+public interface TrendingPostService {
+
+    int MAX_DAYS = 90;
+    int MAX_LIMIT = 50;
+
+    /**
+     * @param days 最近天数，1-{@link #MAX_DAYS}
+     * @param limit 返回条数，1-{@link #MAX_LIMIT}
+     * @return 按浏览量降序的文章，没有浏览记录的文章不出现
+     */
+    Mono<List<TrendingPostVO>> getTrendingPosts(int days, int limit);
+
+    void clearCache();
+}
@@ -1,13 +1,51 @@
 package com.xhhao.dataStatistics.service;
 
-import com.fasterxml.jackson.databind.JsonNode;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.xhhao.dataStatistics.vo.UmamiMetricVO;
+import com.xhhao.dataStatistics.vo.UmamiRealtimeVO;
+import com.xhhao.dataStatistics.vo.UmamiStatsVO;
+import com.xhhao.dataStatistics.vo.UmamiWebsiteVO;
+
 import reactor.core.publisher.Mono;
 
 public interface UmamiService {
     Mono<String> getToken();
-    Mono<JsonNode> getWebsites();
-    Mono<JsonNode> getRealtimeData(String websiteId);
-    Mono<JsonNode> getVisitStatistics(String websiteId, String type);
-    Mono<JsonNode> getRealtimeVisitStatistics(String websiteId);
-}
+    Mono<List<UmamiWebsiteVO>> getWebsites();
+    Mono<UmamiRealtimeVO> getRealtimeData(String websiteId);
+    Mono<UmamiStatsVO> getVisitStatistics(String websiteId, String type);
+    Mono<UmamiRealtimeVO> getRealtimeVisitStatistics(String websiteId);
+
+    /**
+     * 网站 ID 为空时依次取配置中的网站 ID、网站列表中的第一个
+     */
+    Mono<String> resolveWebsiteId(String websiteId);
+
+    /**
+     * 直接向 Umami 查询 [startAt, endAt] 毫秒时间戳区间的访问统计，不经过本地归档
+     */
+    Mono<UmamiStatsVO> getStatisticsBetween(String websiteId, long startAt, long endAt);
 
+    /**
+     * 并发获取多个细分指标（热门页面、来源、浏览器等）
+     *
+     * @param types 指标类型，取值见 {@link #METRIC_TYPES}
+     * @param range 统计区间，与 {@link #getVisitStatistics} 的 type 一致
+     * @return 指标类型 → 按数量降序的结果，顺序与 types 一致
+     */
+    Mono<Map<String, List<UmamiMetricVO>>> getMetrics(String websiteId, List<String> types, String range, int limit);
+
+    /**
+     * 最近 days 天的单个细分指标，与 {@link #getMetrics} 共用缓存
+     */
+    Mono<List<UmamiMetricVO>> getRecentMetric(String websiteId, String type, int days, int limit);
+
+    /**
+     * 清空细分指标缓存，登录 Token 保留
+     */
+    void clearCache();
+
+    Set<String> METRIC_TYPES = Set.of("url", "path", "referrer", "browser", "os", "device", "country", "event");
+}
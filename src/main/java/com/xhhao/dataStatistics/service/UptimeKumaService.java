@@ -1,10 +1,28 @@
 package com.xhhao.dataStatistics.service;
 
+import java.util.List;
+
 import reactor.core.publisher.Mono;
 
 public interface UptimeKumaService {
     Mono<UptimeStatus> getStatusPage();
 
-    record UptimeStatus(int status, String statusPageUrl) {}
-}
+    /**
+     * 清空状态缓存，下一次请求重新访问各状态页
+     */
+    void clearCache();
 
+    /**
+     * @param status 合并后的状态：1-所有业务正常，0-全部业务异常，2-部分业务异常
+     * @param statusPageUrl 第一个状态页地址，用于组件跳转
+     * @param pages 各状态页的状态
+     */
+    record UptimeStatus(int status, String statusPageUrl, List<PageStatus> pages) {}
+
+    /**
+     * @param up 正常的监控项数
+     * @param total 监控项总数
+     * @param error 请求失败时的原因，成功时为 null
+     */
+    record PageStatus(String statusPageUrl, int status, int up, int total, String error) {}
+}
@@ -0,0 +1,114 @@
+package com.xhhao.dataStatistics.service.impl;
+
+import java.time.Duration;
+import java.util.function.ToDoubleBiFunction;
+
+import com.xhhao.dataStatistics.service.RealtimePollService.Polled;
+
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+
+/**
+ * 单个上游资源的轮询状态
+ * <p>请求到来时才访问上游：距上次获取未满当前间隔直接返回上次的值，否则访问上游，同时到达的请求共用一次结果。
+ * 每次获取后按两个指数加权平均重新计算间隔：相邻两次数值的变化幅度，以及随时间衰减的请求数。
+ * 间隔在下限与上限之间按对数插值，变化越大、请求越多越接近下限。</p>
+ *
+ * @author Handsome
+ * @since 1.0.6
+ */
+@Slf4j
+final class AdaptivePoll<T> {
+
+    /** 最新一次变化幅度的权重 */
+    private static final double CHANGE_WEIGHT = 0.3;
+    /** 尚无历史时的变化幅度，间隔取下限与上限的几何中点 */
+    private static final double INITIAL_CHANGE = 0.5;
+    /** 请求数的衰减时间常数，约等于统计最近多久的请求 */
+    private static final double DEMAND_DECAY_MILLIS = Duration.ofMinutes(10).toMillis();
+    /** 衰减后的请求数达到该值视为有人持续关注，不再因请求少而放慢 */
+    private static final double DEMAND_SATURATION = 3;
+    private static final long MIN_NEXT_REFRESH_MILLIS = 1000;
+
+    private final String name;
+    private final ToDoubleBiFunction<T, T> change;
+
+    private T value;
+    private long fetchedAt;
+    private long intervalMillis;
+    private double changeEwma = INITIAL_CHANGE;
+    private double demand;
+    private long demandAt;
+    private Mono<Polled<T>> inflight;
+
+    /**
+     * @param change 相邻两次数值的变化幅度，取值 0-1
+     */
+    AdaptivePoll(String name, ToDoubleBiFunction<T, T> change) {
+        this.name = name;
+        this.change = change;
+    }
+
+    /**
+     * @param upstream 访问上游，只在需要刷新时订阅
+     */
+    synchronized Mono<Polled<T>> poll(Mono<T> upstream, Duration min, Duration max) {
+        long now = System.currentTimeMillis();
+        demand = demand * Math.exp(-(now - demandAt) / DEMAND_DECAY_MILLIS) + 1;
+        demandAt = now;
+
+        long remaining = fetchedAt + intervalMillis - now;
+        if (value != null && remaining > 0) {
+            return Mono.just(new Polled<>(value, Duration.ofMillis(Math.max(remaining, MIN_NEXT_REFRESH_MILLIS))));
+        }
+        if (inflight == null) {
+            inflight = upstream
+                .map(fetched -> onFetched(fetched, min, max))
+                .onErrorResume(e -> onFailed(e, min, max))
+                .doFinally(signal -> clearInflight())
+                .cache();
+        }
+        return inflight;
+    }
+
+    private synchronized Polled<T> onFetched(T fetched, Duration min, Duration max) {
+        if (value != null) {
+            double delta = Math.min(1, Math.max(0, change.applyAsDouble(value, fetched)));
+            changeEwma = CHANGE_WEIGHT * delta + (1 - CHANGE_WEIGHT) * changeEwma;
+        }
+        value = fetched;
+        fetchedAt = System.currentTimeMillis();
+        intervalMillis = interval(min.toMillis(), max.toMillis());
+        return new Polled<>(fetched, Duration.ofMillis(intervalMillis));
+    }
+
+    /**
+     * 上游失败时继续返回上次的值并加倍间隔，没有可用的值时返回错误
+     */
+    private synchronized Mono<Polled<T>> onFailed(Throwable e, Duration min, Duration max) {
+        if (value == null) {
+            return Mono.error(e);
+        }
+        log.warn("轮询 {} 失败，继续使用上次的数据: {}", name, e.getMessage());
+        fetchedAt = System.currentTimeMillis();
+        intervalMillis = Math.min(max.toMillis(), Math.max(min.toMillis(), intervalMillis * 2));
+        return Mono.just(new Polled<>(value, Duration.ofMillis(intervalMillis)));
+    }
+
+    private synchronized void clearInflight() {
+        inflight = null;
+    }
+
+    private long interval(long minMillis, long maxMillis) {
+        double activity = changeEwma * Math.min(1, demand / DEMAND_SATURATION);
+        return Math.round(minMillis * Math.pow((double) maxMillis / minMillis, 1 - activity));
+    }
+
+    /**
+     * 相对变化幅度，以较大值为基数，两者均为 0 时无变化
+     */
+    static double relativeChange(double previous, double current) {
+        double base = Math.max(Math.abs(previous), Math.abs(current));
+        return base == 0 ? 0 : Math.abs(current - previous) / base;
+    }
+}
@@ -0,0 +1,117 @@
+package com.xhhao.dataStatistics.service.impl;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.stereotype.Component;
+
+import com.xhhao.dataStatistics.config.CachePolicy;
+import com.xhhao.dataStatistics.service.CacheRefreshService;
+import com.xhhao.dataStatistics.service.ClusterService;
+import com.xhhao.dataStatistics.service.RealtimePollService;
+import com.xhhao.dataStatistics.service.SettingConfigGetter;
+import com.xhhao.dataStatistics.service.StatisticalService;
+import com.xhhao.dataStatistics.service.TrendingPostService;
+import com.xhhao.dataStatistics.service.UmamiService;
+import com.xhhao.dataStatistics.service.UptimeKumaService;
+
+import cn.hutool.core.util.StrUtil;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * 重建状态保存在内存中，同一时刻只允许一次重建
+ * <p>后台定时重建只刷新图表数据，Umami、Uptime Kuma 的缓存按各自的缓存时间过期，避免定时消耗上游配额。</p>
+ *
+ * @author Handsome
+ * @since 1.0.6
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CacheRefreshServiceImpl implements CacheRefreshService, InitializingBean, DisposableBean {
+
+    private static final String TRIGGER_MANUAL = "manual";
+    private static final String TRIGGER_SCHEDULE = "schedule";
+
+    private final StatisticalService statisticalService;
+    private final UmamiService umamiService;
+    private final TrendingPostService trendingPostService;
+    private final UptimeKumaService uptimeKumaService;
+    private final RealtimePollService realtimePollService;
+    private final CachePolicy cachePolicy;
+    private final ClusterService clusterService;
+
+    private final AtomicReference<RefreshStatus> status =
+        new AtomicReference<>(new RefreshStatus(State.IDLE, null, null, null, null, null));
+
+    private Disposable schedule;
+
+    @Override
+    public void afterPropertiesSet() {
+        // 刷新间隔设置变化时重新计时，0 表示不在后台刷新；多节点共享时由主节点负责定期重建
+        schedule = cachePolicy.changes()
+            .map(SettingConfigGetter.CacheConfig::chartRefreshInterval)
+            .distinctUntilChanged()
+            .switchMap(interval -> interval.isZero() ? Flux.never() : Flux.interval(interval, interval))
+            .filter(tick -> !clusterService.isEnabled())
+            .subscribe(tick -> start(TRIGGER_SCHEDULE));
+    }
+
+    @Override
+    public void destroy() {
+        if (schedule != null) {
+            schedule.dispose();
+        }
+    }
+
+    @Override
+    public RefreshStatus refresh() {
+        return start(TRIGGER_MANUAL);
+    }
+
+    @Override
+    public RefreshStatus status() {
+        return status.get();
+    }
+
+    private RefreshStatus start(String trigger) {
+        RefreshStatus previous = status.get();
+        if (previous.state() == State.RUNNING) {
+            return previous;
+        }
+        Instant startedAt = Instant.now();
+        RefreshStatus running = new RefreshStatus(State.RUNNING, trigger, startedAt, null, null, null);
+        if (!status.compareAndSet(previous, running)) {
+            return status.get();
+        }
+
+        if (TRIGGER_MANUAL.equals(trigger)) {
+            umamiService.clearCache();
+            trendingPostService.clearCache();
+            uptimeKumaService.clearCache();
+            realtimePollService.clearCache();
+        }
+        statisticalService.refreshPieChartVO()
+            .then(Mono.fromRunnable(() -> finish(running, null)))
+            .subscribe(null, e -> {
+                log.warn("重建统计缓存失败: {}", e.getMessage());
+                finish(running, StrUtil.blankToDefault(e.getMessage(), e.getClass().getSimpleName()));
+            });
+        return running;
+    }
+
+    private void finish(RefreshStatus running, String error) {
+        Instant finishedAt = Instant.now();
+        long durationMillis = Duration.between(running.startedAt(), finishedAt).toMillis();
+        status.set(new RefreshStatus(error == null ? State.SUCCEEDED : State.FAILED, running.trigger(),
+            running.startedAt(), finishedAt, durationMillis, error));
+        log.debug("统计缓存重建完成（{}），耗时 {} ms", running.trigger(), durationMillis);
+    }
+}
@@ -0,0 +1,292 @@
+package com.xhhao.dataStatistics.service.impl;
+
+import java.nio.charset.StandardCharsets;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.stereotype.Component;
+
+import com.xhhao.dataStatistics.common.Constants;
+import com.xhhao.dataStatistics.service.ChartSvgService;
+import com.xhhao.dataStatistics.service.StatisticalService;
+import com.xhhao.dataStatistics.vo.PieChartVO;
+
+import cn.hutool.core.util.StrUtil;
+import cn.hutool.core.util.XmlUtil;
+import cn.hutool.crypto.digest.DigestUtil;
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Mono;
+
+/**
+ * SVG 图表渲染
+ * <p>只读取图表对应的分区。分区数据由 {@link StatisticalService} 缓存，每次重建都会产生新的实例，
+ * 因此以分区数据实例作为版本号：同一份数据、同一主题的渲染结果直接复用，数据重建后才重新渲染。</p>
+ * <p>热力图与 siteCharts.js 保持一致：近一年按周分列、周一开始，按最大值的四分位分为 4 档颜色。</p>
+ *
+ * @author Handsome
+ * @since 1.0.6
+ */
+@Component
+@RequiredArgsConstructor
+public class ChartSvgServiceImpl implements ChartSvgService {
+
+    private static final String FONT_FAMILY = "system-ui, -apple-system, 'Segoe UI', sans-serif";
+    private static final String[] COLOR_PALETTE = {
+        "#3b82f6", "#10b981", "#f59e0b", "#ef4444", "#8b5cf6",
+        "#ec4899", "#14b8a6", "#f97316", "#6366f1", "#0ea5e9"
+    };
+    private static final String[] WEEKDAY_LABELS = {"一", "", "三", "", "五", "", ""};
+
+    private static final int CELL_SIZE = 11;
+    private static final int CELL_STEP = 14;
+    private static final int HEATMAP_LEFT = 22;
+    private static final int HEATMAP_TOP = 18;
+
+    private static final int PIE_MAX_SLICES = 10;
+    private static final int PIE_SIZE = 220;
+    private static final int PIE_OUTER_RADIUS = 96;
+    private static final int PIE_INNER_RADIUS = 58;
+    private static final int LEGEND_ROW = 20;
+    private static final int LEGEND_NAME_LENGTH = 12;
+
+    private static final Palette LIGHT = new Palette("#4b5563", "#6b7280", "#e5e7eb",
+        new String[] {"#bfdbfe", "#93c5fd", "#60a5fa", "#2563eb"});
+    private static final Palette DARK = new Palette("#cbd5f5", "#9ca3af", "rgba(148, 163, 184, 0.25)",
+        new String[] {"rgba(191, 219, 254, 0.35)", "rgba(147, 197, 253, 0.55)",
+            "rgba(96, 165, 250, 0.75)", "rgba(37, 99, 235, 0.85)"});
+
+    private final StatisticalService statisticalService;
+
+    private final Map<CacheKey, CachedSvg> cache = new ConcurrentHashMap<>();
+
+    @Override
+    public Mono<SvgImage> render(Chart chart, Theme theme) {
+        StatisticalService.Section section = switch (chart) {
+            case HEATMAP -> StatisticalService.Section.HEATMAP;
+            case TAGS -> StatisticalService.Section.TAGS;
+            case CATEGORIES -> StatisticalService.Section.CATEGORIES;
+        };
+        return statisticalService.getPieChartVO(EnumSet.of(section))
+            .map(data -> {
+                CacheKey key = new CacheKey(chart, theme);
+                Object source = switch (chart) {
+                    case HEATMAP -> data.getArticles();
+                    case TAGS -> data.getTags();
+                    case CATEGORIES -> data.getCategories();
+                };
+                CachedSvg cached = cache.get(key);
+                if (cached != null && cached.source() == source) {
+                    return cached.image();
+                }
+                Palette palette = theme == Theme.DARK ? DARK : LIGHT;
+                String svg = switch (chart) {
+                    case HEATMAP -> renderHeatmap(data.getArticles(), palette);
+                    case TAGS -> renderDonut("标签统计", data.getTags().stream()
+                        .map(tag -> new Slice(StrUtil.nullToDefault(tag.getName(), "未命名标签"),
+                            valueOf(tag.getCount())))
+                        .toList(), palette);
+                    case CATEGORIES -> renderDonut("分类统计", data.getCategories().stream()
+                        .map(category -> new Slice(StrUtil.nullToDefault(category.getName(), "未命名分类"),
+                            valueOf(category.getTotal())))
+                        .toList(), palette);
+                };
+                byte[] content = svg.getBytes(StandardCharsets.UTF_8);
+                SvgImage image = new SvgImage(content,
+                    "\"" + DigestUtil.sha256Hex(content).substring(0, 16) + "\"");
+                cache.put(key, new CachedSvg(source, image));
+                return image;
+            });
+    }
+
+    private String renderHeatmap(List<PieChartVO.Article> articles, Palette palette) {
+        Map<LocalDate, Integer> totals = new HashMap<>();
+        for (PieChartVO.Article article : articles) {
+            if (article.getDate() != null) {
+                totals.merge(article.getDate().toLocalDate(), valueOf(article.getTotal()), Integer::sum);
+            }
+        }
+        int max = totals.values().stream().mapToInt(Integer::intValue).max().orElse(0);
+
+        LocalDate end = LocalDate.now(Constants.DEFAULT_ZONE_ID);
+        LocalDate start = end.minusDays(364);
+        LocalDate firstMonday = start.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+        int weeks = (int) (ChronoUnit.DAYS.between(firstMonday, end) / 7) + 1;
+
+        int width = HEATMAP_LEFT + weeks * CELL_STEP;
+        int legendTop = HEATMAP_TOP + 7 * CELL_STEP + 6;
+        int height = legendTop + CELL_SIZE + 4;
+        StringBuilder svg = openSvg(width, height, "文章发布趋势");
+
+        for (int day = 0; day < WEEKDAY_LABELS.length; day++) {
+            if (!WEEKDAY_LABELS[day].isEmpty()) {
+                svg.append(text(0, HEATMAP_TOP + day * CELL_STEP + CELL_SIZE - 1, WEEKDAY_LABELS[day],
+                    palette.muted(), "start"));
+            }
+        }
+
+        int lastMonth = -1;
+        for (int week = 0; week < weeks; week++) {
+            LocalDate weekStart = firstMonday.plusDays(week * 7L);
+            LocalDate labelDate = weekStart.isBefore(start) ? start : weekStart;
+            // 月份标签标在该月第一次出现的列上
+            if (labelDate.getMonthValue() != lastMonth && labelDate.getDayOfMonth() <= 7) {
+                svg.append(text(HEATMAP_LEFT + week * CELL_STEP, HEATMAP_TOP - 6,
+                    labelDate.getMonthValue() + "月", palette.muted(), "start"));
+                lastMonth = labelDate.getMonthValue();
+            }
+            for (int day = 0; day < 7; day++) {
+                LocalDate date = weekStart.plusDays(day);
+                if (date.isBefore(start) || date.isAfter(end)) {
+                    continue;
+                }
+                int value = totals.getOrDefault(date, 0);
+                svg.append("<rect x=\"").append(HEATMAP_LEFT + week * CELL_STEP)
+                    .append("\" y=\"").append(HEATMAP_TOP + day * CELL_STEP)
+                    .append("\" width=\"").append(CELL_SIZE).append("\" height=\"").append(CELL_SIZE)
+                    .append("\" rx=\"2\" fill=\"").append(levelColor(palette, level(value, max)))
+                    .append("\"><title>").append(date).append("：").append(value).append(" 篇</title></rect>");
+            }
+        }
+
+        int legendX = width - 5 * CELL_STEP - 28;
+        svg.append(text(legendX - 4, legendTop + CELL_SIZE - 1, "少", palette.muted(), "end"));
+        for (int level = 0; level <= 4; level++) {
+            svg.append("<rect x=\"").append(legendX + level * CELL_STEP).append("\" y=\"").append(legendTop)
+                .append("\" width=\"").append(CELL_SIZE).append("\" height=\"").append(CELL_SIZE)
+                .append("\" rx=\"2\" fill=\"").append(levelColor(palette, level)).append("\"/>");
+        }
+        svg.append(text(legendX + 5 * CELL_STEP, legendTop + CELL_SIZE - 1, "多", palette.muted(), "start"));
+        return svg.append("</svg>").toString();
+    }
+
+    /**
+     * 与 siteCharts.js 的 computeLevel 一致
+     */
+    private static int level(int value, int max) {
+        if (value <= 0 || max <= 0) {
+            return 0;
+        }
+        if (max <= 1) {
+            return 1;
+        }
+        int q1 = Math.max(1, (int) Math.ceil(max * 0.25));
+        int q2 = Math.max(q1 + 1, (int) Math.ceil(max * 0.5));
+        int q3 = Math.max(q2 + 1, (int) Math.ceil(max * 0.75));
+        if (value >= q3) {
+            return 4;
+        }
+        if (value >= q2) {
+            return 3;
+        }
+        return value >= q1 ? 2 : 1;
+    }
+
+    private static String levelColor(Palette palette, int level) {
+        return level == 0 ? palette.cellBackground() : palette.levels()[level - 1];
+    }
+
+    /**
+     * 环形图，超过 {@link #PIE_MAX_SLICES} 项时其余合并为"其他"
+     */
+    private String renderDonut(String title, List<Slice> source, Palette palette) {
+        List<Slice> sorted = new ArrayList<>(source.stream().filter(slice -> slice.value() > 0).toList());
+        sorted.sort(Comparator.comparingInt(Slice::value).reversed());
+        List<Slice> slices = sorted;
+        if (sorted.size() > PIE_MAX_SLICES) {
+            slices = new ArrayList<>(sorted.subList(0, PIE_MAX_SLICES - 1));
+            int rest = sorted.subList(PIE_MAX_SLICES - 1, sorted.size()).stream().mapToInt(Slice::value).sum();
+            slices.add(new Slice("其他", rest));
+        }
+        long total = slices.stream().mapToLong(Slice::value).sum();
+
+        int height = Math.max(PIE_SIZE, LEGEND_ROW * slices.size() + 20);
+        StringBuilder svg = openSvg(PIE_SIZE + 200, height, title);
+        if (total == 0) {
+            svg.append(text(PIE_SIZE / 2 + 100, height / 2, "暂无数据", palette.muted(), "middle"));
+            return svg.append("</svg>").toString();
+        }
+
+        double cx = PIE_SIZE / 2.0;
+        double cy = height / 2.0;
+        if (slices.size() == 1) {
+            svg.append("<circle cx=\"").append(number(cx)).append("\" cy=\"").append(number(cy))
+                .append("\" r=\"").append((PIE_OUTER_RADIUS + PIE_INNER_RADIUS) / 2)
+                .append("\" fill=\"none\" stroke=\"").append(COLOR_PALETTE[0])
+                .append("\" stroke-width=\"").append(PIE_OUTER_RADIUS - PIE_INNER_RADIUS).append("\"/>");
+        } else {
+            double angle = -Math.PI / 2;
+            for (int i = 0; i < slices.size(); i++) {
+                Slice slice = slices.get(i);
+                double sweep = 2 * Math.PI * slice.value() / total;
+                double next = angle + sweep;
+                int largeArc = sweep > Math.PI ? 1 : 0;
+                svg.append("<path d=\"M").append(point(cx, cy, PIE_OUTER_RADIUS, angle))
+                    .append(" A").append(PIE_OUTER_RADIUS).append(' ').append(PIE_OUTER_RADIUS)
+                    .append(" 0 ").append(largeArc).append(" 1 ").append(point(cx, cy, PIE_OUTER_RADIUS, next))
+                    .append(" L").append(point(cx, cy, PIE_INNER_RADIUS, next))
+                    .append(" A").append(PIE_INNER_RADIUS).append(' ').append(PIE_INNER_RADIUS)
+                    .append(" 0 ").append(largeArc).append(" 0 ").append(point(cx, cy, PIE_INNER_RADIUS, angle))
+                    .append(" Z\" fill=\"").append(COLOR_PALETTE[i % COLOR_PALETTE.length])
+                    .append("\"><title>").append(XmlUtil.escape(slice.name())).append("：")
+                    .append(slice.value()).append("</title></path>");
+                angle = next;
+            }
+        }
+
+        int legendTop = (int) (cy - slices.size() * LEGEND_ROW / 2.0);
+        for (int i = 0; i < slices.size(); i++) {
+            Slice slice = slices.get(i);
+            int y = legendTop + i * LEGEND_ROW;
+            svg.append("<rect x=\"").append(PIE_SIZE + 8).append("\" y=\"").append(y + 4)
+                .append("\" width=\"10\" height=\"10\" rx=\"2\" fill=\"")
+                .append(COLOR_PALETTE[i % COLOR_PALETTE.length]).append("\"/>");
+            String label = StrUtil.maxLength(slice.name(), LEGEND_NAME_LENGTH)
+                + " " + slice.value() + " (" + number(slice.value() * 100.0 / total) + "%)";
+            svg.append(text(PIE_SIZE + 24, y + 13, label, palette.text(), "start"));
+        }
+        return svg.append("</svg>").toString();
+    }
+
+    private static StringBuilder openSvg(int width, int height, String title) {
+        return new StringBuilder(8192)
+            .append("<svg xmlns=\"http://www.w3.org/2000/svg\" width=\"").append(width)
+            .append("\" height=\"").append(height).append("\" viewBox=\"0 0 ").append(width).append(' ')
+            .append(height).append("\" font-family=\"").append(FONT_FAMILY)
+            .append("\" font-size=\"10\" role=\"img\"><title>").append(XmlUtil.escape(title)).append("</title>");
+    }
+
+    private static String text(int x, int y, String content, String color, String anchor) {
+        return "<text x=\"" + x + "\" y=\"" + y + "\" fill=\"" + color + "\" text-anchor=\"" + anchor + "\">"
+            + XmlUtil.escape(content) + "</text>";
+    }
+
+    private static String point(double cx, double cy, double radius, double angle) {
+        return number(cx + radius * Math.cos(angle)) + " " + number(cy + radius * Math.sin(angle));
+    }
+
+    private static String number(double value) {
+        return String.format(Locale.ROOT, "%.1f", value);
+    }
+
+    private static int valueOf(Integer value) {
+        return value == null ? 0 : value;
+    }
+
+    private record Slice(String name, int value) {}
+
+    private record Palette(String text, String muted, String cellBackground, String[] levels) {}
+
+    private record CacheKey(Chart chart, Theme theme) {}
+
+    private record CachedSvg(Object source, SvgImage image) {}
+}
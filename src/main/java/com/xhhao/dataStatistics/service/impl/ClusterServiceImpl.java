@@ -0,0 +1,383 @@
+package com.xhhao.dataStatistics.service.impl;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.xhhao.dataStatistics.config.CachePolicy;
+import com.xhhao.dataStatistics.extension.StatisticsLease;
+import com.xhhao.dataStatistics.extension.StatisticsSnapshot;
+import com.xhhao.dataStatistics.service.ClusterService;
+import com.xhhao.dataStatistics.service.SettingConfigGetter;
+import com.xhhao.dataStatistics.service.SettingConfigGetter.CacheConfig;
+import com.xhhao.dataStatistics.service.SettingConfigGetter.ClusterConfig;
+import com.xhhao.dataStatistics.service.StatisticalService;
+import com.xhhao.dataStatistics.vo.PieChartVO;
+
+import cn.hutool.core.util.IdUtil;
+import cn.hutool.core.util.StrUtil;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import run.halo.app.extension.Metadata;
+import run.halo.app.extension.ReactiveExtensionClient;
+import run.halo.app.plugin.PluginConfigUpdatedEvent;
+
+/**
+ * 每个节点每隔三分之一租约时长读取一次租约：
+ * 持有者续约，租约过期时任一节点接管；多个节点同时写入时依靠扩展的版本号只有一个成功。
+ * 主节点按图表缓存时间（设置了后台刷新间隔时按该间隔）重建图表数据并发布为新一代快照，
+ * 其他节点发现租约中的快照代数变大时才读取快照，因此扫描文章、评论、瞬间的开销只与主节点有关，不随节点数增加。
+ * <p>只共享图表数据：Umami、Uptime Kuma、GitHub 等外部接口的缓存和 Umami 每日归档仍由每个节点各自维护，
+ * 归档文件保存在节点本地的插件数据目录中，只由主节点归档会让其他节点退回按整个区间查询 Umami。</p>
+ * <p>Halo 的扩展监听只在写入的节点内触发，这里以读取租约代替跨节点监听，每个节点每个周期只读取一个很小的扩展。</p>
+ * <p>尚未收到快照的节点继续本地统计，主节点失联时其他节点继续使用最后一代快照，直到有节点接管。</p>
+ *
+ * @author Handsome
+ * @since 1.0.6
+ */
+@Slf4j
+@Component
+public class ClusterServiceImpl implements ClusterService, InitializingBean, DisposableBean {
+
+    private static final Duration RELEASE_TIMEOUT = Duration.ofSeconds(5);
+
+    /**
+     * 快照与 WebFlux 默认序列化保持一致：日期为 ISO 字符串
+     */
+    private static final ObjectMapper MAPPER = JsonMapper.builder()
+        .addModule(new JavaTimeModule())
+        .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+        .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+        .build();
+
+    private final ReactiveExtensionClient client;
+    private final StatisticalService statisticalService;
+    private final SettingConfigGetter settingConfigGetter;
+    private final CachePolicy cachePolicy;
+    private final String nodeId;
+
+    private final Sinks.Many<ClusterConfig> configs = Sinks.many().replay().latest();
+    private final AtomicBoolean publishing = new AtomicBoolean();
+
+    private volatile boolean enabled;
+    private volatile boolean leader;
+    private volatile String leaderId;
+    private volatile Instant leaseRenewedAt;
+    private volatile long generation;
+    private volatile Instant publishedAt;
+    private volatile Instant lastPublishedAt;
+    private volatile PieChartVO latestShared;
+
+    private Disposable task;
+
+    @Autowired
+    public ClusterServiceImpl(ReactiveExtensionClient client, StatisticalService statisticalService,
+                              SettingConfigGetter settingConfigGetter, CachePolicy cachePolicy) {
+        this(client, statisticalService, settingConfigGetter, cachePolicy, newNodeId());
+    }
+
+    /**
+     * 指定节点标识；同一进程内的多个实例共用一个扩展客户端即可模拟多个节点
+     */
+    ClusterServiceImpl(ReactiveExtensionClient client, StatisticalService statisticalService,
+                       SettingConfigGetter settingConfigGetter, CachePolicy cachePolicy, String nodeId) {
+        this.client = client;
+        this.statisticalService = statisticalService;
+        this.settingConfigGetter = settingConfigGetter;
+        this.cachePolicy = cachePolicy;
+        this.nodeId = nodeId;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        task = configs.asFlux()
+            .distinctUntilChanged()
+            .switchMap(this::run)
+            .subscribe();
+        settingConfigGetter.getClusterConfig()
+            .subscribe(this::updateConfig, e -> {
+                log.warn("读取多节点设置失败，按单节点运行: {}", e.getMessage());
+                updateConfig(new ClusterConfig());
+            });
+    }
+
+    @EventListener
+    public void onConfigUpdated(PluginConfigUpdatedEvent event) {
+        Map<String, JsonNode> newConfig = event.getNewConfig();
+        JsonNode group = newConfig == null ? null : newConfig.get(ClusterConfig.GROUP);
+        try {
+            updateConfig(group == null ? new ClusterConfig() : MAPPER.treeToValue(group, ClusterConfig.class));
+        } catch (Exception e) {
+            log.warn("解析多节点设置失败，保留原设置: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 主节点停止时立即释放租约，其他节点无需等待租约过期
+     */
+    @Override
+    public void destroy() {
+        if (task != null) {
+            task.dispose();
+        }
+        if (leader) {
+            try {
+                release().block(RELEASE_TIMEOUT);
+            } catch (Exception e) {
+                log.warn("释放统计主节点租约失败: {}", e.getMessage());
+            }
+        }
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @Override
+    public boolean isLeader() {
+        return enabled && leader;
+    }
+
+    @Override
+    public ClusterStatus status() {
+        return new ClusterStatus(enabled, nodeId, isLeader(), leaderId, leaseRenewedAt, generation, publishedAt);
+    }
+
+    private void updateConfig(ClusterConfig config) {
+        configs.emitNext(config, Sinks.EmitFailureHandler.busyLooping(Duration.ofMillis(100)));
+    }
+
+    private Flux<Void> run(ClusterConfig config) {
+        if (!Boolean.TRUE.equals(config.getEnabled())) {
+            return Mono.<Void>fromRunnable(this::leave).flux();
+        }
+        Duration leaseDuration = config.leaseDuration();
+        return Flux.interval(Duration.ZERO, leaseDuration.dividedBy(3))
+            .doOnSubscribe(subscription -> enabled = true)
+            .onBackpressureDrop()
+            .concatMap(tick -> tick(leaseDuration));
+    }
+
+    private Mono<Void> tick(Duration leaseDuration) {
+        return acquireOrRenew(leaseDuration)
+            .flatMap(lease -> {
+                onLease(lease.getSpec());
+                if (leader) {
+                    publishIfDue();
+                    return Mono.<Void>empty();
+                }
+                return follow(lease.getSpec().getSnapshotGeneration());
+            })
+            .onErrorResume(e -> {
+                log.warn("同步统计主节点租约失败: {}", e.getMessage());
+                return Mono.empty();
+            });
+    }
+
+    private Mono<StatisticsLease> acquireOrRenew(Duration leaseDuration) {
+        return client.fetch(StatisticsLease.class, StatisticsLease.NAME)
+            .flatMap(lease -> {
+                StatisticsLease.Spec spec = lease.getSpec();
+                Instant now = Instant.now();
+                boolean held = nodeId.equals(spec.getHolder());
+                if (!held && !isExpired(spec, now)) {
+                    return Mono.just(lease);
+                }
+                if (!held) {
+                    spec.setHolder(nodeId);
+                    spec.setAcquiredAt(now);
+                }
+                spec.setRenewedAt(now);
+                spec.setDurationSeconds((int) leaseDuration.toSeconds());
+                spec.setSnapshotGeneration(Math.max(valueOf(spec.getSnapshotGeneration()), generation));
+                return write(client.update(lease));
+            })
+            .switchIfEmpty(Mono.defer(() -> write(client.create(newLease(leaseDuration)))));
+    }
+
+    /**
+     * 多个节点同时续约或接管时只有一个写入成功，其余节点重新读取租约即可得知新的持有者
+     */
+    private Mono<StatisticsLease> write(Mono<StatisticsLease> write) {
+        return write.onErrorResume(e -> {
+            log.debug("写入统计主节点租约失败，重新读取: {}", e.getMessage());
+            return client.fetch(StatisticsLease.class, StatisticsLease.NAME);
+        });
+    }
+
+    private void onLease(StatisticsLease.Spec spec) {
+        boolean leading = nodeId.equals(spec.getHolder());
+        if (leading && !leader) {
+            log.info("节点 {} 成为统计主节点", nodeId);
+            lastPublishedAt = null;
+            statisticalService.useSharedPieChart(null);
+        } else if (!leading && leader) {
+            log.info("节点 {} 不再是统计主节点，当前主节点为 {}", nodeId, spec.getHolder());
+            statisticalService.useSharedPieChart(latestShared);
+        }
+        leader = leading;
+        leaderId = spec.getHolder();
+        leaseRenewedAt = spec.getRenewedAt();
+    }
+
+    /**
+     * 重建在租约循环之外进行，重建耗时较长也不会耽误续约
+     */
+    private void publishIfDue() {
+        CacheConfig cacheConfig = cachePolicy.current();
+        Duration interval = cacheConfig.chartRefreshInterval().isZero()
+            ? cacheConfig.chartCacheTtl() : cacheConfig.chartRefreshInterval();
+        Instant last = lastPublishedAt;
+        if (last != null && Instant.now().isBefore(last.plus(interval))) {
+            return;
+        }
+        if (!publishing.compareAndSet(false, true)) {
+            return;
+        }
+        statisticalService.refreshPieChartVO()
+            .flatMap(this::publish)
+            .doFinally(signal -> publishing.set(false))
+            .subscribe(null, e -> log.warn("发布统计快照失败: {}", e.getMessage()));
+    }
+
+    private Mono<StatisticsSnapshot> publish(PieChartVO pieChartVO) {
+        return Mono.fromCallable(() -> MAPPER.writeValueAsString(pieChartVO))
+            .flatMap(payload -> client.fetch(StatisticsSnapshot.class, StatisticsSnapshot.NAME)
+                .flatMap(snapshot -> {
+                    StatisticsSnapshot.Spec previous = snapshot.getSpec();
+                    long next = Math.max(previous == null ? 0 : valueOf(previous.getGeneration()), generation) + 1;
+                    snapshot.setSpec(newSnapshotSpec(next, payload));
+                    return client.update(snapshot);
+                })
+                .switchIfEmpty(Mono.defer(() -> {
+                    StatisticsSnapshot snapshot = new StatisticsSnapshot();
+                    snapshot.setMetadata(newMetadata(StatisticsSnapshot.NAME));
+                    snapshot.setSpec(newSnapshotSpec(generation + 1, payload));
+                    return client.create(snapshot);
+                })))
+            .doOnNext(snapshot -> {
+                generation = snapshot.getSpec().getGeneration();
+                publishedAt = snapshot.getSpec().getPublishedAt();
+                lastPublishedAt = Instant.now();
+                latestShared = pieChartVO;
+                log.debug("已发布第 {} 代统计快照", generation);
+            });
+    }
+
+    private Mono<Void> follow(Long snapshotGeneration) {
+        if (snapshotGeneration == null || snapshotGeneration <= generation) {
+            return Mono.empty();
+        }
+        return client.fetch(StatisticsSnapshot.class, StatisticsSnapshot.NAME)
+            .doOnNext(this::apply)
+            .then();
+    }
+
+    private void apply(StatisticsSnapshot snapshot) {
+        StatisticsSnapshot.Spec spec = snapshot.getSpec();
+        if (spec == null || spec.getGeneration() == null || spec.getGeneration() <= generation) {
+            return;
+        }
+        try {
+            PieChartVO pieChartVO = MAPPER.readValue(spec.getPayload(), PieChartVO.class);
+            latestShared = pieChartVO;
+            if (!leader) {
+                statisticalService.useSharedPieChart(pieChartVO);
+            }
+        } catch (Exception e) {
+            // 跳过这一代，等待下一次发布
+            log.warn("解析第 {} 代统计快照失败: {}", spec.getGeneration(), e.getMessage());
+        }
+        generation = spec.getGeneration();
+        publishedAt = spec.getPublishedAt();
+    }
+
+    /**
+     * 关闭共享后恢复本地统计，原来是主节点时释放租约
+     */
+    private void leave() {
+        boolean wasLeader = leader;
+        enabled = false;
+        leader = false;
+        leaderId = null;
+        leaseRenewedAt = null;
+        latestShared = null;
+        statisticalService.useSharedPieChart(null);
+        if (wasLeader) {
+            release().subscribe(null, e -> log.warn("释放统计主节点租约失败: {}", e.getMessage()));
+        }
+    }
+
+    private Mono<Void> release() {
+        return client.fetch(StatisticsLease.class, StatisticsLease.NAME)
+            .filter(lease -> nodeId.equals(lease.getSpec().getHolder()))
+            .flatMap(lease -> {
+                lease.getSpec().setRenewedAt(null);
+                return client.update(lease);
+            })
+            .then();
+    }
+
+    private StatisticsLease newLease(Duration leaseDuration) {
+        Instant now = Instant.now();
+        StatisticsLease.Spec spec = new StatisticsLease.Spec();
+        spec.setHolder(nodeId);
+        spec.setAcquiredAt(now);
+        spec.setRenewedAt(now);
+        spec.setDurationSeconds((int) leaseDuration.toSeconds());
+        spec.setSnapshotGeneration(generation);
+        StatisticsLease lease = new StatisticsLease();
+        lease.setMetadata(newMetadata(StatisticsLease.NAME));
+        lease.setSpec(spec);
+        return lease;
+    }
+
+    private StatisticsSnapshot.Spec newSnapshotSpec(long snapshotGeneration, String payload) {
+        StatisticsSnapshot.Spec spec = new StatisticsSnapshot.Spec();
+        spec.setGeneration(snapshotGeneration);
+        spec.setPublisher(nodeId);
+        spec.setPublishedAt(Instant.now());
+        spec.setPayload(payload);
+        return spec;
+    }
+
+    private static Metadata newMetadata(String name) {
+        Metadata metadata = new Metadata();
+        metadata.setName(name);
+        return metadata;
+    }
+
+    /**
+     * 续约时间为空表示持有者已主动释放
+     */
+    private static boolean isExpired(StatisticsLease.Spec spec, Instant now) {
+        return spec.getRenewedAt() == null || spec.getDurationSeconds() == null
+            || spec.getRenewedAt().plusSeconds(spec.getDurationSeconds()).isBefore(now);
+    }
+
+    private static long valueOf(Long value) {
+        return value == null ? 0 : value;
+    }
+
+    private static String newNodeId() {
+        String host = System.getenv("HOSTNAME");
+        return (StrUtil.isBlank(host) ? "halo" : host) + "-" + IdUtil.fastSimpleUUID().substring(0, 8);
+    }
+}
@@ -0,0 +1,183 @@
+package com.xhhao.dataStatistics.service.impl;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.xhhao.dataStatistics.archive.UmamiDailyArchive;
+import com.xhhao.dataStatistics.common.Constants;
+import com.xhhao.dataStatistics.index.CommenterIndex;
+import com.xhhao.dataStatistics.index.PostPublishDayIndex;
+import com.xhhao.dataStatistics.index.PostStatsIndex;
+import com.xhhao.dataStatistics.service.ExportService;
+import com.xhhao.dataStatistics.service.ExtensionScanner;
+import com.xhhao.dataStatistics.service.StatisticalService;
+import com.xhhao.dataStatistics.service.UmamiService;
+
+import lombok.RequiredArgsConstructor;
+import reactor.core.Exceptions;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import run.halo.app.core.extension.content.Post;
+
+/**
+ * 每个数据集都是按需生成的行流：文章、瞬间按块分页扫描，评论者按批从内存索引中读取，
+ * 每日数据按日期逐天读取索引和归档文件，行按批序列化为 {@link DataBuffer}，内存占用只与批大小有关。
+ *
+ * @author Handsome
+ * @since 1.0.6
+ */
+@Component
+@RequiredArgsConstructor
+public class ExportServiceImpl implements ExportService {
+
+    private static final int ROWS_PER_BUFFER = 100;
+    private static final int COMMENTERS_PER_SLICE = 500;
+
+    private final ExtensionScanner extensionScanner;
+    private final StatisticalService statisticalService;
+    private final UmamiService umamiService;
+    private final UmamiDailyArchive umamiDailyArchive;
+    private final PostPublishDayIndex postPublishDayIndex;
+    private final PostStatsIndex postStatsIndex;
+    private final CommenterIndex commenterIndex;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Override
+    public Flux<DataBuffer> export(Dataset dataset, Format format) {
+        Table table = switch (dataset) {
+            case DAILY_POSTS -> dailyPosts();
+            case MOMENTS -> moments();
+            case COMMENTERS -> commenters();
+            case POSTS -> posts();
+            case VISITS -> visits();
+        };
+        Flux<String> chunks = table.rows()
+            .buffer(ROWS_PER_BUFFER)
+            .map(rows -> format == Format.CSV ? toCsv(rows) : toNdjson(table.columns(), rows));
+        if (format == Format.CSV) {
+            chunks = Flux.concat(Mono.fromSupplier(() -> toCsv(List.of(table.columns()))), chunks);
+        }
+        return chunks.map(chunk -> DefaultDataBufferFactory.sharedInstance
+            .wrap(chunk.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private Table dailyPosts() {
+        Flux<List<Object>> rows = Mono.justOrEmpty(postPublishDayIndex.firstDay())
+            .flatMapMany(first -> days(first, LocalDate.now(Constants.DEFAULT_ZONE_ID)))
+            .flatMap(day -> {
+                int posts = postPublishDayIndex.countOn(day);
+                return posts > 0 ? Mono.just(List.<Object>of(day.toString(), posts)) : Mono.empty();
+            });
+        return new Table(List.of("date", "posts"), rows);
+    }
+
+    private Table moments() {
+        Flux<List<Object>> rows = statisticalService.streamMoments()
+            .map(moment -> List.<Object>of(moment.name(), moment.date()));
+        return new Table(List.of("name", "date"), rows);
+    }
+
+    private Table commenters() {
+        Flux<List<Object>> rows = Mono.fromSupplier(() -> commenterIndex.slice(null, COMMENTERS_PER_SLICE))
+            .expand(slice -> slice.size() < COMMENTERS_PER_SLICE
+                ? Mono.empty()
+                : Mono.fromSupplier(() -> commenterIndex.slice(slice.get(slice.size() - 1), COMMENTERS_PER_SLICE)))
+            .concatMapIterable(slice -> slice)
+            .map(commenter -> Arrays.<Object>asList(commenter.name(), commenter.displayName(), commenter.count()));
+        return new Table(List.of("name", "displayName", "comments"), rows);
+    }
+
+    private Table posts() {
+        Flux<List<Object>> rows = extensionScanner.scan(Post.class,
+                StatisticalServiceImpl.publishedPostOptions(), ExtensionScanner.DEFAULT_CHUNK_SIZE)
+            .concatMapIterable(chunk -> chunk)
+            .map(post -> {
+                String name = post.getMetadata().getName();
+                PostStatsIndex.Stats stats = postStatsIndex.get(name);
+                Instant publishTime = post.getSpec().getPublishTime();
+                return Arrays.<Object>asList(name, post.getSpec().getTitle(),
+                    publishTime == null ? null : publishTime.toString(),
+                    stats == null ? 0 : stats.visit(),
+                    stats == null ? 0 : stats.comment(),
+                    stats == null ? 0 : stats.upvote());
+            });
+        return new Table(List.of("name", "title", "publishTime", "visit", "comment", "upvote"), rows);
+    }
+
+    private Table visits() {
+        Flux<List<Object>> rows = umamiService.resolveWebsiteId(null)
+            .map(umamiDailyArchive::file)
+            .flatMapMany(file -> Mono.zip(Mono.justOrEmpty(file.firstDay()), Mono.justOrEmpty(file.lastDay()))
+                .flatMapMany(range -> days(range.getT1(), range.getT2()))
+                .flatMap(day -> Mono.justOrEmpty(file.day(day))))
+            .map(day -> List.<Object>of(day.date().toString(), day.pageviews(), day.visits(), day.visitors()));
+        return new Table(List.of("date", "pageviews", "visits", "visitors"), rows);
+    }
+
+    /**
+     * [first, last] 之间的每一天，按下游请求逐天生成
+     */
+    private static Flux<LocalDate> days(LocalDate first, LocalDate last) {
+        return Flux.generate(() -> first, (day, sink) -> {
+            if (day.isAfter(last)) {
+                sink.complete();
+            } else {
+                sink.next(day);
+            }
+            return day.plusDays(1);
+        });
+    }
+
+    private String toNdjson(List<String> columns, List<List<Object>> rows) {
+        StringBuilder builder = new StringBuilder();
+        for (List<Object> row : rows) {
+            Map<String, Object> object = new LinkedHashMap<>();
+            for (int i = 0; i < columns.size(); i++) {
+                object.put(columns.get(i), row.get(i));
+            }
+            try {
+                builder.append(objectMapper.writeValueAsString(object)).append('\n');
+            } catch (JsonProcessingException e) {
+                throw Exceptions.propagate(e);
+            }
+        }
+        return builder.toString();
+    }
+
+    /**
+     * 按 RFC 4180 转义：含逗号、引号或换行的字段加引号，引号重复一次
+     */
+    private static String toCsv(List<? extends List<?>> rows) {
+        StringBuilder builder = new StringBuilder();
+        for (List<?> row : rows) {
+            for (int i = 0; i < row.size(); i++) {
+                if (i > 0) {
+                    builder.append(',');
+                }
+                Object value = row.get(i);
+                String text = value == null ? "" : value.toString();
+                if (text.indexOf(',') >= 0 || text.indexOf('"') >= 0
+                    || text.indexOf('\n') >= 0 || text.indexOf('\r') >= 0) {
+                    builder.append('"').append(text.replace("\"", "\"\"")).append('"');
+                } else {
+                    builder.append(text);
+                }
+            }
+            builder.append("\r\n");
+        }
+        return builder.toString();
+    }
+
+    private record Table(List<String> columns, Flux<List<Object>> rows) {}
+}
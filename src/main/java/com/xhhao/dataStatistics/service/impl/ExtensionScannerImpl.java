@@ -0,0 +1,81 @@
+package com.xhhao.dataStatistics.service.impl;
+
+import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
+
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+
+import com.xhhao.dataStatistics.config.AggregationScheduler;
+import com.xhhao.dataStatistics.service.ExtensionScanner;
+
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import run.halo.app.extension.Extension;
+import run.halo.app.extension.GroupVersionKind;
+import run.halo.app.extension.ListOptions;
+import run.halo.app.extension.ListResult;
+import run.halo.app.extension.PageRequestImpl;
+import run.halo.app.extension.ReactiveExtensionClient;
+
+@Component
+@RequiredArgsConstructor
+public class ExtensionScannerImpl implements ExtensionScanner {
+
+    /**
+     * 分页需要稳定顺序，按名称排序
+     */
+    private static final Sort PAGE_SORT = Sort.by(Sort.Order.asc("metadata.name"));
+
+    private final ReactiveExtensionClient client;
+    private final AggregationScheduler aggregationScheduler;
+
+    @Override
+    public <E extends Extension> Flux<List<E>> scan(Class<E> type, ListOptions options, int chunkSize) {
+        // expand 只在上一页被下游消费后才订阅下一页，天然受背压约束
+        return fetchPage(type, options, 1, chunkSize)
+            .expand(result -> result.hasNext()
+                ? fetchPage(type, options, result.getPage() + 1, chunkSize)
+                : Mono.empty())
+            .map(ListResult::getItems)
+            .filter(items -> !items.isEmpty());
+    }
+
+    @Override
+    public Flux<List<String>> scanNames(GroupVersionKind type, ListOptions options, int chunkSize) {
+        return fetchNames(type, options, 1, chunkSize)
+            .expand(result -> result.hasNext()
+                ? fetchNames(type, options, result.getPage() + 1, chunkSize)
+                : Mono.empty())
+            .map(ListResult::getItems)
+            .filter(items -> !items.isEmpty());
+    }
+
+    @Override
+    public <E extends Extension, A> Mono<A> fold(Class<E> type, ListOptions options,
+                                                 Supplier<A> initial, BiConsumer<A, ? super E> accumulator) {
+        // 每页在统计线程池上折叠，不占用返回数据的 I/O 线程；
+        // 预取一页，折叠当前页时最多提前读取下一页，默认预取会一次缓冲数百页
+        return scan(type, options, DEFAULT_CHUNK_SIZE)
+            .publishOn(aggregationScheduler.scheduler(), 1)
+            .reduceWith(initial, (acc, chunk) -> {
+                chunk.forEach(item -> accumulator.accept(acc, item));
+                return acc;
+            });
+    }
+
+    private <E extends Extension> Mono<ListResult<E>> fetchPage(Class<E> type, ListOptions options,
+                                                               int page, int size) {
+        return client.listBy(type, options, PageRequestImpl.of(page, size, PAGE_SORT));
+    }
+
+    /**
+     * 索引查询是同步调用，订阅时才执行
+     */
+    private Mono<ListResult<String>> fetchNames(GroupVersionKind type, ListOptions options, int page, int size) {
+        return Mono.fromSupplier(() -> client.indexedQueryEngine()
+            .retrieve(type, options, PageRequestImpl.of(page, size, PAGE_SORT)));
+    }
+}
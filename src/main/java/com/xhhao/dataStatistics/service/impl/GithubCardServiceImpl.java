@@ -0,0 +1,177 @@
+package com.xhhao.dataStatistics.service.impl;
+
+import java.io.IOException;
+import java.net.URI;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import com.xhhao.dataStatistics.common.Constants;
+import com.xhhao.dataStatistics.common.DiskLruCache;
+import com.xhhao.dataStatistics.config.CachePolicy;
+import com.xhhao.dataStatistics.config.HttpClientProfiles;
+import com.xhhao.dataStatistics.config.PluginWorkDir;
+import com.xhhao.dataStatistics.service.GithubCardService;
+import com.xhhao.dataStatistics.service.SettingConfigGetter;
+
+import cn.hutool.core.util.StrUtil;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * GitHub 卡片缓存代理
+ * <p>卡片缓存在 Halo 工作目录下的磁盘 LRU 中：</p>
+ * <ul>
+ *     <li>未过期：直接读本地文件</li>
+ *     <li>已过期：先返回旧内容，同时在后台带 If-None-Match / If-Modified-Since 向上游校验，304 时只刷新时间</li>
+ *     <li>上游失败：继续返回最后一次成功的内容，间隔一段时间后再重试</li>
+ * </ul>
+ * <p>同一卡片同一时刻只会有一个上游请求。</p>
+ *
+ * @author Handsome
+ * @since 1.0.6
+ */
+@Slf4j
+@Component
+public class GithubCardServiceImpl implements GithubCardService {
+
+    private static final int MAX_ENTRIES = 200;
+    private static final long MAX_BYTES = 20L * 1024 * 1024;
+    private static final Duration FETCH_TIMEOUT = Duration.ofSeconds(15);
+    private static final long RETRY_MILLIS = Duration.ofMinutes(5).toMillis();
+
+    private final SettingConfigGetter settingConfigGetter;
+    private final HttpClientProfiles httpClientProfiles;
+    private final DiskLruCache cache;
+    private final CachePolicy cachePolicy;
+
+    private final Map<String, Mono<DiskLruCache.Entry>> inflight = new ConcurrentHashMap<>();
+    private final Map<String, Long> failedAt = new ConcurrentHashMap<>();
+
+    public GithubCardServiceImpl(SettingConfigGetter settingConfigGetter, HttpClientProfiles httpClientProfiles,
+                                 PluginWorkDir pluginWorkDir, CachePolicy cachePolicy) {
+        this.settingConfigGetter = settingConfigGetter;
+        this.httpClientProfiles = httpClientProfiles;
+        this.cachePolicy = cachePolicy;
+        this.cache = new DiskLruCache(pluginWorkDir.resolve("github-cards"), MAX_ENTRIES, MAX_BYTES);
+    }
+
+    @Override
+    public Mono<Card> getCard(CardType type, Map<String, String> params) {
+        return settingConfigGetter.getGithubConfig()
+            .flatMap(config -> {
+                if (StrUtil.isBlank(config.getUsername())) {
+                    return Mono.error(new IllegalStateException("GitHub 用户名未配置"));
+                }
+                URI upstream = upstreamUri(config, type, params);
+                String key = upstream.toString();
+                return Mono.fromCallable(() -> cache.get(key).orElse(null))
+                    .subscribeOn(Schedulers.boundedElastic())
+                    .flatMap(entry -> {
+                        if (isStale(key, entry)) {
+                            fetch(key, upstream, entry).subscribe(null,
+                                e -> log.warn("后台刷新 GitHub 卡片失败，继续使用缓存: {} {}", key, e.getMessage()));
+                        }
+                        return readCard(entry);
+                    })
+                    .onErrorResume(IOException.class, e -> Mono.empty())
+                    .switchIfEmpty(Mono.defer(() -> fetch(key, upstream, null).flatMap(this::readCard)));
+            });
+    }
+
+    private boolean isStale(String key, DiskLruCache.Entry entry) {
+        long now = System.currentTimeMillis();
+        if (now - entry.fetchedAt() < cachePolicy.current().githubCardFreshTtl().toMillis()) {
+            return false;
+        }
+        Long lastFailure = failedAt.get(key);
+        return lastFailure == null || now - lastFailure >= RETRY_MILLIS;
+    }
+
+    private Mono<Card> readCard(DiskLruCache.Entry entry) {
+        return Mono.fromCallable(() -> new Card(cache.read(entry), "\"" + entry.contentHash() + "\""))
+            .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    /**
+     * 向上游请求卡片并写入缓存，相同卡片的并发请求共享同一次上游调用
+     */
+    private Mono<DiskLruCache.Entry> fetch(String key, URI upstream, DiskLruCache.Entry previous) {
+        return inflight.computeIfAbsent(key, k -> httpClientProfiles.webClient(HttpClientProfiles.Upstream.GITHUB).get()
+            .uri(upstream)
+            .headers(headers -> {
+                if (previous == null) {
+                    return;
+                }
+                if (previous.etag() != null) {
+                    headers.set(HttpHeaders.IF_NONE_MATCH, previous.etag());
+                }
+                if (previous.lastModified() != null) {
+                    headers.set(HttpHeaders.IF_MODIFIED_SINCE, previous.lastModified());
+                }
+            })
+            .exchangeToMono(response -> store(key, response, previous))
+            .timeout(FETCH_TIMEOUT)
+            .doOnNext(entry -> failedAt.remove(key))
+            .doOnError(e -> failedAt.put(key, System.currentTimeMillis()))
+            .doFinally(signal -> inflight.remove(key))
+            .cache());
+    }
+
+    private Mono<DiskLruCache.Entry> store(String key, ClientResponse response, DiskLruCache.Entry previous) {
+        if (response.statusCode().value() == HttpStatus.NOT_MODIFIED.value() && previous != null) {
+            return response.releaseBody()
+                .then(Mono.fromCallable(() -> cache.markFresh(key).orElse(previous))
+                    .subscribeOn(Schedulers.boundedElastic()));
+        }
+        if (!response.statusCode().is2xxSuccessful()) {
+            return response.createError();
+        }
+        boolean isSvg = response.headers().contentType()
+            .map(contentType -> contentType.getSubtype().contains("svg"))
+            .orElse(false);
+        if (!isSvg) {
+            return response.releaseBody()
+                .then(Mono.error(new IllegalStateException("上游返回的不是 SVG 图片")));
+        }
+        String etag = response.headers().asHttpHeaders().getETag();
+        String lastModified = response.headers().asHttpHeaders().getFirst(HttpHeaders.LAST_MODIFIED);
+        return response.bodyToMono(byte[].class)
+            .publishOn(Schedulers.boundedElastic())
+            .map(body -> {
+                try {
+                    return cache.put(key, body, etag, lastModified);
+                } catch (IOException e) {
+                    throw new IllegalStateException("写入 GitHub 卡片缓存失败: " + e.getMessage(), e);
+                }
+            });
+    }
+
+    /**
+     * 用户名取自设置，展示参数已按名称排序，参数顺序不同的同一张卡片共用一个缓存条目
+     */
+    private static URI upstreamUri(SettingConfigGetter.GithubConfig config, CardType type,
+                                   Map<String, String> params) {
+        String baseUrl = type == CardType.GRAPH
+            ? baseUrl(config.getGraphProxyUrl(), Constants.DefaultUrls.GITHUB_GRAPH_URL)
+            : baseUrl(config.getProxyUrl(), Constants.DefaultUrls.GITHUB_STATS_URL);
+        UriComponentsBuilder builder = UriComponentsBuilder.fromUriString(baseUrl + type.upstreamPath())
+            .queryParam("username", config.getUsername().trim());
+        params.forEach((name, value) -> builder.queryParam(name, value));
+        return builder
+            .encode()
+            .build()
+            .toUri();
+    }
+
+    private static String baseUrl(String url, String defaultUrl) {
+        return StrUtil.addSuffixIfNot(StrUtil.blankToDefault(StrUtil.trim(url), defaultUrl), "/");
+    }
+}
@@ -0,0 +1,102 @@
+package com.xhhao.dataStatistics.service.impl;
+
+import java.time.Duration;
+
+import org.springframework.stereotype.Component;
+
+import com.xhhao.dataStatistics.common.Constants;
+import com.xhhao.dataStatistics.config.CachePolicy;
+import com.xhhao.dataStatistics.service.RealtimePollService;
+import com.xhhao.dataStatistics.service.UmamiService;
+import com.xhhao.dataStatistics.service.UptimeKumaService;
+import com.xhhao.dataStatistics.service.UptimeKumaService.PageStatus;
+import com.xhhao.dataStatistics.service.UptimeKumaService.UptimeStatus;
+import com.xhhao.dataStatistics.vo.UmamiRealtimeVO;
+
+import cn.hutool.cache.CacheUtil;
+import cn.hutool.cache.impl.LRUCache;
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Mono;
+
+/**
+ * 每个网站的实时数据、Uptime Kuma 状态各自维护一份轮询状态
+ * <p>实时数据按浏览量、访客数的相对变化调整间隔；Uptime Kuma 状态码变化视为最大变化。</p>
+ *
+ * @author Handsome
+ * @since 1.0.6
+ */
+@Component
+@RequiredArgsConstructor
+public class RealtimePollServiceImpl implements RealtimePollService {
+
+    /**
+     * 网站 ID 来自请求参数，轮询状态放在有界 LRU 中
+     */
+    private static final int MAX_WEBSITES = 32;
+
+    private final UmamiService umamiService;
+    private final UptimeKumaService uptimeKumaService;
+    private final CachePolicy cachePolicy;
+
+    private final LRUCache<String, AdaptivePoll<UmamiRealtimeVO>> realtimePolls = CacheUtil.newLRUCache(MAX_WEBSITES);
+    private volatile AdaptivePoll<UptimeStatus> uptimePoll = newUptimePoll();
+
+    @Override
+    public Mono<Polled<UmamiRealtimeVO>> getRealtimeData(String websiteId) {
+        return umamiService.resolveWebsiteId(websiteId)
+            .flatMap(id -> realtimePolls.get(id, () -> new AdaptivePoll<>("Umami 实时数据 " + id,
+                    RealtimePollServiceImpl::realtimeChange))
+                .poll(umamiService.getRealtimeData(id),
+                    Duration.ofSeconds(Constants.Cache.REALTIME_POLL_MIN_SECONDS),
+                    Duration.ofSeconds(Constants.Cache.REALTIME_POLL_MAX_SECONDS)));
+    }
+
+    @Override
+    public Mono<Polled<UptimeStatus>> getUptimeStatus() {
+        Duration min = Duration.ofSeconds(Constants.Cache.UPTIME_POLL_MIN_SECONDS);
+        Duration max = Duration.ofSeconds(Constants.Cache.UPTIME_POLL_MAX_SECONDS);
+        Duration ttl = cachePolicy.current().uptimeCacheTtl();
+        // 状态服务自身的缓存时间更长时，更短的轮询间隔只会拿到同一份缓存
+        if (ttl.compareTo(min) > 0) {
+            min = ttl.compareTo(max) < 0 ? ttl : max;
+        }
+        return uptimePoll.poll(uptimeKumaService.getStatusPage(), min, max);
+    }
+
+    @Override
+    public void clearCache() {
+        realtimePolls.clear();
+        uptimePoll = newUptimePoll();
+    }
+
+    private static AdaptivePoll<UptimeStatus> newUptimePoll() {
+        return new AdaptivePoll<>("Uptime Kuma 状态", RealtimePollServiceImpl::uptimeChange);
+    }
+
+    private static double realtimeChange(UmamiRealtimeVO previous, UmamiRealtimeVO current) {
+        return Math.max(
+            AdaptivePoll.relativeChange(views(previous), views(current)),
+            AdaptivePoll.relativeChange(visitors(previous), visitors(current)));
+    }
+
+    private static double uptimeChange(UptimeStatus previous, UptimeStatus current) {
+        if (previous.status() != current.status()) {
+            return 1;
+        }
+        return AdaptivePoll.relativeChange(upCount(previous), upCount(current));
+    }
+
+    private static long views(UmamiRealtimeVO realtime) {
+        Long views = realtime.getTotals() == null ? null : realtime.getTotals().getViews();
+        return views == null ? 0 : views;
+    }
+
+    private static long visitors(UmamiRealtimeVO realtime) {
+        Long visitors = realtime.getTotals() == null ? null : realtime.getTotals().getVisitors();
+        return visitors == null ? 0 : visitors;
+    }
+
+    private static int upCount(UptimeStatus status) {
+        return status.pages() == null ? 0 : status.pages().stream().mapToInt(PageStatus::up).sum();
+    }
+}
@@ -34,4 +34,28 @@ public class SettingConfigGetterImpl implements SettingConfigGetter {
         return settingFetcher.fetch(GithubConfig.GROUP, GithubConfig.class)
             .defaultIfEmpty(new GithubConfig());
     }
+
+    @Override
+    public Mono<RateLimitConfig> getRateLimitConfig() {
+        return settingFetcher.fetch(RateLimitConfig.GROUP, RateLimitConfig.class)
+            .defaultIfEmpty(new RateLimitConfig());
+    }
+
+    @Override
+    public Mono<CacheConfig> getCacheConfig() {
+        return settingFetcher.fetch(CacheConfig.GROUP, CacheConfig.class)
+            .defaultIfEmpty(new CacheConfig());
+    }
+
+    @Override
+    public Mono<HttpClientConfig> getHttpClientConfig() {
+        return settingFetcher.fetch(HttpClientConfig.GROUP, HttpClientConfig.class)
+            .defaultIfEmpty(new HttpClientConfig());
+    }
+
+    @Override
+    public Mono<ClusterConfig> getClusterConfig() {
+        return settingFetcher.fetch(ClusterConfig.GROUP, ClusterConfig.class)
+            .defaultIfEmpty(new ClusterConfig());
+    }
 }
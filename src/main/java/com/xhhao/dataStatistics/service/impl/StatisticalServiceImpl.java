@@ -2,42 +2,67 @@ package com.xhhao.dataStatistics.service.impl;
 
 import static org.apache.commons.lang3.ObjectUtils.defaultIfNull;
 
-import java.time.Duration;
 import java.time.Instant;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Comparator;
+import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
-import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Component;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.xhhao.dataStatistics.common.Constants;
+import com.xhhao.dataStatistics.config.AggregationScheduler;
+import com.xhhao.dataStatistics.config.CachePolicy;
+import com.xhhao.dataStatistics.index.CommentActivityIndex;
+import com.xhhao.dataStatistics.index.CommenterIndex;
+import com.xhhao.dataStatistics.index.DailyDistinctStore;
+import com.xhhao.dataStatistics.index.PostPermalinkIndex;
+import com.xhhao.dataStatistics.index.PostPublishDayIndex;
+import com.xhhao.dataStatistics.index.PostRollupCube;
+import com.xhhao.dataStatistics.index.PostStatsIndex;
+import com.xhhao.dataStatistics.index.PostWordCountIndex;
+import com.xhhao.dataStatistics.index.TagCooccurrenceIndex;
+import com.xhhao.dataStatistics.index.UniqueCommenterIndex;
+import com.xhhao.dataStatistics.service.ExtensionScanner;
 import com.xhhao.dataStatistics.service.SettingConfigGetter;
 import com.xhhao.dataStatistics.service.StatisticalService;
 import com.xhhao.dataStatistics.vo.PieChartVO;
+import com.xhhao.dataStatistics.vo.PostStatsVO;
+import com.xhhao.dataStatistics.vo.RollupVO;
+import com.xhhao.dataStatistics.vo.UniqueCountVO;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import run.halo.app.core.extension.content.Category;
-import run.halo.app.core.extension.content.Comment;
 import run.halo.app.core.extension.content.Post;
 import run.halo.app.core.extension.content.Tag;
+import run.halo.app.extension.Extension;
 import run.halo.app.extension.GroupVersionKind;
 import run.halo.app.extension.ListOptions;
 import run.halo.app.extension.ReactiveExtensionClient;
 import run.halo.app.extension.Unstructured;
 import run.halo.app.extension.index.query.Queries;
 import run.halo.app.extension.router.selector.FieldSelector;
+import run.halo.app.extension.router.selector.LabelSelector;
 
 @Slf4j
 @Component
@@ -47,142 +72,407 @@ public class StatisticalServiceImpl implements StatisticalService {
     private static final GroupVersionKind MOMENT_GVK =
         new GroupVersionKind("moment.halo.run", "v1alpha1", "Moment");
 
+    private static final int TOP_ARTICLE_LIMIT = 10;
+    private static final int MOMENT_FETCH_CONCURRENCY = 8;
+    private static final int WRITING_MONTHS = 12;
+
     private final ReactiveExtensionClient client;
+    private final ExtensionScanner extensionScanner;
     private final SettingConfigGetter settingConfigGetter;
+    private final PostRollupCube postRollupCube;
+    private final PostPublishDayIndex postPublishDayIndex;
+    private final CommenterIndex commenterIndex;
+    private final CommentActivityIndex commentActivityIndex;
+    private final PostPermalinkIndex postPermalinkIndex;
+    private final TagCooccurrenceIndex tagCooccurrenceIndex;
+    private final UniqueCommenterIndex uniqueCommenterIndex;
+    private final PostStatsIndex postStatsIndex;
+    private final PostWordCountIndex postWordCountIndex;
+    private final CachePolicy cachePolicy;
+    private final AggregationScheduler aggregationScheduler;
     private final ObjectMapper objectMapper = new ObjectMapper();
 
     /**
-     * 缓存的图表数据
+     * 图表数据按分区分别缓存，只请求部分分区时不会构建其他分区
      */
-    private volatile Mono<PieChartVO> cachedChartData;
+    private final SectionCache<List<PieChartVO.Tag>> tagsSection = new SectionCache<>(this::buildTags);
+    private final SectionCache<List<PieChartVO.Category>> categoriesSection =
+        new SectionCache<>(this::buildCategories);
+    private final SectionCache<Heatmap> heatmapSection = new SectionCache<>(this::buildHeatmap);
+    private final SectionCache<List<PieChartVO.Comment>> commentsSection = new SectionCache<>(this::buildComments);
+    private final SectionCache<List<PieChartVO.Top10Article>> top10Section =
+        new SectionCache<>(this::buildTop10Articles);
+    private final SectionCache<PieChartVO.Writing> writingSection = new SectionCache<>(this::buildWriting);
+    private final SectionCache<List<PieChartVO.DiscussedPost>> discussedSection =
+        new SectionCache<>(this::buildDiscussedPosts);
+
+    /**
+     * 多节点部署时主节点发布的图表数据，非 null 时不再本地统计
+     */
+    private volatile PieChartVO sharedPieChart;
+
+    /**
+     * 分区缓存未变时复用同一个对象，内联脚本按对象判断是否需要重新序列化
+     */
+    private volatile CachedView cachedView;
 
     @Override
     public Mono<PieChartVO> getPieChartVO() {
-        // 使用 Mono.cache() 实现缓存，避免重复计算
-        if (cachedChartData == null) {
-            cachedChartData = buildPieChartVO()
-                .cache(Duration.ofMinutes(Constants.Cache.CHART_DATA_CACHE_MINUTES));
+        return getPieChartVO(EnumSet.allOf(Section.class));
+    }
+
+    @Override
+    public Mono<PieChartVO> getPieChartVO(Set<Section> sections) {
+        PieChartVO shared = sharedPieChart;
+        if (shared != null) {
+            return Mono.just(select(shared, sections));
         }
-        return cachedChartData
-            .onErrorResume(e -> {
-                log.warn("缓存的图表数据失效，重新获取: {}", e.getMessage());
-                cachedChartData = null;
-                return buildPieChartVO();
-            });
+        return assemble(sections, SectionCache::get);
+    }
+
+    /**
+     * 只取已缓存的分区，未缓存的分区为 null，所有分区都未缓存时为空
+     */
+    @Override
+    public Optional<PieChartVO> getCachedPieChartVO() {
+        PieChartVO shared = sharedPieChart;
+        if (shared != null) {
+            return Optional.of(shared);
+        }
+        Optional<List<PieChartVO.Tag>> tags = tagsSection.peek();
+        Optional<List<PieChartVO.Category>> categories = categoriesSection.peek();
+        Optional<Heatmap> heatmap = heatmapSection.peek();
+        Optional<List<PieChartVO.Comment>> comments = commentsSection.peek();
+        Optional<List<PieChartVO.Top10Article>> top10Articles = top10Section.peek();
+        Optional<PieChartVO.Writing> writing = writingSection.peek();
+        Optional<List<PieChartVO.DiscussedPost>> discussedPosts = discussedSection.peek();
+        if (tags.isEmpty() && categories.isEmpty() && heatmap.isEmpty() && comments.isEmpty()
+            && top10Articles.isEmpty() && writing.isEmpty() && discussedPosts.isEmpty()) {
+            return Optional.empty();
+        }
+        List<Object> sources = Arrays.asList(tags.orElse(null), categories.orElse(null), heatmap.orElse(null),
+            comments.orElse(null), top10Articles.orElse(null), writing.orElse(null), discussedPosts.orElse(null));
+        CachedView cached = cachedView;
+        if (cached != null && cached.sameSources(sources)) {
+            return Optional.of(cached.view());
+        }
+        PieChartVO pieChartVO = new PieChartVO();
+        pieChartVO.setTags(tags.orElse(null));
+        pieChartVO.setCategories(categories.orElse(null));
+        pieChartVO.setArticles(heatmap.map(Heatmap::articles).orElse(null));
+        pieChartVO.setEnableMomentHeatmap(heatmap.map(Heatmap::enableMoment).orElse(null));
+        pieChartVO.setComments(comments.orElse(null));
+        pieChartVO.setTop10Articles(top10Articles.orElse(null));
+        pieChartVO.setWriting(writing.orElse(null));
+        pieChartVO.setDiscussedPosts(discussedPosts.orElse(null));
+        cachedView = new CachedView(sources, pieChartVO);
+        return Optional.of(pieChartVO);
     }
 
     /**
-     * 清除缓存（可用于强制刷新）
+     * 重建期间旧数据仍然有效，重建完成后才替换
      */
-    public void clearCache() {
-        cachedChartData = null;
+    @Override
+    public Mono<PieChartVO> refreshPieChartVO() {
+        return assemble(EnumSet.allOf(Section.class), SectionCache::refresh);
     }
 
-    private Mono<PieChartVO> buildPieChartVO() {
+    @Override
+    public void useSharedPieChart(PieChartVO shared) {
+        sharedPieChart = shared;
+    }
+
+    /**
+     * 从共享的完整图表数据中取出请求的分区，分区对象原样复用
+     */
+    private static PieChartVO select(PieChartVO shared, Set<Section> sections) {
         PieChartVO pieChartVO = new PieChartVO();
+        pieChartVO.setTags(sections.contains(Section.TAGS) ? shared.getTags() : null);
+        pieChartVO.setCategories(sections.contains(Section.CATEGORIES) ? shared.getCategories() : null);
+        if (sections.contains(Section.HEATMAP)) {
+            pieChartVO.setArticles(shared.getArticles());
+            pieChartVO.setEnableMomentHeatmap(shared.getEnableMomentHeatmap());
+        } else {
+            pieChartVO.setArticles(null);
+        }
+        pieChartVO.setComments(sections.contains(Section.COMMENTS) ? shared.getComments() : null);
+        pieChartVO.setTop10Articles(sections.contains(Section.TOP10) ? shared.getTop10Articles() : null);
+        pieChartVO.setWriting(sections.contains(Section.WRITING) ? shared.getWriting() : null);
+        pieChartVO.setDiscussedPosts(sections.contains(Section.DISCUSSED) ? shared.getDiscussedPosts() : null);
+        return pieChartVO;
+    }
 
+    /**
+     * 只读取请求的分区，未请求的分区在结果中为 null，序列化时省略
+     */
+    private Mono<PieChartVO> assemble(Set<Section> sections,
+                                      Function<SectionCache<?>, Mono<?>> loader) {
+        PieChartVO pieChartVO = new PieChartVO();
+        pieChartVO.setTags(null);
+        pieChartVO.setCategories(null);
+        pieChartVO.setArticles(null);
+        pieChartVO.setComments(null);
+        pieChartVO.setTop10Articles(null);
+        pieChartVO.setDiscussedPosts(null);
+        List<Mono<?>> loads = new ArrayList<>();
+        for (Section section : sections) {
+            loads.add(switch (section) {
+                case TAGS -> load(tagsSection, loader, pieChartVO::setTags);
+                case CATEGORIES -> load(categoriesSection, loader, pieChartVO::setCategories);
+                case HEATMAP -> load(heatmapSection, loader, heatmap -> {
+                    pieChartVO.setArticles(heatmap.articles());
+                    pieChartVO.setEnableMomentHeatmap(heatmap.enableMoment());
+                });
+                case COMMENTS -> load(commentsSection, loader, pieChartVO::setComments);
+                case TOP10 -> load(top10Section, loader, pieChartVO::setTop10Articles);
+                case WRITING -> load(writingSection, loader, pieChartVO::setWriting);
+                case DISCUSSED -> load(discussedSection, loader, pieChartVO::setDiscussedPosts);
+            });
+        }
+        return Mono.when(loads).thenReturn(pieChartVO);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> Mono<T> load(SectionCache<T> section, Function<SectionCache<?>, Mono<?>> loader,
+                                    Consumer<T> setter) {
+        return ((Mono<T>) loader.apply(section)).doOnNext(setter);
+    }
+
+    @Override
+    public Mono<RollupVO> getRollup(PostRollupCube.Query query) {
+        return Mono.fromCallable(() -> postRollupCube.query(query))
+            .flatMap(cells -> Mono.zip(
+                    resolveDisplayNames(Category.class, cells.stream().map(PostRollupCube.Cell::category),
+                        category -> category.getSpec().getDisplayName()),
+                    resolveDisplayNames(Tag.class, cells.stream().map(PostRollupCube.Cell::tag),
+                        tag -> tag.getSpec().getDisplayName()))
+                .map(tuple -> {
+                    RollupVO rollupVO = new RollupVO();
+                    rollupVO.setGroupBy(query.groupBy().stream()
+                        .map(dimension -> dimension.name().toLowerCase(Locale.ROOT))
+                        .collect(Collectors.toList()));
+                    rollupVO.setPostTotal(postRollupCube.postCount());
+                    rollupVO.setRows(cells.stream()
+                        .map(cell -> {
+                            RollupVO.Row row = new RollupVO.Row();
+                            row.setMonth(cell.month());
+                            row.setCategory(cell.category());
+                            row.setCategoryDisplayName(tuple.getT1().get(cell.category()));
+                            row.setTag(cell.tag());
+                            row.setTagDisplayName(tuple.getT2().get(cell.tag()));
+                            row.setOwner(cell.owner());
+                            row.setCount(cell.count());
+                            return row;
+                        })
+                        .collect(Collectors.toList()));
+                    return rollupVO;
+                }));
+    }
+
+    @Override
+    public Mono<List<PieChartVO.Tag>> getRelatedTags(int limit) {
+        return extensionScanner.fold(Tag.class, new ListOptions(), HashMap<String, Tag>::new,
+                (tags, tag) -> tags.put(tag.getMetadata().getName(), tag))
+            .map(tagsByName -> {
+                Map<String, List<TagCooccurrenceIndex.Neighbor>> neighbors =
+                    tagCooccurrenceIndex.topNeighbors(limit);
+                return tagsByName.values().stream()
+                    .map(tag -> {
+                        PieChartVO.Tag tagVO = new PieChartVO.Tag();
+                        tagVO.setName(tag.getSpec().getDisplayName());
+                        tagVO.setCount(defaultIfNull(tag.getStatus().getVisiblePostCount(), 0));
+                        tagVO.setRelated(neighbors.getOrDefault(tag.getMetadata().getName(), List.of())
+                            .stream()
+                            .filter(neighbor -> tagsByName.containsKey(neighbor.name()))
+                            .map(neighbor -> {
+                                PieChartVO.RelatedTag related = new PieChartVO.RelatedTag();
+                                related.setName(tagsByName.get(neighbor.name()).getSpec().getDisplayName());
+                                related.setCount(neighbor.count());
+                                return related;
+                            })
+                            .collect(Collectors.toList()));
+                        return tagVO;
+                    })
+                    .sorted(Comparator.comparing(PieChartVO.Tag::getCount).reversed())
+                    .collect(Collectors.toList());
+            });
+    }
+
+    @Override
+    public Mono<UniqueCountVO> getUniqueCommenters(LocalDate start, LocalDate end) {
+        return settingConfigGetter.getBasicsConfig()
+            .map(config -> DailyDistinctStore.Mode.parse(config.getUniqueCountMode()))
+            .onErrorReturn(IllegalArgumentException.class, DailyDistinctStore.Mode.AUTO)
+            .map(mode -> {
+                DailyDistinctStore.DistinctCount result = uniqueCommenterIndex.count(start, end, mode);
+                UniqueCountVO uniqueCountVO = new UniqueCountVO();
+                uniqueCountVO.setStart(start);
+                uniqueCountVO.setEnd(end);
+                uniqueCountVO.setCount(result.count());
+                uniqueCountVO.setApproximate(result.approximate());
+                uniqueCountVO.setRelativeError(result.relativeError());
+                return uniqueCountVO;
+            });
+    }
+
+    @Override
+    public Mono<List<PostStatsVO>> getPostStats(List<String> postNames) {
+        return Mono.fromSupplier(() -> postNames.stream()
+            .map(name -> {
+                PostStatsIndex.Stats stats = postStatsIndex.get(name);
+                if (stats == null) {
+                    return null;
+                }
+                PostStatsVO postStatsVO = new PostStatsVO();
+                postStatsVO.setName(name);
+                postStatsVO.setVisit(stats.visit());
+                postStatsVO.setComment(stats.comment());
+                postStatsVO.setUpvote(stats.upvote());
+                return postStatsVO;
+            })
+            .filter(Objects::nonNull)
+            .collect(Collectors.toList()));
+    }
+
+    /**
+     * 批量获取结果中出现的分类/标签显示名
+     */
+    private <E extends Extension> Mono<Map<String, String>> resolveDisplayNames(Class<E> type,
+                                                                              Stream<String> names,
+                                                                              Function<E, String> displayName) {
+        return Flux.fromStream(names.filter(Objects::nonNull).distinct())
+            .flatMap(name -> client.fetch(type, name))
+            .collect(HashMap::new, (map, extension) ->
+                map.put(extension.getMetadata().getName(), displayName.apply(extension)));
+    }
+
+    private Mono<List<PieChartVO.Tag>> buildTags() {
+        return extensionScanner.fold(Tag.class, new ListOptions(), ArrayList::new, (tags, tag) -> {
+            PieChartVO.Tag tagVO = new PieChartVO.Tag();
+            tagVO.setName(tag.getSpec().getDisplayName());
+            tagVO.setCount(defaultIfNull(tag.getStatus().getVisiblePostCount(), 0));
+            tags.add(tagVO);
+        });
+    }
+
+    private Mono<List<PieChartVO.Category>> buildCategories() {
+        return extensionScanner.fold(Category.class, new ListOptions(), ArrayList::new, (categories, category) -> {
+            PieChartVO.Category categoryVO = new PieChartVO.Category();
+            categoryVO.setName(category.getSpec().getDisplayName());
+            categoryVO.setTotal(defaultIfNull(category.getStatus().getVisiblePostCount(), 0));
+            categories.add(categoryVO);
+        });
+    }
+
+    private Mono<Heatmap> buildHeatmap() {
         Mono<Boolean> enableMomentHeatmapMono = settingConfigGetter.getBasicsConfig()
             .map(config -> Boolean.TRUE.equals(config.getEnableMomentHeatmap()))
             .defaultIfEmpty(false);
 
-        Mono<List<PieChartVO.Tag>> tagsMono = client.listAll(Tag.class, new ListOptions(),
-                Sort.by(Sort.Order.desc("metadata.creationTimestamp")))
-            .map(tag -> {
-                PieChartVO.Tag tagVO = new PieChartVO.Tag();
-                tagVO.setName(tag.getSpec().getDisplayName());
-                tagVO.setCount(defaultIfNull(tag.getStatus().getVisiblePostCount(), 0));
-                return tagVO;
-            })
-            .collectList();
-
-        Mono<List<PieChartVO.Category>> categoriesMono = client.listAll(Category.class, new ListOptions(),
-                Sort.by(Sort.Order.desc("metadata.creationTimestamp")))
-            .map(category -> {
-                PieChartVO.Category categoryVO = new PieChartVO.Category();
-                categoryVO.setName(category.getSpec().getDisplayName());
-                categoryVO.setTotal(defaultIfNull(category.getStatus().getVisiblePostCount(), 0));
-                return categoryVO;
-            })
-            .collectList();
-
-        // 文章按日聚合
-        Mono<Map<String, Integer>> postsByDateMono = client.listAll(Post.class, new ListOptions(),
-                Sort.by(Sort.Order.desc("metadata.creationTimestamp")))
-            .filter(post -> post.getSpec().getPublishTime() != null)
-            .collectList()
-            .map(posts -> posts.stream()
-                .collect(Collectors.groupingBy(post -> {
-                    Instant publishTime = post.getSpec().getPublishTime();
-                    if (publishTime != null) {
-                        return toDateStr(publishTime);
-                    }
-                    return toDateStr(post.getMetadata().getCreationTimestamp());
-                }, Collectors.collectingAndThen(Collectors.counting(), Long::intValue))));
-
-        // 瞬间按日聚合（受开关控制）
-        Mono<Map<String, Integer>> momentsByDateMono = enableMomentHeatmapMono
-            .flatMap(enabled -> enabled ? getMomentCountsByDate() : Mono.just(Map.of()));
+        // 文章、评论按日聚合：直接读取发布日索引和评论活跃度索引，无需扫描文章和评论
+        LocalDate today = LocalDate.now(Constants.DEFAULT_ZONE_ID);
+        Mono<Map<String, Integer>> postsByDateMono = Mono.fromSupplier(() ->
+            postPublishDayIndex.countsBetween(today.minusYears(1), today));
+        Mono<Map<String, Integer>> commentsByDateMono = Mono.fromSupplier(() ->
+            commentActivityIndex.countsBetween(today.minusYears(1), today));
+
+        return enableMomentHeatmapMono.flatMap(enableMoment -> {
+            // 瞬间按日聚合（受开关控制）
+            Mono<Map<String, Integer>> momentsByDateMono = enableMoment
+                ? getMomentCountsByDate() : Mono.just(Map.of());
+            return Mono.zip(postsByDateMono, momentsByDateMono, commentsByDateMono)
+                .publishOn(aggregationScheduler.scheduler())
+                .map(tuple -> new Heatmap(buildArticleList(tuple.getT1(), tuple.getT2(), tuple.getT3()),
+                    enableMoment));
+        });
+    }
 
-        Mono<List<PieChartVO.Comment>> commentsMono = client.listAll(Comment.class, new ListOptions(),
-                Sort.by(Sort.Order.desc("metadata.creationTimestamp")))
-            .collectList()
+    /**
+     * 评论按评论者聚合：直接读取评论者索引，无需扫描评论
+     */
+    private Mono<List<PieChartVO.Comment>> buildComments() {
+        return Mono.fromSupplier(commenterIndex::snapshot)
             .map(this::buildCommentList);
+    }
 
-        Mono<List<PieChartVO.Top10Article>> top10ArticlesMono = client.listAll(Post.class, new ListOptions(),
-                Sort.by(Sort.Order.desc("metadata.creationTimestamp")))
-            .filter(post -> post.getSpec().getPublishTime() != null)
-            .map(this::buildTop10Article)
-            .sort(Comparator.comparing(PieChartVO.Top10Article::getViews).reversed())
-            .take(10)
-            .collectList();
-
-        return Mono.zip(tagsMono, categoriesMono, postsByDateMono, momentsByDateMono,
-                commentsMono, top10ArticlesMono, enableMomentHeatmapMono)
-            .map(tuple -> {
-                pieChartVO.setTags(tuple.getT1());
-                pieChartVO.setCategories(tuple.getT2());
-
-                Map<String, Integer> postsByDate = tuple.getT3();
-                Map<String, Integer> momentsByDate = tuple.getT4();
-                boolean enableMoment = tuple.getT7();
-
-                pieChartVO.setArticles(buildArticleList(postsByDate, momentsByDate));
-                pieChartVO.setComments(tuple.getT5());
-                pieChartVO.setTop10Articles(tuple.getT6());
-                pieChartVO.setEnableMomentHeatmap(enableMoment);
-                return pieChartVO;
-            });
+    /**
+     * 只保留访问量最高的 10 篇，小顶堆容量固定
+     */
+    private Mono<List<PieChartVO.Top10Article>> buildTop10Articles() {
+        return extensionScanner.fold(Post.class,
+                publishedPostOptions(),
+                () -> new PriorityQueue<>(TOP_ARTICLE_LIMIT + 1,
+                    Comparator.comparing(PieChartVO.Top10Article::getViews)),
+                (PriorityQueue<PieChartVO.Top10Article> heap, Post post) -> {
+                    heap.offer(buildTop10Article(post));
+                    if (heap.size() > TOP_ARTICLE_LIMIT) {
+                        heap.poll();
+                    }
+                })
+            .map(heap -> heap.stream()
+                .sorted(Comparator.comparing(PieChartVO.Top10Article::getViews).reversed())
+                .collect(Collectors.toList()));
+    }
+
+    /**
+     * 评论数按评论变更增量维护，这里只取前 10 篇；未发布或私密的文章不在固定链接索引中，会被跳过
+     */
+    private Mono<List<PieChartVO.DiscussedPost>> buildDiscussedPosts() {
+        return Mono.fromSupplier(() -> commentActivityIndex.topPosts(TOP_ARTICLE_LIMIT,
+                postName -> postPermalinkIndex.get(postName) != null).stream()
+            .map(postComments -> {
+                PostPermalinkIndex.Entry entry = postPermalinkIndex.get(postComments.postName());
+                PieChartVO.DiscussedPost discussedPost = new PieChartVO.DiscussedPost();
+                discussedPost.setName(entry == null ? postComments.postName() : entry.title());
+                discussedPost.setPostName(postComments.postName());
+                discussedPost.setPermalink(entry == null ? null : entry.permalink());
+                discussedPost.setCount(postComments.count());
+                return discussedPost;
+            })
+            .collect(Collectors.toList()));
+    }
+
+    /**
+     * 字数按文章发布快照增量维护，这里只读取汇总
+     */
+    private Mono<PieChartVO.Writing> buildWriting() {
+        return Mono.fromSupplier(() -> buildWriting(postWordCountIndex.snapshot(WRITING_MONTHS)));
     }
 
     /**
      * 动态查询 moments 并按日期聚合计数
      */
     private Mono<Map<String, Integer>> getMomentCountsByDate() {
+        return streamMoments()
+            .publishOn(aggregationScheduler.scheduler())
+            .reduceWith(HashMap<String, Integer>::new, (map, moment) -> {
+                map.merge(moment.date(), 1, Integer::sum);
+                return map;
+            })
+            .map(map -> (Map<String, Integer>) map)
+            .onErrorResume(e -> {
+                log.warn("查询瞬间数据失败（可能未安装 moments 插件）: {}", e.getMessage());
+                return Mono.just(Map.of());
+            });
+    }
+
+    /**
+     * 按块分页读取公开已审核的瞬间名称再逐条读取，内存中只保留一页名称
+     */
+    @Override
+    public Flux<MomentRelease> streamMoments() {
         ListOptions listOptions = new ListOptions();
         listOptions.setFieldSelector(FieldSelector.of(Queries.and(
             Queries.equal("spec.visible", "PUBLIC"),
             Queries.equal("spec.approved", "true")
         )));
 
-        return Flux.fromIterable(client.indexedQueryEngine().retrieveAll(
-                MOMENT_GVK,
-                listOptions,
-                Sort.by(Sort.Order.desc("spec.releaseTime"))))
-            .flatMap(name -> client.fetch(MOMENT_GVK, name))
+        return extensionScanner.scanNames(MOMENT_GVK, listOptions, ExtensionScanner.DEFAULT_CHUNK_SIZE)
+            .concatMapIterable(names -> names)
+            .flatMapSequential(name -> client.fetch(MOMENT_GVK, name), MOMENT_FETCH_CONCURRENCY)
             .filter(this::isPublicApprovedMoment)
-            .collectList()
-            .map(moments -> {
-                Map<String, Integer> map = new HashMap<>();
-                for (Unstructured moment : moments) {
-                    extractMomentDate(moment).ifPresent(dateStr ->
-                        map.merge(dateStr, 1, Integer::sum));
-                }
-                return map;
-            })
-            .onErrorResume(e -> {
-                log.warn("查询瞬间数据失败（可能未安装 moments 插件）: {}", e.getMessage());
-                return Mono.just(Map.of());
-            });
+            .flatMap(moment -> Mono.justOrEmpty(extractMomentDate(moment)
+                .map(date -> new MomentRelease(moment.getMetadata().getName(), date))));
     }
 
     /**
@@ -228,7 +518,8 @@ public class StatisticalServiceImpl implements StatisticalService {
     }
 
     private List<PieChartVO.Article> buildArticleList(Map<String, Integer> postsByDate,
-                                                       Map<String, Integer> momentsByDate) {
+                                                       Map<String, Integer> momentsByDate,
+                                                       Map<String, Integer> commentsByDate) {
         LocalDate today = LocalDate.now(Constants.DEFAULT_ZONE_ID);
         LocalDate startDate = today.minusYears(1);
 
@@ -244,34 +535,59 @@ public class StatisticalServiceImpl implements StatisticalService {
                 articleVO.setArticleTotal(articleCount);
                 articleVO.setMomentTotal(momentCount);
                 articleVO.setTotal(articleCount + momentCount);
+                articleVO.setCommentTotal(commentsByDate.getOrDefault(dateStr, 0));
                 return articleVO;
             })
             .sorted(Comparator.comparing(PieChartVO.Article::getDate).reversed())
             .collect(Collectors.toList());
     }
 
-    private List<PieChartVO.Comment> buildCommentList(List<Comment> comments) {
-        Map<String, List<Comment>> commentsByUser = comments.stream()
-            .filter(comment -> comment.getSpec().getOwner() != null)
-            .collect(Collectors.groupingBy(comment -> {
-                String name = comment.getSpec().getOwner().getName();
-                return name != null ? name : "unknown";
-            }));
+    private PieChartVO.Writing buildWriting(PostWordCountIndex.Snapshot snapshot) {
+        PieChartVO.Writing writing = new PieChartVO.Writing();
+        writing.setTotalWords(snapshot.totalWords());
+        writing.setPostCount(snapshot.postCount());
+        writing.setAverageWords(snapshot.postCount() == 0 ? 0
+            : (int) Math.round((double) snapshot.totalWords() / snapshot.postCount()));
+        writing.setMonths(snapshot.months().stream()
+            .map(monthTotal -> {
+                PieChartVO.WritingMonth month = new PieChartVO.WritingMonth();
+                month.setMonth(monthTotal.month().toString());
+                month.setWords(monthTotal.words());
+                month.setPosts(monthTotal.posts());
+                return month;
+            })
+            .collect(Collectors.toList()));
+        return writing;
+    }
 
-        return commentsByUser.entrySet().stream()
-            .map(entry -> {
-                Comment firstComment = entry.getValue().getFirst();
+    private List<PieChartVO.Comment> buildCommentList(List<CommenterIndex.Commenter> commenters) {
+        return commenters.stream()
+            .map(commenter -> {
                 PieChartVO.Comment commentVO = new PieChartVO.Comment();
-                commentVO.setName(firstComment.getSpec().getOwner().getName());
-                commentVO.setEmail(entry.getKey());
-                commentVO.setUsername(firstComment.getSpec().getOwner().getDisplayName());
-                commentVO.setCount(entry.getValue().size());
+                commentVO.setName(commenter.name());
+                commentVO.setEmail(commenter.name());
+                commentVO.setUsername(commenter.displayName());
+                commentVO.setCount(commenter.count());
                 return commentVO;
             })
-            .sorted(Comparator.comparing(PieChartVO.Comment::getCount).reversed())
             .collect(Collectors.toList());
     }
 
+    /**
+     * 已发布、公开且未删除的文章，过滤条件全部走 Halo 内置索引
+     */
+    static ListOptions publishedPostOptions() {
+        ListOptions listOptions = new ListOptions();
+        listOptions.setLabelSelector(LabelSelector.builder()
+            .eq(Post.PUBLISHED_LABEL, "true")
+            .build());
+        listOptions.setFieldSelector(FieldSelector.of(Queries.and(
+            Queries.equal("spec.deleted", "false"),
+            Queries.equal("spec.visible", Post.VisibleEnum.PUBLIC.name())
+        )));
+        return listOptions;
+    }
+
     private PieChartVO.Top10Article buildTop10Article(Post post) {
         PieChartVO.Top10Article top10Article = new PieChartVO.Top10Article();
         top10Article.setName(post.getSpec().getTitle());
@@ -295,4 +611,67 @@ public class StatisticalServiceImpl implements StatisticalService {
         return top10Article;
     }
 
+    private record Heatmap(List<PieChartVO.Article> articles, boolean enableMoment) {}
+
+    private record CachedView(List<Object> sources, PieChartVO view) {
+
+        boolean sameSources(List<Object> other) {
+            for (int i = 0; i < sources.size(); i++) {
+                if (sources.get(i) != other.get(i)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    /**
+     * 单个分区的缓存：过期后下一次访问时重建，重建期间的并发请求共享同一次构建
+     * 每次重建产生新的数据实例，调用方可以用实例判断数据是否变化
+     */
+    private final class SectionCache<T> {
+        private final Supplier<Mono<T>> builder;
+        private volatile T value;
+        private volatile Instant builtAt;
+        private Mono<T> building;
+
+        SectionCache(Supplier<Mono<T>> builder) {
+            this.builder = builder;
+        }
+
+        Optional<T> peek() {
+            T current = value;
+            Instant at = builtAt;
+            if (current == null || at == null
+                || at.plus(cachePolicy.current().chartCacheTtl()).isBefore(Instant.now())) {
+                return Optional.empty();
+            }
+            return Optional.of(current);
+        }
+
+        Mono<T> get() {
+            return peek().map(Mono::just).orElseGet(this::refresh);
+        }
+
+        /**
+         * 在统计线程池上构建，各分区同时构建时并行数受线程池大小限制
+         */
+        synchronized Mono<T> refresh() {
+            if (building == null) {
+                building = Mono.defer(builder)
+                    .subscribeOn(aggregationScheduler.scheduler())
+                    .doOnNext(result -> {
+                        value = result;
+                        builtAt = Instant.now();
+                    })
+                    .doFinally(signal -> clearBuilding())
+                    .cache();
+            }
+            return building;
+        }
+
+        private synchronized void clearBuilding() {
+            building = null;
+        }
+    }
 }
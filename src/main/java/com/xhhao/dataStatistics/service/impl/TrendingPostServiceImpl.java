@@ -0,0 +1,102 @@
+package com.xhhao.dataStatistics.service.impl;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.stereotype.Component;
+
+import com.xhhao.dataStatistics.common.Constants;
+import com.xhhao.dataStatistics.config.CachePolicy;
+import com.xhhao.dataStatistics.index.PostPermalinkIndex;
+import com.xhhao.dataStatistics.service.TrendingPostService;
+import com.xhhao.dataStatistics.service.UmamiService;
+import com.xhhao.dataStatistics.vo.TrendingPostVO;
+import com.xhhao.dataStatistics.vo.UmamiMetricVO;
+
+import cn.hutool.cache.CacheUtil;
+import cn.hutool.cache.impl.TimedCache;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+
+/**
+ * 每个页面地址在固定链接索引中查找一次，同一文章的多个地址（带查询参数、末尾斜杠等）浏览量合并；
+ * 每个天数窗口缓存前 {@link #MAX_LIMIT} 篇，不同条数的请求共用同一结果
+ *
+ * @author Handsome
+ * @since 1.0.6
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TrendingPostServiceImpl implements TrendingPostService {
+
+    /**
+     * 向 Umami 请求的页面数，需覆盖首页、分类页等非文章页面
+     */
+    private static final int PAGE_FETCH_LIMIT = 500;
+
+    private final UmamiService umamiService;
+    private final PostPermalinkIndex postPermalinkIndex;
+    private final CachePolicy cachePolicy;
+
+    private final TimedCache<Integer, List<TrendingPostVO>> trendingCache = CacheUtil.newTimedCache(
+        Duration.ofMinutes(Constants.Cache.UMAMI_METRICS_CACHE_MINUTES).toMillis());
+
+    @Override
+    public Mono<List<TrendingPostVO>> getTrendingPosts(int days, int limit) {
+        List<TrendingPostVO> cached = trendingCache.get(days, false);
+        Mono<List<TrendingPostVO>> ranked = cached != null
+            ? Mono.just(cached)
+            : fetchPageViews(days)
+                .map(this::rank)
+                .doOnNext(posts -> trendingCache.put(days, posts,
+                    cachePolicy.current().umamiCacheTtl().toMillis()));
+        return ranked.map(posts -> posts.subList(0, Math.min(limit, posts.size())));
+    }
+
+    @Override
+    public void clearCache() {
+        trendingCache.clear();
+    }
+
+    /**
+     * 旧版 Umami 的页面指标为 url，新版改名为 path；url 不可用或无数据时改用 path
+     */
+    private Mono<List<UmamiMetricVO>> fetchPageViews(int days) {
+        return umamiService.getRecentMetric(null, "url", days, PAGE_FETCH_LIMIT)
+            .filter(metrics -> !metrics.isEmpty())
+            .onErrorResume(e -> {
+                log.debug("获取 url 指标失败，改用 path: {}", e.getMessage());
+                return Mono.empty();
+            })
+            .switchIfEmpty(Mono.defer(() -> umamiService.getRecentMetric(null, "path", days, PAGE_FETCH_LIMIT)));
+    }
+
+    private List<TrendingPostVO> rank(List<UmamiMetricVO> metrics) {
+        Map<String, TrendingPostVO> byPost = new HashMap<>();
+        for (UmamiMetricVO metric : metrics) {
+            PostPermalinkIndex.Entry entry = postPermalinkIndex.lookup(metric.getName());
+            if (entry == null) {
+                continue;
+            }
+            long views = metric.getValue() == null ? 0 : metric.getValue();
+            TrendingPostVO post = byPost.computeIfAbsent(entry.name(), name -> {
+                TrendingPostVO created = new TrendingPostVO();
+                created.setName(name);
+                created.setTitle(entry.title());
+                created.setPermalink(entry.permalink());
+                created.setViews(0L);
+                return created;
+            });
+            post.setViews(post.getViews() + views);
+        }
+        return byPost.values().stream()
+            .sorted(Comparator.comparing(TrendingPostVO::getViews).reversed())
+            .limit(MAX_LIMIT)
+            .toList();
+    }
+}
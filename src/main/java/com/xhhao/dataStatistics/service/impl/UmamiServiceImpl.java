@@ -1,7 +1,14 @@
 package com.xhhao.dataStatistics.service.impl;
 
 import java.time.Duration;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 import java.util.function.Function;
 
 import org.springframework.http.HttpHeaders;
@@ -10,17 +17,24 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.reactive.function.client.WebClientRequestException;
 
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.xhhao.dataStatistics.archive.DailyStatsFile;
+import com.xhhao.dataStatistics.archive.UmamiDailyArchive;
 import com.xhhao.dataStatistics.common.Constants;
+import com.xhhao.dataStatistics.config.CachePolicy;
+import com.xhhao.dataStatistics.config.HttpClientProfiles;
 import com.xhhao.dataStatistics.service.SettingConfigGetter;
 import com.xhhao.dataStatistics.service.UmamiService;
+import com.xhhao.dataStatistics.vo.UmamiMetricVO;
+import com.xhhao.dataStatistics.vo.UmamiRealtimeVO;
+import com.xhhao.dataStatistics.vo.UmamiStatsVO;
+import com.xhhao.dataStatistics.vo.UmamiWebsiteVO;
 
 import cn.hutool.cache.CacheUtil;
 import cn.hutool.cache.impl.TimedCache;
 import cn.hutool.core.util.StrUtil;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.util.retry.Retry;
 
@@ -30,14 +44,31 @@ import reactor.util.retry.Retry;
 public class UmamiServiceImpl implements UmamiService {
 
     private final SettingConfigGetter settingConfigGetter;
-    private final WebClient.Builder webClientBuilder;
-    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpClientProfiles httpClientProfiles;
+    private final UmamiDailyArchive umamiDailyArchive;
+    private final CachePolicy cachePolicy;
 
-    private static final long TOKEN_CACHE_EXPIRE_MS = Duration.ofHours(Constants.Cache.UMAMI_TOKEN_CACHE_HOURS).toMillis();
-    private final TimedCache<String, String> tokenCache = CacheUtil.newTimedCache(TOKEN_CACHE_EXPIRE_MS);
+    /**
+     * 这些区间的整天数据从本地归档读取
+     */
+    private static final Set<String> ARCHIVED_TYPES = Set.of("monthly", "quarterly", "yearly");
+
+    /**
+     * 缓存时间在写入时按当前缓存设置逐条指定，修改设置后对新写入的条目立即生效
+     */
+    private final TimedCache<String, String> tokenCache = CacheUtil.newTimedCache(
+        Duration.ofHours(Constants.Cache.UMAMI_TOKEN_CACHE_HOURS).toMillis());
 
     private static final String CACHE_KEY_PREFIX = "umami_token_";
 
+    private final TimedCache<String, List<UmamiMetricVO>> metricsCache = CacheUtil.newTimedCache(
+        Duration.ofMinutes(Constants.Cache.UMAMI_METRICS_CACHE_MINUTES).toMillis());
+
+    /**
+     * 单个响应允许缓冲的最大字节数，超出时报错而不是无限制占用内存
+     */
+    private static final int MAX_RESPONSE_BYTES = 2 * 1024 * 1024;
+
     /**
      * 通用重试策略
      */
@@ -61,8 +92,7 @@ public class UmamiServiceImpl implements UmamiService {
                     if (StrUtil.isBlank(baseUrl)) {
                         return Mono.error(new IllegalStateException("Umami 站点地址未配置"));
                     }
-                    WebClient client = webClientBuilder
-                        .baseUrl(baseUrl)
+                    WebClient client = newClientBuilder(baseUrl)
                         .defaultHeader(HttpHeaders.AUTHORIZATION, "Bearer " + token)
                         .build();
                     return withRetry(requestBuilder.apply(client), operationName);
@@ -88,7 +118,8 @@ public class UmamiServiceImpl implements UmamiService {
                 log.debug("缓存未命中，请求新的 Umami token");
                 return requestToken(config)
                     .map(response -> {
-                        tokenCache.put(cacheKey, response.token());
+                        tokenCache.put(cacheKey, response.token(),
+                            cachePolicy.current().umamiTokenTtl().toMillis());
                         return response.token();
                     });
             });
@@ -100,7 +131,7 @@ public class UmamiServiceImpl implements UmamiService {
             return Mono.error(new IllegalStateException("Umami 站点地址为空"));
         }
         
-        WebClient client = webClientBuilder.baseUrl(baseUrl).build();
+        WebClient client = newClientBuilder(baseUrl).build();
         LoginRequest request = new LoginRequest(config.getUserName(), config.getUserPassWord());
 
         return withRetry(
@@ -116,6 +147,15 @@ public class UmamiServiceImpl implements UmamiService {
     }
 
 
+    /**
+     * 每次基于 Umami 专用客户端新建 Builder 再设置 baseUrl 和认证头，避免默认请求头在共享 Builder 上不断累加
+     */
+    private WebClient.Builder newClientBuilder(String baseUrl) {
+        return httpClientProfiles.builder(HttpClientProfiles.Upstream.UMAMI)
+            .baseUrl(baseUrl)
+            .codecs(configurer -> configurer.defaultCodecs().maxInMemorySize(MAX_RESPONSE_BYTES));
+    }
+
     private String normalizeBaseUrl(String siteUrl) {
         return StrUtil.isBlank(siteUrl) ? "" : StrUtil.removeSuffix(siteUrl.trim(), "/");
     }
@@ -126,19 +166,19 @@ public class UmamiServiceImpl implements UmamiService {
 
 
     @Override
-    public Mono<JsonNode> getWebsites() {
+    public Mono<List<UmamiWebsiteVO>> getWebsites() {
         return executeApiRequest(
             client -> client.get()
                 .uri("/api/websites")
                 .retrieve()
-                .bodyToMono(String.class)
-                .flatMap(body -> parseJsonBody(body, "获取 Umami 网站列表")),
+                .bodyToMono(UmamiWebsiteVO.Page.class)
+                .map(UmamiWebsiteVO.Page::data),
             "获取 Umami 网站列表"
         );
     }
 
     @Override
-    public Mono<JsonNode> getRealtimeData(String websiteId) {
+    public Mono<UmamiRealtimeVO> getRealtimeData(String websiteId) {
         return resolveWebsiteId(websiteId)
             .flatMap(id -> executeApiRequest(
                 client -> client.get()
@@ -147,45 +187,143 @@ public class UmamiServiceImpl implements UmamiService {
                         .queryParam("timezone", Constants.DEFAULT_TIMEZONE)
                         .build(id))
                     .retrieve()
-                    .bodyToMono(String.class)
-                    .flatMap(body -> parseJsonBody(body, "获取实时数据")),
+                    .bodyToMono(UmamiRealtimeVO.class),
                 "获取实时数据"
             ));
     }
 
     @Override
-    public Mono<JsonNode> getVisitStatistics(String websiteId, String type) {
+    public Mono<UmamiStatsVO> getVisitStatistics(String websiteId, String type) {
         return resolveWebsiteId(websiteId)
             .flatMap(id -> {
                 LocalDateTime now = LocalDateTime.now(Constants.DEFAULT_ZONE_ID);
-                var timeRange = switch (type.toLowerCase()) {
-                    case "daily" -> new TimeRange(now.minusDays(1), "day");
-                    case "weekly" -> new TimeRange(now.minusDays(7), "day");
-                    case "monthly" -> new TimeRange(now.minusDays(30), "day");
-                    case "quarterly" -> new TimeRange(now.minusDays(90), "month");
-                    case "yearly" -> new TimeRange(now.minusDays(365), "month");
-                    default -> null;
-                };
-                
+                var timeRange = resolveTimeRange(type, now);
                 if (timeRange == null) {
                     return Mono.error(new IllegalArgumentException("不支持的统计类型: " + type));
                 }
 
                 long startAt = timeRange.start.atZone(Constants.DEFAULT_ZONE_ID).toInstant().toEpochMilli();
                 long endAt = now.atZone(Constants.DEFAULT_ZONE_ID).toInstant().toEpochMilli();
-                
+
+                if (ARCHIVED_TYPES.contains(type.toLowerCase(Locale.ROOT))) {
+                    Mono<UmamiStatsVO> archived = fromArchive(id, timeRange.start.toLocalDate(), now);
+                    if (archived != null) {
+                        return archived;
+                    }
+                }
                 return fetchVisitStatistics(id, startAt, endAt, timeRange.unit);
             });
     }
+
+    /**
+     * 已归档的整天从本地汇总，只向 Umami 请求今天的部分，Umami 清理历史数据后仍可统计；区间未完全归档时返回 null
+     * <p>浏览量、访问次数可按天相加，结果精确。独立访客数不能按天相加，这里返回每日访客数之和，
+     * 同一访客在多天访问会被重复计数，以 visitorsSummedDaily 标明。</p>
+     */
+    private Mono<UmamiStatsVO> fromArchive(String websiteId, LocalDate startDay, LocalDateTime now) {
+        LocalDate today = now.toLocalDate();
+        Optional<DailyStatsFile.Totals> totals = umamiDailyArchive.file(websiteId)
+            .sum(startDay, today.minusDays(1));
+        if (totals.isEmpty()) {
+            return null;
+        }
+        long todayStart = today.atStartOfDay(Constants.DEFAULT_ZONE_ID).toInstant().toEpochMilli();
+        long endAt = now.atZone(Constants.DEFAULT_ZONE_ID).toInstant().toEpochMilli();
+        return fetchVisitStatistics(websiteId, todayStart, endAt, "hour")
+            .map(todayStats -> {
+                UmamiStatsVO merged = new UmamiStatsVO();
+                merged.setPageviews(totals.get().pageviews() + valueOf(todayStats.getPageviews()));
+                merged.setVisits(totals.get().visits() + valueOf(todayStats.getVisits()));
+                merged.setVisitors(totals.get().visitors() + valueOf(todayStats.getVisitors()));
+                merged.setVisitorsSummedDaily(true);
+                return merged;
+            });
+    }
+
+    private static long valueOf(Long value) {
+        return value == null ? 0 : value;
+    }
+
+    @Override
+    public Mono<UmamiStatsVO> getStatisticsBetween(String websiteId, long startAt, long endAt) {
+        return fetchVisitStatistics(websiteId, startAt, endAt, "day");
+    }
+
+    private static TimeRange resolveTimeRange(String type, LocalDateTime now) {
+        return switch (type.toLowerCase(Locale.ROOT)) {
+            case "daily" -> new TimeRange(now.minusDays(1), "day");
+            case "weekly" -> new TimeRange(now.minusDays(7), "day");
+            case "monthly" -> new TimeRange(now.minusDays(30), "day");
+            case "quarterly" -> new TimeRange(now.minusDays(90), "month");
+            case "yearly" -> new TimeRange(now.minusDays(365), "month");
+            default -> null;
+        };
+    }
+
+    @Override
+    public Mono<Map<String, List<UmamiMetricVO>>> getMetrics(String websiteId, List<String> types,
+                                                             String range, int limit) {
+        LocalDateTime now = LocalDateTime.now(Constants.DEFAULT_ZONE_ID);
+        TimeRange timeRange = resolveTimeRange(range, now);
+        if (timeRange == null) {
+            return Mono.error(new IllegalArgumentException("不支持的统计类型: " + range));
+        }
+        long startAt = timeRange.start.atZone(Constants.DEFAULT_ZONE_ID).toInstant().toEpochMilli();
+        long endAt = now.atZone(Constants.DEFAULT_ZONE_ID).toInstant().toEpochMilli();
+
+        // 各指标并发请求，共用同一个连接池；按请求顺序组装结果
+        return resolveWebsiteId(websiteId)
+            .flatMap(id -> Flux.fromIterable(types)
+                .flatMapSequential(type -> fetchMetric(id, type, range, startAt, endAt, limit)
+                    .map(metrics -> Map.entry(type, metrics)))
+                .collect(LinkedHashMap::new, (map, entry) -> map.put(entry.getKey(), entry.getValue())));
+    }
+
+    @Override
+    public Mono<List<UmamiMetricVO>> getRecentMetric(String websiteId, String type, int days, int limit) {
+        LocalDateTime now = LocalDateTime.now(Constants.DEFAULT_ZONE_ID);
+        long startAt = now.minusDays(days).atZone(Constants.DEFAULT_ZONE_ID).toInstant().toEpochMilli();
+        long endAt = now.atZone(Constants.DEFAULT_ZONE_ID).toInstant().toEpochMilli();
+        return resolveWebsiteId(websiteId)
+            .flatMap(id -> fetchMetric(id, type, days + "d", startAt, endAt, limit));
+    }
+
+    /**
+     * 单个指标的结果按 (websiteId, 指标, 区间, 条数) 缓存
+     */
+    private Mono<List<UmamiMetricVO>> fetchMetric(String websiteId, String type, String range,
+                                                  long startAt, long endAt, int limit) {
+        String cacheKey = String.join("|", websiteId, type, range, String.valueOf(limit));
+        List<UmamiMetricVO> cached = metricsCache.get(cacheKey, false);
+        if (cached != null) {
+            return Mono.just(cached);
+        }
+        return executeApiRequest(
+            client -> client.get()
+                .uri(uriBuilder -> uriBuilder
+                    .path("/api/websites/{websiteId}/metrics")
+                    .queryParam("startAt", startAt)
+                    .queryParam("endAt", endAt)
+                    .queryParam("type", type)
+                    .queryParam("limit", limit)
+                    .queryParam("timezone", Constants.DEFAULT_TIMEZONE)
+                    .build(websiteId))
+                .retrieve()
+                .bodyToFlux(UmamiMetricVO.class)
+                .collectList(),
+            "获取 " + type + " 指标"
+        ).doOnNext(metrics -> metricsCache.put(cacheKey, List.copyOf(metrics),
+            cachePolicy.current().umamiCacheTtl().toMillis()));
+    }
     
     private record TimeRange(LocalDateTime start, String unit) {}
 
     @Override
-    public Mono<JsonNode> getRealtimeVisitStatistics(String websiteId) {
+    public Mono<UmamiRealtimeVO> getRealtimeVisitStatistics(String websiteId) {
         return resolveWebsiteId(websiteId).flatMap(this::getRealtimeData);
     }
     
-    private Mono<JsonNode> fetchVisitStatistics(String websiteId, long startAt, long endAt, String unit) {
+    private Mono<UmamiStatsVO> fetchVisitStatistics(String websiteId, long startAt, long endAt, String unit) {
         return executeApiRequest(
             client -> client.get()
                 .uri(uriBuilder -> uriBuilder
@@ -196,14 +334,19 @@ public class UmamiServiceImpl implements UmamiService {
                     .queryParam("timezone", Constants.DEFAULT_TIMEZONE)
                     .build(websiteId))
                 .retrieve()
-                .bodyToMono(String.class)
-                .flatMap(body -> parseJsonBody(body, "获取访问统计")),
+                .bodyToMono(UmamiStatsVO.class),
             "获取访问统计"
         );
     }
 
 
-    private Mono<String> resolveWebsiteId(String websiteId) {
+    @Override
+    public void clearCache() {
+        metricsCache.clear();
+    }
+
+    @Override
+    public Mono<String> resolveWebsiteId(String websiteId) {
         if (StrUtil.isNotBlank(websiteId)) {
             return Mono.just(websiteId);
         }
@@ -213,14 +356,11 @@ public class UmamiServiceImpl implements UmamiService {
                     return Mono.just(config.getWebsiteId());
                 }
                 return getWebsites()
-                    .map(json -> {
-                        if (json.isArray() && !json.isEmpty()) {
-                            JsonNode first = json.get(0);
-                            return first.has("id") ? first.get("id").asText()
-                                : first.has("websiteId") ? first.get("websiteId").asText() : null;
-                        }
-                        throw new IllegalStateException("未找到可用的网站");
-                    });
+                    .map(websites -> websites.stream()
+                        .map(UmamiWebsiteVO::getId)
+                        .filter(StrUtil::isNotBlank)
+                        .findFirst()
+                        .orElseThrow(() -> new IllegalStateException("未找到可用的网站")));
             });
     }
 
@@ -229,13 +369,4 @@ public class UmamiServiceImpl implements UmamiService {
             .map(config -> normalizeBaseUrl(config.getSiteUrl()))
             .defaultIfEmpty("");
     }
-
-    private Mono<JsonNode> parseJsonBody(String body, String operationName) {
-        try {
-            return Mono.just(objectMapper.readTree(body));
-        } catch (Exception e) {
-            return Mono.error(new IllegalStateException(operationName + "响应解析失败: " + e.getMessage(), e));
-        }
-    }
 }
-
@@ -3,13 +3,16 @@ package com.xhhao.dataStatistics.service.impl;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
 
 import org.springframework.stereotype.Component;
-import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.reactive.function.client.WebClientRequestException;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.xhhao.dataStatistics.config.CachePolicy;
+import com.xhhao.dataStatistics.config.HttpClientProfiles;
 import com.xhhao.dataStatistics.service.SettingConfigGetter;
 import com.xhhao.dataStatistics.service.UptimeKumaService;
 
@@ -17,6 +20,7 @@ import cn.hutool.core.text.StrFormatter;
 import cn.hutool.core.util.StrUtil;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.util.retry.Retry;
 
@@ -25,33 +29,136 @@ import reactor.util.retry.Retry;
 @RequiredArgsConstructor
 public class UptimeKumaServiceImpl implements UptimeKumaService {
 
+    /**
+     * 单个状态页（含重试）的最长等待时间，超时的页面计为不可达，不拖慢其它页面
+     */
+    private static final Duration PAGE_TIMEOUT = Duration.ofSeconds(8);
+
     private final SettingConfigGetter settingConfigGetter;
-    private final WebClient webClient;
+    private final HttpClientProfiles httpClientProfiles;
+    private final CachePolicy cachePolicy;
     private final ObjectMapper objectMapper = new ObjectMapper();
 
+    /**
+     * 解析后的状态页列表，配置内容变化时才重新解析
+     */
+    private volatile ParsedPages parsedPages;
+
+    /**
+     * 最近一次成功合并的状态，缓存期内且状态页配置未变时直接返回
+     */
+    private volatile CachedStatus cachedStatus;
+
     @Override
     public Mono<UptimeStatus> getStatusPage() {
         return settingConfigGetter.getUptimeKumaConfig()
             .flatMap(config -> {
-                var statusPageUrl = StrUtil.trim(config.getUptimeUrl());
-                if (StrUtil.isBlank(statusPageUrl)) {
+                List<StatusPage> pages;
+                try {
+                    pages = parsePages(config.getUptimeUrl());
+                } catch (IllegalStateException e) {
+                    return Mono.error(e);
+                }
+                if (pages.isEmpty()) {
                     log.debug("Uptime Kuma 状态页 URL 未配置");
                     return Mono.error(new IllegalStateException("Uptime Kuma 状态页 URL 未配置，请在插件设置中配置状态页 URL"));
                 }
 
-                try {
-                    var apiUrl = buildHeartbeatApiUrl(statusPageUrl);
-                    return requestStatusData(apiUrl)
-                        .map(status -> new UptimeKumaService.UptimeStatus(status, statusPageUrl));
-                } catch (URISyntaxException e) {
-                    return Mono.error(new IllegalStateException("状态页 URL 不合法: " + e.getMessage(), e));
+                String raw = StrUtil.nullToEmpty(config.getUptimeUrl());
+                CachedStatus cached = cachedStatus;
+                long ttlMillis = cachePolicy.current().uptimeCacheTtl().toMillis();
+                if (cached != null && cached.raw().equals(raw)
+                    && System.currentTimeMillis() - cached.fetchedAt() < ttlMillis) {
+                    return Mono.just(cached.status());
                 }
+
+                // 各状态页并发请求；共用 Uptime Kuma 专用连接池，同一主机的连接会被复用
+                return Flux.fromIterable(pages)
+                    .flatMapSequential(this::fetchPageStatus)
+                    .collectList()
+                    .flatMap(this::mergeStatus)
+                    .doOnNext(status -> cachedStatus = new CachedStatus(raw, status, System.currentTimeMillis()));
+            });
+    }
+
+    @Override
+    public void clearCache() {
+        cachedStatus = null;
+    }
+
+    private Mono<PageStatus> fetchPageStatus(StatusPage page) {
+        return requestStatusData(page.apiUrl())
+            .timeout(PAGE_TIMEOUT)
+            .map(counts -> new PageStatus(page.statusPageUrl(), toStatus(counts[0], counts[1]),
+                counts[0], counts[1], null))
+            .onErrorResume(e -> {
+                log.warn("获取 Uptime Kuma 状态页 {} 失败: {}", page.statusPageUrl(), e.getMessage());
+                return Mono.just(new PageStatus(page.statusPageUrl(), 0, 0, 0,
+                    StrUtil.blankToDefault(e.getMessage(), e.getClass().getSimpleName())));
             });
     }
 
-    private Mono<Integer> requestStatusData(String apiUrl) {
+    /**
+     * 按所有可达页面的监控项合并状态；有页面不可达时最多视为部分异常
+     */
+    private Mono<UptimeStatus> mergeStatus(List<PageStatus> pages) {
+        List<PageStatus> reachable = pages.stream().filter(page -> page.error() == null).toList();
+        if (reachable.isEmpty()) {
+            return Mono.error(new IllegalStateException("所有 Uptime Kuma 状态页均请求失败: " + pages.get(0).error()));
+        }
+        int up = reachable.stream().mapToInt(PageStatus::up).sum();
+        int total = reachable.stream().mapToInt(PageStatus::total).sum();
+        int status = toStatus(up, total);
+        if (status == 1 && reachable.size() < pages.size()) {
+            status = 2;
+        }
+        return Mono.just(new UptimeStatus(status, pages.get(0).statusPageUrl(), pages));
+    }
+
+    /**
+     * 1-所有业务正常，0-全部业务异常，2-部分业务异常；没有任何监控项时无法确认正常，按全部异常处理
+     */
+    private static int toStatus(int up, int total) {
+        if (total == 0) {
+            return 0;
+        }
+        if (up == total) {
+            return 1;
+        }
+        if (up == 0) {
+            return 0;
+        }
+        return 2;
+    }
+
+    private List<StatusPage> parsePages(String uptimeUrl) {
+        String raw = StrUtil.nullToEmpty(uptimeUrl);
+        ParsedPages cached = parsedPages;
+        if (cached != null && cached.raw().equals(raw)) {
+            return cached.pages();
+        }
+        List<StatusPage> pages = new ArrayList<>();
+        // 每行一个地址，也兼容逗号分隔
+        for (String url : StrUtil.splitTrim(raw.replace('\n', ','), ',').stream().distinct().toList()) {
+            try {
+                pages.add(new StatusPage(url, buildHeartbeatApiUrl(url)));
+            } catch (URISyntaxException e) {
+                throw new IllegalStateException("状态页 URL 不合法: " + e.getMessage(), e);
+            }
+        }
+        parsedPages = new ParsedPages(raw, List.copyOf(pages));
+        return parsedPages.pages();
+    }
+
+    private record StatusPage(String statusPageUrl, String apiUrl) {}
+
+    private record ParsedPages(String raw, List<StatusPage> pages) {}
+
+    private record CachedStatus(String raw, UptimeStatus status, long fetchedAt) {}
+
+    private Mono<int[]> requestStatusData(String apiUrl) {
         log.debug("请求 Uptime Kuma API: {}", apiUrl);
-        return webClient
+        return httpClientProfiles.webClient(HttpClientProfiles.Upstream.UPTIME)
             .get()
             .uri(apiUrl)
             .retrieve()
@@ -65,7 +172,7 @@ public class UptimeKumaServiceImpl implements UptimeKumaService {
             .doOnError(error -> log.debug("调用 Uptime Kuma API 失败: {}", error.getMessage()));
     }
 
-    private Mono<Integer> parseStatusData(String responseBody) {
+    private Mono<int[]> parseStatusData(String responseBody) {
         try {
             return Mono.just(parseStatusData(objectMapper.readTree(responseBody)));
         } catch (Exception e) {
@@ -73,13 +180,17 @@ public class UptimeKumaServiceImpl implements UptimeKumaService {
         }
     }
 
-    private Integer parseStatusData(JsonNode jsonNode) {
+    /**
+     * @return [正常监控项数, 监控项总数]
+     * @throws IllegalStateException 响应中没有 uptimeList，如状态页不存在或接口格式变化
+     */
+    private int[] parseStatusData(JsonNode jsonNode) {
+        var counts = new int[2];
         var uptimeList = jsonNode.get("uptimeList");
         if (uptimeList == null || !uptimeList.isObject()) {
-            return 0;
+            throw new IllegalStateException("响应中缺少 uptimeList");
         }
 
-        var counts = new int[2];
         uptimeList.fieldNames().forEachRemaining(key -> {
             var value = uptimeList.get(key).asDouble(0.0);
             counts[1]++;
@@ -87,14 +198,7 @@ public class UptimeKumaServiceImpl implements UptimeKumaService {
                 counts[0]++;
             }
         });
-
-        if (counts[0] == counts[1]) {
-            return 1;
-        }
-        if (counts[0] == 0) {
-            return 0;
-        }
-        return 2;
+        return counts;
     }
 
     private String buildHeartbeatApiUrl(String statusPageUrl) throws URISyntaxException {
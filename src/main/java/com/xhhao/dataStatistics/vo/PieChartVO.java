@@ -1,20 +1,33 @@
 package com.xhhao.dataStatistics.vo;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+
 import lombok.Data;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
+/**
+ * 图表数据，按分区请求时未请求的分区为 null，不会序列化
+ */
 @Data
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public class PieChartVO {
 
     private Boolean enableMomentHeatmap;
 
     private List<Tag> tags = new ArrayList<>();
     @Data
+    @JsonInclude(JsonInclude.Include.NON_NULL)
     public static class Tag {
         private String name;
         private Integer count;
+        private List<RelatedTag> related;  // 共现最多的相关标签，仅相关标签接口返回
+    }
+    @Data
+    public static class RelatedTag {
+        private String name;  // 标签名称
+        private Integer count;  // 共现文章数
     }
 
     private List<Category> categories = new ArrayList<>();
@@ -33,6 +46,7 @@ public class PieChartVO {
         private Integer total;  // 总数
         private Integer articleTotal;  // 文章数
         private Integer momentTotal;  // 瞬间数
+        private Integer commentTotal;  // 评论数，不计入 total
     }
 
     // 评论
@@ -53,4 +67,30 @@ public class PieChartVO {
         private Integer views;  // 访问量
     }
 
-}
\ No newline at end of file
+    // 评论最多的文章
+    private List<DiscussedPost> discussedPosts = new ArrayList<>();
+    @Data
+    public static class DiscussedPost {
+        private String name;  // 标题
+        private String postName;  // 文章名称（metadata.name）
+        private String permalink;  // 固定链接
+        private Integer count;  // 已审核评论数
+    }
+
+    // 写作统计
+    private Writing writing;
+    @Data
+    public static class Writing {
+        private Long totalWords;  // 总字数
+        private Integer postCount;  // 文章数
+        private Integer averageWords;  // 平均每篇字数
+        private List<WritingMonth> months = new ArrayList<>();  // 最近 12 个月的按月字数，按月份升序
+    }
+    @Data
+    public static class WritingMonth {
+        private String month;  // 月份 yyyy-MM
+        private Long words;  // 字数
+        private Integer posts;  // 发布文章数
+    }
+
+}
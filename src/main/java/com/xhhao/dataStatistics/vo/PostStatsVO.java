@@ -0,0 +1,12 @@
+package com.xhhao.dataStatistics.vo;
+
+import lombok.Data;
+
+@Data
+public class PostStatsVO {
+
+    private String name;  // 文章名称（metadata.name）
+    private Integer visit;  // 访问量
+    private Integer comment;  // 评论数
+    private Integer upvote;  // 点赞数
+}
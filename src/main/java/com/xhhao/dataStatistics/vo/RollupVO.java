@@ -0,0 +1,28 @@
+package com.xhhao.dataStatistics.vo;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import lombok.Data;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+public class RollupVO {
+
+    private List<String> groupBy = new ArrayList<>();  // 分组维度
+
+    private Integer postTotal;  // 参与汇总的文章总数
+
+    private List<Row> rows = new ArrayList<>();
+    @Data
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public static class Row {
+        private String month;  // 月份 yyyy-MM
+        private String category;  // 分类名称
+        private String categoryDisplayName;  // 分类显示名
+        private String tag;  // 标签名称
+        private String tagDisplayName;  // 标签显示名
+        private String owner;  // 作者用户名
+        private Integer count;  // 文章数
+    }
+}
@@ -0,0 +1,12 @@
+package com.xhhao.dataStatistics.vo;
+
+import lombok.Data;
+
+@Data
+public class TrendingPostVO {
+
+    private String name;  // 文章名称（metadata.name）
+    private String title;  // 标题
+    private String permalink;  // 固定链接
+    private Long views;  // 统计区间内的浏览量
+}
@@ -0,0 +1,20 @@
+package com.xhhao.dataStatistics.vo;
+
+import com.fasterxml.jackson.annotation.JsonAlias;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+import lombok.Data;
+
+/**
+ * Umami 细分指标的一项，上游字段为 {"x": "/posts/a", "y": 12}
+ */
+@Data
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class UmamiMetricVO {
+
+    @JsonAlias("x")
+    private String name;  // 指标取值，如页面路径、来源域名、浏览器
+
+    @JsonAlias("y")
+    private Long value;  // 数量
+}
@@ -0,0 +1,36 @@
+package com.xhhao.dataStatistics.vo;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+import lombok.Data;
+
+/**
+ * Umami 实时数据，只保留组件展示的汇总和访问事件字段
+ */
+@Data
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class UmamiRealtimeVO {
+
+    private Totals totals = new Totals();
+    @Data
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public static class Totals {
+        private Long views;  // 实时浏览量
+        private Long visitors;  // 实时访客数
+    }
+
+    private List<Event> events = new ArrayList<>();
+    @Data
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public static class Event {
+        private String urlPath;  // 访问路径
+        private String createdAt;  // 访问时间
+        private String browser;  // 浏览器
+        private String os;  // 操作系统
+        private String device;  // 设备类型
+        private String country;  // 国家代码
+    }
+}
@@ -0,0 +1,54 @@
+package com.xhhao.dataStatistics.vo;
+
+import java.io.IOException;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+
+import lombok.Data;
+
+/**
+ * Umami 访问统计，只保留组件展示的字段
+ */
+@Data
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class UmamiStatsVO {
+
+    @JsonDeserialize(using = StatValueDeserializer.class)
+    private Long pageviews;  // 页面浏览量
+
+    @JsonDeserialize(using = StatValueDeserializer.class)
+    private Long visits;  // 访问次数
+
+    @JsonDeserialize(using = StatValueDeserializer.class)
+    private Long visitors;  // 访客数
+
+    private Boolean visitorsSummedDaily;  // 访客数为每日访客数之和（可能重复计数），仅本地归档的区间为 true
+
+    /**
+     * 兼容 Umami 不同版本：统计值可能是数字，也可能是 {"value": 1, "prev": 0}
+     */
+    public static class StatValueDeserializer extends JsonDeserializer<Long> {
+        @Override
+        public Long deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+            if (parser.currentToken() != JsonToken.START_OBJECT) {
+                return parser.getValueAsLong();
+            }
+            Long value = null;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                parser.nextToken();
+                if ("value".equals(field)) {
+                    value = parser.getValueAsLong();
+                } else {
+                    parser.skipChildren();
+                }
+            }
+            return value;
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.xhhao.dataStatistics.vo;
+
+import java.io.IOException;
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonSetter;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+
+import lombok.Data;
+
+/**
+ * Umami 网站
+ */
+@Data
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class UmamiWebsiteVO {
+
+    private String id;  // 网站 ID
+    private String name;  // 网站名称
+    private String domain;  // 域名
+
+    /**
+     * 部分旧版 Umami 的网站列表以 websiteId 返回网站 ID：没有 id 时使用它，两者都有时以 id 为准
+     */
+    @JsonSetter("websiteId")
+    private void setWebsiteId(String websiteId) {
+        if (id == null || id.isBlank()) {
+            id = websiteId;
+        }
+    }
+
+    /**
+     * 网站列表响应：旧版 Umami 直接返回数组，新版返回 {"data": [...], "count": 1, ...}
+     */
+    @JsonDeserialize(using = PageDeserializer.class)
+    public record Page(List<UmamiWebsiteVO> data) {}
+
+    public static class PageDeserializer extends JsonDeserializer<Page> {
+        @Override
+        public Page deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+            JavaType listType = context.getTypeFactory().constructCollectionType(List.class, UmamiWebsiteVO.class);
+            if (parser.currentToken() == JsonToken.START_ARRAY) {
+                return new Page(context.readValue(parser, listType));
+            }
+            List<UmamiWebsiteVO> data = List.of();
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                parser.nextToken();
+                if ("data".equals(field)) {
+                    data = context.readValue(parser, listType);
+                } else {
+                    parser.skipChildren();
+                }
+            }
+            return new Page(data);
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.xhhao.dataStatistics.vo;
+
+import lombok.Data;
+import java.time.LocalDate;
+
+@Data
+public class UniqueCountVO {
+
+    private LocalDate start;  // 开始日期（含）
+    private LocalDate end;  // 结束日期（含）
+    private Long count;  // 去重数量
+    private Boolean approximate;  // 是否为 HyperLogLog 估计值
+    private Double relativeError;  // 估计值的理论相对标准误差，精确值为 0
+}
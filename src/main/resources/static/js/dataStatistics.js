@@ -61,6 +61,42 @@
         });
     }
 
+    const MIN_POLL_DELAY = 5000;
+    const MAX_POLL_DELAY = 600000;
+
+    /**
+     * 轮询实时接口：按服务端 X-Next-Refresh 响应头（秒）安排下一次请求，缺少该头时使用 fallbackDelay；
+     * 组件移出页面后停止
+     */
+    function pollWithServerHint(element, url, onData, onError, fallbackDelay, firstDelay = 0) {
+        const run = () => {
+            if (!element.isConnected) return;
+            fetch(url)
+                .then(r => {
+                    if (!r.ok) {
+                        throw new Error(`HTTP ${r.status}`);
+                    }
+                    const hint = parseInt(r.headers.get('X-Next-Refresh'));
+                    return r.json().then(data => {
+                        onData(data);
+                        return hint;
+                    });
+                })
+                .catch(err => {
+                    onError(err);
+                    return NaN;
+                })
+                .then(hint => {
+                    // 多留一秒，避免在服务端刷新前到达而拿到旧数据
+                    const delay = Number.isFinite(hint)
+                        ? Math.min(MAX_POLL_DELAY, Math.max(MIN_POLL_DELAY, hint * 1000 + 1000))
+                        : fallbackDelay;
+                    element.setAttribute('data-cleanup', setTimeout(run, delay));
+                });
+        };
+        element.setAttribute('data-cleanup', setTimeout(run, firstDelay));
+    }
+
     // ==================== 国际化相关 ====================
     
     const regionDisplay = typeof Intl !== 'undefined' && typeof Intl.DisplayNames === 'function'
@@ -283,7 +319,9 @@
 
                 grid.appendChild(createStatCard('chart-line', pageviews, '页面浏览量'));
                 grid.appendChild(createStatCard('account-group', visits, '访问次数'));
-                grid.appendChild(createStatCard('account', visitors, '访客数'));
+                // 长区间由每日归档汇总时，访客数为每日访客数之和
+                grid.appendChild(createStatCard('account', visitors,
+                    visitData.visitorsSummedDaily ? '访客数（按日累计）' : '访客数'));
             }
 
             if (realtimeData?.totals) {
@@ -307,33 +345,28 @@
             element.innerHTML = '<div class="xhhaocom-dataStatistics-v2-traffic-error">加载失败</div>';
         });
 
-        const updateRealtime = () => {
-            safeFetch(realtimeUrl)
-                .then(realtimeData => {
-                    if (realtimeData?.totals) {
-                        const realtimeCards = element.querySelectorAll('.xhhaocom-dataStatistics-v2-traffic-card');
-                        const realtimeViews = parseInt(realtimeData.totals.views) || 0;
-                        const realtimeVisitors = parseInt(realtimeData.totals.visitors) || 0;
-                        
-                        realtimeCards.forEach(card => {
-                            const label = card.querySelector('.xhhaocom-dataStatistics-v2-traffic-label')?.textContent;
-                            const valueEl = card.querySelector('.xhhaocom-dataStatistics-v2-traffic-value');
-                            if (!valueEl) return;
-                            
-                            if (label === '实时浏览量') {
-                                valueEl.textContent = formatNumber(realtimeViews);
-                            } else if (label === '实时访客') {
-                                valueEl.textContent = formatNumber(realtimeVisitors);
-                            }
-                        });
+        const updateRealtime = realtimeData => {
+            if (realtimeData?.totals) {
+                const realtimeCards = element.querySelectorAll('.xhhaocom-dataStatistics-v2-traffic-card');
+                const realtimeViews = parseInt(realtimeData.totals.views) || 0;
+                const realtimeVisitors = parseInt(realtimeData.totals.visitors) || 0;
+                
+                realtimeCards.forEach(card => {
+                    const label = card.querySelector('.xhhaocom-dataStatistics-v2-traffic-label')?.textContent;
+                    const valueEl = card.querySelector('.xhhaocom-dataStatistics-v2-traffic-value');
+                    if (!valueEl) return;
+                    
+                    if (label === '实时浏览量') {
+                        valueEl.textContent = formatNumber(realtimeViews);
+                    } else if (label === '实时访客') {
+                        valueEl.textContent = formatNumber(realtimeVisitors);
                     }
-                })
-                .catch(err => console.error('[Realtime Update]', err));
+                });
+            }
         };
-        
-        setTimeout(updateRealtime, 1000);
-        const interval = setInterval(updateRealtime, 30000);
-        element.setAttribute('data-cleanup', interval);
+
+        pollWithServerHint(element, realtimeUrl, updateRealtime,
+            err => console.error('[Realtime Update]', err), 30000, 1000);
     }
 
     // ==================== 实时活动组件 ====================
@@ -344,100 +377,96 @@
 
         const realtimeUrl = '/apis/api.data.statistics.xhhao.com/v1alpha1/umami/realtime';
 
-        const updateActivity = () => {
-            safeFetch(realtimeUrl)
-                .then(data => {
-                    if (!data?.events || !Array.isArray(data.events) || data.events.length === 0) {
-                        element.innerHTML = '<div class="xhhaocom-dataStatistics-v2-activity-empty">暂无活动</div>';
-                        return;
-                    }
-                    
-                    element.innerHTML = '';
-
-                    const section = document.createElement('div');
-                    section.className = 'xhhaocom-dataStatistics-v2-activity-section';
-
-                    const header = document.createElement('div');
-                    header.className = 'xhhaocom-dataStatistics-v2-activity-header';
-                    header.innerHTML = `
-                        <div class="xhhaocom-dataStatistics-v2-activity-title-box">
-                            <span class="xhhaocom-dataStatistics-v2-activity-title">近30分钟网站活动</span>
-                            <span class="xhhaocom-dataStatistics-v2-activity-badge-wrapper">
-                                <span class="xhhaocom-dataStatistics-v2-activity-badge"></span>
-                                <span class="xhhaocom-dataStatistics-v2-activity-badge-text">实时数据</span>
+        const renderActivity = data => {
+            if (!data?.events || !Array.isArray(data.events) || data.events.length === 0) {
+                element.innerHTML = '<div class="xhhaocom-dataStatistics-v2-activity-empty">暂无活动</div>';
+                return;
+            }
+            
+            element.innerHTML = '';
+
+            const section = document.createElement('div');
+            section.className = 'xhhaocom-dataStatistics-v2-activity-section';
+
+            const header = document.createElement('div');
+            header.className = 'xhhaocom-dataStatistics-v2-activity-header';
+            header.innerHTML = `
+                <div class="xhhaocom-dataStatistics-v2-activity-title-box">
+                    <span class="xhhaocom-dataStatistics-v2-activity-title">近30分钟网站活动</span>
+                    <span class="xhhaocom-dataStatistics-v2-activity-badge-wrapper">
+                        <span class="xhhaocom-dataStatistics-v2-activity-badge"></span>
+                        <span class="xhhaocom-dataStatistics-v2-activity-badge-text">实时数据</span>
+                    </span>
+                </div>
+                <span class="xhhaocom-dataStatistics-v2-activity-subtitle">
+                    捕捉最新访客动态与来源
+                </span>
+            `;
+            section.appendChild(header);
+
+            const totals = data.totals || {};
+            const listContainer = document.createElement('div');
+            listContainer.className = 'xhhaocom-dataStatistics-v2-activity-body';
+
+            const metricsBar = document.createElement('div');
+            metricsBar.className = 'xhhaocom-dataStatistics-v2-activity-metrics';
+            const uniqueVisitors = parseInt(totals.visitors) || 0;
+            const totalViews = parseInt(totals.views) || 0;
+            const activePages = new Set();
+            data.events.forEach(event => {
+                if (event.urlPath) {
+                    activePages.add(event.urlPath);
+                }
+            });
+
+            metricsBar.appendChild(createActivityMetric('fire', totalViews, '实时浏览量'));
+            metricsBar.appendChild(createActivityMetric('account', uniqueVisitors, '实时访客'));
+            metricsBar.appendChild(createActivityMetric('eye', activePages.size, '活跃页面数'));
+            listContainer.appendChild(metricsBar);
+
+            const events = data.events.slice(0, MAX_ACTIVITY_EVENTS);
+            const list = document.createElement('div');
+            list.className = 'xhhaocom-dataStatistics-v2-activity-list';
+
+            events.forEach(event => {
+                const item = document.createElement('div');
+                item.className = 'xhhaocom-dataStatistics-v2-activity-item';
+                const time = new Date(event.createdAt);
+                const timeStr = formatTimeChinese(time);
+                const urlPath = event.urlPath || '/';
+
+                item.innerHTML = `
+                    <div class="xhhaocom-dataStatistics-v2-activity-content">
+                        <div class="xhhaocom-dataStatistics-v2-activity-time-line">
+                            <span class="xhhaocom-dataStatistics-v2-activity-time">${timeStr}</span>
+                            <span class="xhhaocom-dataStatistics-v2-activity-separator">
+                                ${createIcon('eye', 14)}
+                                <span>${urlPath}</span>
                             </span>
                         </div>
-                        <span class="xhhaocom-dataStatistics-v2-activity-subtitle">
-                            捕捉最新访客动态与来源
-                        </span>
-                    `;
-                    section.appendChild(header);
-
-                    const totals = data.totals || {};
-                    const listContainer = document.createElement('div');
-                    listContainer.className = 'xhhaocom-dataStatistics-v2-activity-body';
-
-                    const metricsBar = document.createElement('div');
-                    metricsBar.className = 'xhhaocom-dataStatistics-v2-activity-metrics';
-                    const uniqueVisitors = parseInt(totals.visitors) || 0;
-                    const totalViews = parseInt(totals.views) || 0;
-                    const activePages = new Set();
-                    data.events.forEach(event => {
-                        if (event.urlPath) {
-                            activePages.add(event.urlPath);
-                        }
-                    });
+                        <div class="xhhaocom-dataStatistics-v2-activity-detail">
+                            <span class="xhhaocom-dataStatistics-v2-activity-person">
+                                ${createIcon('account', 14)}
+                            </span>
+                            <span class="xhhaocom-dataStatistics-v2-activity-text">${formatDeviceInfo(event)}</span>
+                        </div>
+                    </div>
+                `;
 
-                    metricsBar.appendChild(createActivityMetric('fire', totalViews, '实时浏览量'));
-                    metricsBar.appendChild(createActivityMetric('account', uniqueVisitors, '实时访客'));
-                    metricsBar.appendChild(createActivityMetric('eye', activePages.size, '活跃页面数'));
-                    listContainer.appendChild(metricsBar);
-
-                    const events = data.events.slice(0, MAX_ACTIVITY_EVENTS);
-                    const list = document.createElement('div');
-                    list.className = 'xhhaocom-dataStatistics-v2-activity-list';
-
-                    events.forEach(event => {
-                        const item = document.createElement('div');
-                        item.className = 'xhhaocom-dataStatistics-v2-activity-item';
-                        const time = new Date(event.createdAt);
-                        const timeStr = formatTimeChinese(time);
-                        const urlPath = event.urlPath || '/';
-
-                        item.innerHTML = `
-                            <div class="xhhaocom-dataStatistics-v2-activity-content">
-                                <div class="xhhaocom-dataStatistics-v2-activity-time-line">
-                                    <span class="xhhaocom-dataStatistics-v2-activity-time">${timeStr}</span>
-                                    <span class="xhhaocom-dataStatistics-v2-activity-separator">
-                                        ${createIcon('eye', 14)}
-                                        <span>${urlPath}</span>
-                                    </span>
-                                </div>
-                                <div class="xhhaocom-dataStatistics-v2-activity-detail">
-                                    <span class="xhhaocom-dataStatistics-v2-activity-person">
-                                        ${createIcon('account', 14)}
-                                    </span>
-                                    <span class="xhhaocom-dataStatistics-v2-activity-text">${formatDeviceInfo(event)}</span>
-                                </div>
-                            </div>
-                        `;
-
-                        list.appendChild(item);
-                    });
-                    listContainer.appendChild(list);
-                    section.appendChild(listContainer);
+                list.appendChild(item);
+            });
+            listContainer.appendChild(list);
+            section.appendChild(listContainer);
 
-                    element.appendChild(section);
-                })
-                .catch(err => {
-                    console.error('[Activity]', err);
-                    element.innerHTML = '<div class="xhhaocom-dataStatistics-v2-activity-error">加载失败</div>';
-                });
+            element.appendChild(section);
+        };
+
+        const showError = err => {
+            console.error('[Activity]', err);
+            element.innerHTML = '<div class="xhhaocom-dataStatistics-v2-activity-error">加载失败</div>';
         };
         
-        updateActivity();
-        const interval = setInterval(updateActivity, 30000);
-        element.setAttribute('data-cleanup', interval);
+        pollWithServerHint(element, realtimeUrl, renderActivity, showError, 30000);
     }
 
     // ==================== Uptime Kuma 组件 ====================
@@ -448,61 +477,57 @@
 
         const statusUrl = '/apis/api.data.statistics.xhhao.com/v1alpha1/uptime/status';
 
-        const updateStatus = () => {
-            safeFetch(statusUrl)
-                .then(result => {
-                    element.innerHTML = '';
+        const renderStatus = result => {
+            element.innerHTML = '';
 
-                    const status = result?.status;
-                    const statusPageUrl = result?.statusPageUrl || '';
-                    const hasLink = Boolean(statusPageUrl);
+            const status = result?.status;
+            const statusPageUrl = result?.statusPageUrl || '';
+            const hasLink = Boolean(statusPageUrl);
 
-                    const wrapper = document.createElement(hasLink ? 'a' : 'div');
-                    wrapper.className = 'xhhaocom-dataStatistics-v2-uptime-kuma__content';
-                    wrapper.title = '查看我的项目状态';
-                    wrapper.dataset.tipTitle = '查看我的项目状态';
-                    
-                    if (hasLink) {
-                        wrapper.href = statusPageUrl;
-                        wrapper.target = '_blank';
-                        wrapper.rel = 'noopener noreferrer';
-                    } else {
-                        wrapper.classList.add('is-static');
-                    }
+            const wrapper = document.createElement(hasLink ? 'a' : 'div');
+            wrapper.className = 'xhhaocom-dataStatistics-v2-uptime-kuma__content';
+            wrapper.title = '查看我的项目状态';
+            wrapper.dataset.tipTitle = '查看我的项目状态';
+            
+            if (hasLink) {
+                wrapper.href = statusPageUrl;
+                wrapper.target = '_blank';
+                wrapper.rel = 'noopener noreferrer';
+            } else {
+                wrapper.classList.add('is-static');
+            }
 
-                    const statusDot = document.createElement('span');
-                    statusDot.className = 'xhhaocom-dataStatistics-v2-uptime-kuma-dot';
-                    statusDot.title = '查看我的项目状态';
-                    statusDot.dataset.tipTitle = '查看我的项目状态';
+            const statusDot = document.createElement('span');
+            statusDot.className = 'xhhaocom-dataStatistics-v2-uptime-kuma-dot';
+            statusDot.title = '查看我的项目状态';
+            statusDot.dataset.tipTitle = '查看我的项目状态';
 
-                    const statusText = document.createElement('span');
-                    statusText.className = 'xhhaocom-dataStatistics-v2-uptime-kuma-text';
+            const statusText = document.createElement('span');
+            statusText.className = 'xhhaocom-dataStatistics-v2-uptime-kuma-text';
 
-                    const statusConfig = {
-                        0: { class: 'error', text: '全部业务异常', wrapperClass: 'error' },
-                        1: { class: 'success', text: '所有业务正常', wrapperClass: 'success' },
-                        2: { class: 'warning', text: '部分业务异常', wrapperClass: 'warning' }
-                    };
+            const statusConfig = {
+                0: { class: 'error', text: '全部业务异常', wrapperClass: 'error' },
+                1: { class: 'success', text: '所有业务正常', wrapperClass: 'success' },
+                2: { class: 'warning', text: '部分业务异常', wrapperClass: 'warning' }
+            };
 
-                    const config = statusConfig[status] || { class: 'loading', text: '加载中', wrapperClass: 'muted' };
-                    
-                    statusDot.classList.add(`xhhaocom-dataStatistics-v2-uptime-kuma-dot--${config.class}`);
-                    statusText.textContent = config.text;
-                    wrapper.classList.add(`xhhaocom-dataStatistics-v2-uptime-kuma__content--${config.wrapperClass}`);
+            const config = statusConfig[status] || { class: 'loading', text: '加载中', wrapperClass: 'muted' };
+            
+            statusDot.classList.add(`xhhaocom-dataStatistics-v2-uptime-kuma-dot--${config.class}`);
+            statusText.textContent = config.text;
+            wrapper.classList.add(`xhhaocom-dataStatistics-v2-uptime-kuma__content--${config.wrapperClass}`);
 
-                    wrapper.appendChild(statusDot);
-                    wrapper.appendChild(statusText);
-                    element.appendChild(wrapper);
-                })
-                .catch(err => {
-                    console.error('[Uptime Kuma Status]', err);
-                    element.innerHTML = '<div class="xhhaocom-dataStatistics-v2-uptime-kuma-error">加载失败</div>';
-                });
+            wrapper.appendChild(statusDot);
+            wrapper.appendChild(statusText);
+            element.appendChild(wrapper);
         };
 
-        updateStatus();
-        const interval = setInterval(updateStatus, 60000);
-        element.setAttribute('data-cleanup', interval);
+        const showError = err => {
+            console.error('[Uptime Kuma Status]', err);
+            element.innerHTML = '<div class="xhhaocom-dataStatistics-v2-uptime-kuma-error">加载失败</div>';
+        };
+
+        pollWithServerHint(element, statusUrl, renderStatus, showError, 60000);
     }
 
     // ==================== GitHub 相关 ====================
@@ -520,6 +545,12 @@
             });
     }
 
+    // 开启插件缓存代理时走本站接口，否则直接请求上游
+    function githubImageUrl(config, type, upstreamUrl, params) {
+        const base = config.cardUrl ? config.cardUrl + type + '?' : upstreamUrl;
+        return base + params.toString();
+    }
+
     function createGithubImage(element, imageUrl, altText, errorClass) {
         const img = document.createElement('img');
         img.src = imageUrl;
@@ -550,7 +581,7 @@
                     params.append('repo', repo);
                 }
 
-                const imageUrl = config.proxyUrl + 'api/pin/?' + params.toString();
+                const imageUrl = githubImageUrl(config, 'pin', config.proxyUrl + 'api/pin/?', params);
                 createGithubImage(element, imageUrl, 'GitHub Repository Stats', 'xhhaocom-dataStatistics-v2-github-error');
             })
             .catch(err => {
@@ -579,7 +610,7 @@
                 if (showIcons) params.append('show_icons', showIcons);
                 if (theme) params.append('theme', theme);
 
-                const imageUrl = config.proxyUrl + 'api?' + params.toString();
+                const imageUrl = githubImageUrl(config, 'stats', config.proxyUrl + 'api?', params);
                 createGithubImage(element, imageUrl, 'GitHub Stats', 'xhhaocom-dataStatistics-v2-github-error');
             })
             .catch(err => {
@@ -608,7 +639,7 @@
                 if (hideProgress) params.append('hide_progress', hideProgress);
                 if (statsFormat) params.append('stats_format', statsFormat);
 
-                const imageUrl = config.proxyUrl + 'api/top-langs/?' + params.toString();
+                const imageUrl = githubImageUrl(config, 'top-langs', config.proxyUrl + 'api/top-langs/?', params);
                 createGithubImage(element, imageUrl, 'GitHub Top Languages', 'xhhaocom-dataStatistics-v2-github-error');
             })
             .catch(err => {
@@ -635,7 +666,7 @@
                     params.append('theme', theme);
                 }
 
-                const imageUrl = config.graphProxyUrl + 'graph?' + params.toString();
+                const imageUrl = githubImageUrl(config, 'graph', config.graphProxyUrl + 'graph?', params);
                 createGithubImage(element, imageUrl, 'GitHub Activity Graph', 'xhhaocom-dataStatistics-v2-github-error');
             })
             .catch(err => {
@@ -2,6 +2,27 @@
     'use strict';
 
     const API_ENDPOINT = '/apis/api.data.statistics.xhhao.com/v1alpha1/chart/data';
+    const INLINE_DATA_ID = 'data-statistics-chart-data';
+    const DEFAULT_TYPES = ['tags', 'categories', 'articles', 'comments', 'topArticles'];
+    // 图表类型 → 接口分区，只请求需要的分区
+    const SECTION_BY_TYPE = {
+        tags: 'tags',
+        categories: 'categories',
+        articles: 'heatmap',
+        comments: 'comments',
+        topArticles: 'top10'
+    };
+    // 分区在图表数据中对应的字段
+    const FIELD_BY_SECTION = {
+        tags: 'tags',
+        categories: 'categories',
+        heatmap: 'articles',
+        comments: 'comments',
+        top10: 'top10Articles'
+    };
+    // 带内容指纹的 Chart.js 地址由注入的 script 标签提供
+    const CHART_SRC = (document.currentScript && document.currentScript.dataset.chartSrc)
+        || '/plugins/data-statistics/assets/static/min/chart.umd.min.js';
         const COLOR_PALETTE = [
         '#3b82f6', '#10b981', '#f59e0b', '#ef4444', '#8b5cf6',
         '#ec4899', '#14b8a6', '#f97316', '#6366f1', '#0ea5e9'
@@ -9,6 +30,7 @@
         const DAY_IN_MS = 24 * 60 * 60 * 1000;
 
     const chartRegistry = new Map();
+    let chartLoader = null;
 
     function ready(fn) {
         if (document.readyState === 'loading') {
@@ -334,13 +356,15 @@
             const key = formatDateYMD(date);
             const articleTotal = Number(article.articleTotal ?? article.total ?? article.count ?? 0);
             const momentTotal = Number(article.momentTotal ?? 0);
+            const commentTotal = Number(article.commentTotal ?? 0);
             const rawTotal = Number(article.total ?? 0);
             const total = Number.isFinite(rawTotal) ? rawTotal : (articleTotal + momentTotal);
-            const current = dataMap.get(key) || { total: 0, articleTotal: 0, momentTotal: 0 };
+            const current = dataMap.get(key) || { total: 0, articleTotal: 0, momentTotal: 0, commentTotal: 0 };
             dataMap.set(key, {
                 total: current.total + total,
                 articleTotal: current.articleTotal + articleTotal,
-                momentTotal: current.momentTotal + momentTotal
+                momentTotal: current.momentTotal + momentTotal,
+                commentTotal: current.commentTotal + commentTotal
             });
         });
 
@@ -461,6 +485,7 @@
         const showTooltip = (event, dateKey, value) => {
             const articleTotal = value?.articleTotal ?? 0;
             const momentTotal = value?.momentTotal ?? 0;
+            const commentTotal = value?.commentTotal ?? 0;
             const lines = [`<strong>${dateKey}</strong>`];
 
             if (enableMomentHeatmap) {
@@ -478,6 +503,9 @@
             } else {
                 lines.push('<span>当天没有发布文章</span>');
             }
+            if (commentTotal > 0) {
+                lines.push(`<span>收到 ${commentTotal} 条评论</span>`);
+            }
 
             tooltip.innerHTML = lines.join('');
             tooltip.style.display = 'flex';
@@ -907,14 +935,25 @@
         return [chart];
     }
 
+    function enabledTypesOf(container) {
+        const dataTypes = container.getAttribute('data-types');
+        return dataTypes ? dataTypes.split(',').map(t => t.trim()).filter(Boolean) : DEFAULT_TYPES;
+    }
+
+    function sectionsOf(container) {
+        return [...new Set(enabledTypesOf(container).map(type => SECTION_BY_TYPE[type]).filter(Boolean))];
+    }
+
+    function chartDataUrl(sections) {
+        return sections.length ? `${API_ENDPOINT}?sections=${sections.join(',')}` : API_ENDPOINT;
+    }
+
     function renderCharts(container, data) {
         disposeCharts(container);
         container.innerHTML = '';
 
         // 获取要渲染的图表类型
-        const dataTypes = container.getAttribute('data-types');
-        const enabledTypes = dataTypes ? dataTypes.split(',').map(t => t.trim()).filter(Boolean) : 
-            ['tags', 'categories', 'articles', 'comments', 'topArticles'];
+        const enabledTypes = enabledTypesOf(container);
 
         const charts = [];
 
@@ -947,47 +986,100 @@
         }
     }
 
+    // 服务端会把已缓存的分区内联到页面，优先使用，只请求缺少的分区
+    let inlineData;
+
+    function readInlineData() {
+        if (inlineData !== undefined) {
+            return inlineData;
+        }
+        inlineData = null;
+        const element = document.getElementById(INLINE_DATA_ID);
+        if (element) {
+            try {
+                inlineData = JSON.parse(element.textContent);
+            } catch (error) {
+                console.warn('[ChartBoard] inline data parse error:', error);
+            }
+        }
+        return inlineData;
+    }
+
+    // 未请求的分区不会出现在响应中，合并时保留内联数据
+    function mergeSections(inline, fetched) {
+        const merged = { ...inline };
+        Object.keys(fetched).forEach(key => {
+            if (fetched[key] != null) {
+                merged[key] = fetched[key];
+            }
+        });
+        return merged;
+    }
+
     function fetchAndRender(container) {
         container.classList.add('xhhaocom-chartboard');
+
+        const inline = readInlineData() || {};
+        const sections = sectionsOf(container);
+        const missing = sections.filter(section => inline[FIELD_BY_SECTION[section]] == null);
+        if (sections.length && !missing.length) {
+            renderCharts(container, inline);
+            return;
+        }
+
         container.innerHTML = '<div class="xhhaocom-chartboard-loading">数据加载中…</div>';
 
-        fetch(API_ENDPOINT)
+        fetch(chartDataUrl(missing))
             .then(response => {
                 if (!response.ok) {
                     throw new Error(`HTTP ${response.status}`);
                 }
                 return response.json();
             })
-            .then(data => renderCharts(container, data || {}))
+            .then(data => renderCharts(container, mergeSections(inline, data || {})))
             .catch(error => {
                 console.error('[ChartBoard] fetch error:', error);
                 container.innerHTML = `<div class="xhhaocom-chartboard-error">获取图表数据失败：${error.message}</div>`;
             });
     }
 
-    function waitForChart(callback, maxAttempts = 50) {
+    function loadChart() {
         if (typeof Chart !== 'undefined') {
-            callback();
-            return;
+            return Promise.resolve();
         }
-        
-        if (maxAttempts <= 0) {
-            console.error('[ChartBoard] Chart.js 加载超时');
-            return;
+        if (!chartLoader) {
+            chartLoader = new Promise((resolve, reject) => {
+                const script = document.createElement('script');
+                script.src = CHART_SRC;
+                script.async = true;
+                script.onload = () => resolve();
+                script.onerror = () => {
+                    chartLoader = null;
+                    reject(new Error('Chart.js 加载失败'));
+                };
+                document.head.appendChild(script);
+            });
         }
-        
-        setTimeout(() => waitForChart(callback, maxAttempts - 1), 100);
+        return chartLoader;
     }
 
     function init() {
-        waitForChart(() => {
-            document.querySelectorAll('.xhhaocom-chartboard').forEach(container => {
-                if (!container.hasAttribute('data-initialized')) {
-                    container.setAttribute('data-initialized', 'true');
-                    fetchAndRender(container);
-                }
+        const containers = [...document.querySelectorAll('.xhhaocom-chartboard')]
+            .filter(container => !container.hasAttribute('data-initialized'));
+        if (!containers.length) {
+            return;
+        }
+        containers.forEach(container => container.setAttribute('data-initialized', 'true'));
+
+        // 页面上存在图表容器时才加载 Chart.js
+        loadChart()
+            .then(() => containers.forEach(fetchAndRender))
+            .catch(error => {
+                console.error('[ChartBoard]', error);
+                containers.forEach(container => {
+                    container.innerHTML = `<div class="xhhaocom-chartboard-error">${error.message}</div>`;
+                });
             });
-        });
     }
 
     ready(init);
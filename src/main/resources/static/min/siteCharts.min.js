@@ -1 +1 @@
-!function(){"use strict";const t=["#3b82f6","#10b981","#f59e0b","#ef4444","#8b5cf6","#ec4899","#14b8a6","#f97316","#6366f1","#0ea5e9"],e=864e5,a=new Map;function o(t){const e=Number(t)||0;return e>=1e6?(e/1e6).toFixed(1)+"M":e>=1e3?(e/1e3).toFixed(1)+"K":e.toString()}function n(t,e,a=void 0){return e.split(".").reduce((t,e)=>{if(t&&Object.prototype.hasOwnProperty.call(t,e))return t[e]},t)??a}function r(t,e,a){const o=document.createElement("section");o.className="xhhaocom-chartboard-section";const n=document.createElement("header");n.className="xhhaocom-chartboard-section__header",n.innerHTML=`\n            <div class="xhhaocom-chartboard-section__title">${e}</div>\n            ${a?`<div class="xhhaocom-chartboard-section__subtitle">${a}</div>`:""}\n        `,o.appendChild(n);const r=document.createElement("div");return r.className="xhhaocom-chartboard-section__body",o.appendChild(r),t.appendChild(o),r}function c(t,e){const a=document.createElement("div");a.className="xhhaocom-chartboard-card";const o=document.createElement("div");o.className="xhhaocom-chartboard-card__canvas";const n=document.createElement("canvas");if(o.appendChild(n),a.appendChild(o),e){const t=document.createElement("footer");t.className="xhhaocom-chartboard-card__footer",t.textContent=e,a.appendChild(t)}return t.appendChild(a),n}function s(t){return`${t.getFullYear()}-${String(t.getMonth()+1).padStart(2,"0")}-${String(t.getDate()).padStart(2,"0")}`}const i=["rgba(255, 99, 132, 0.22)","rgba(255, 159, 64, 0.22)","rgba(255, 205, 86, 0.22)","rgba(75, 192, 192, 0.22)","rgba(54, 162, 235, 0.22)","rgba(153, 102, 255, 0.22)","rgba(201, 203, 207, 0.22)","rgba(236, 72, 153, 0.22)","rgba(16, 185, 129, 0.22)","rgba(14, 165, 233, 0.22)"],d=["rgb(255, 99, 132)","rgb(255, 159, 64)","rgb(255, 205, 86)","rgb(75, 192, 192)","rgb(54, 162, 235)","rgb(153, 102, 255)","rgb(201, 203, 207)","rgb(236, 72, 153)","rgb(16, 185, 129)","rgb(14, 165, 233)"];function l(t){return Array.from({length:t},(t,e)=>({background:i[e%i.length],border:d[e%d.length]}))}function h(i,d){!function(t){const e=a.get(t);e&&(e.forEach(t=>{t?.destroy&&t.destroy()}),a.delete(t))}(i),i.innerHTML="";const h=i.getAttribute("data-types"),m=h?h.split(",").map(t=>t.trim()).filter(Boolean):["tags","categories","articles","comments","topArticles"],p=[];if(m.includes("tags")||m.includes("categories")){const e=m.includes("tags")?d.tags:null,a=m.includes("categories")?d.categories:null;p.push(...function(e,a,o){const s=r(e,"标签与分类统计","展示全部标签和分类的文章数量占比"),i=[],d=(a||[]).map(t=>({name:t?.name??n(t,"spec.displayName")??n(t,"metadata.name")??"未命名标签",count:Number(t?.count??t?.total??n(t,"status.visiblePostCount",0))})).filter(t=>t.count>0).sort((t,e)=>e.count-t.count),l=(o||[]).map(t=>({name:t?.name??n(t,"spec.displayName")??n(t,"metadata.name")??"未命名分类",count:Number(t?.total??t?.count??n(t,"status.visiblePostCount",0))})).filter(t=>t.count>0).sort((t,e)=>e.count-t.count);if(!d.length&&!l.length)return s.innerHTML='<div class="xhhaocom-chartboard-empty">暂无标签或分类数据</div>',[];const h=[];if(d.length){const e=(a?.length||0)-d.length,o=c(s,e>0?`已使用标签 ${d.length} 个（另有 ${e} 个未使用）`:`已使用标签 ${d.length} 个`),n=o.closest(".xhhaocom-chartboard-card");n&&n.classList.add("xhhaocom-chartboard-card--animated");const r=new Chart(o,{type:"doughnut",data:{labels:d.map(t=>t.name),datasets:[{data:d.map(t=>t.count),backgroundColor:d.map((e,a)=>t[a%t.length]),borderWidth:2,borderColor:"#ffffff",cutout:"55%",hoverOffset:8,hoverBorderWidth:3}]},options:{maintainAspectRatio:!1,animation:{animateRotate:!0,animateScale:!0,duration:1200,easing:"easeOutQuart"},interaction:{intersect:!1,mode:"point"},plugins:{legend:{display:!1},tooltip:{enabled:!0,backgroundColor:"rgba(0, 0, 0, 0.8)",padding:12,cornerRadius:8,displayColors:!0,callbacks:{label:t=>`${t.label}: ${t.raw} 篇文章`}}},onHover:(t,e)=>{o.style.cursor=e.length>0?"pointer":"default"}}});r.canvas.style.height="220px",r.canvas.style.maxHeight="220px",r.resize(),h.push(r),n&&i.push(n)}if(l.length){const e=(o?.length||0)-l.length,a=c(s,e>0?`已使用分类 ${l.length} 个（另有 ${e} 个未使用）`:`已使用分类 ${l.length} 个`),n=a.closest(".xhhaocom-chartboard-card");n&&n.classList.add("xhhaocom-chartboard-card--animated");const r=[...l].sort((t,e)=>t.count-e.count),d=new Chart(a,{type:"line",data:{labels:r.map(t=>t.name),datasets:[{label:"文章数量",data:r.map(t=>t.count),borderColor:t[0],backgroundColor:t[0]+"20",borderWidth:3,fill:!0,tension:.4,pointRadius:5,pointHoverRadius:8,pointBackgroundColor:t[0],pointBorderColor:"#ffffff",pointBorderWidth:2,pointHoverBackgroundColor:t[0],pointHoverBorderColor:"#ffffff",pointHoverBorderWidth:3}]},options:{maintainAspectRatio:!1,animation:{duration:1500,easing:"easeOutQuart"},interaction:{intersect:!1,mode:"index"},scales:{x:{beginAtZero:!1,grid:{display:!1},ticks:{font:{size:11},maxRotation:45,minRotation:0}},y:{beginAtZero:!0,grid:{color:"rgba(0, 0, 0, 0.05)",drawBorder:!1},ticks:{font:{size:11},callback:t=>Number(t)}}},plugins:{legend:{display:!1},tooltip:{enabled:!0,backgroundColor:"rgba(0, 0, 0, 0.8)",padding:12,cornerRadius:8,displayColors:!0,callbacks:{label:t=>`${t.label}: ${t.raw} 篇文章`}}},onHover:(t,e)=>{a.style.cursor=e.length>0?"pointer":"default"}}});h.push(d),n&&i.push(n)}return 1===i.length&&(i[0].style.gridColumn="span 2"),h}(i,e,a))}m.includes("articles")&&p.push(...function(t,a,o=!1){const n=r(t,"文章发布趋势","按日期统计文章发布数量"),c=new Map;if((a||[]).forEach(t=>{const e=t.date||t.name;if(!e)return;const a=new Date(e);if(Number.isNaN(a.valueOf()))return;a.setHours(0,0,0,0);const o=s(a),n=Number(t.articleTotal??t.total??t.count??0),r=Number(t.momentTotal??0),i=Number(t.total??0),d=Number.isFinite(i)?i:n+r,l=c.get(o)||{total:0,articleTotal:0,momentTotal:0};c.set(o,{total:l.total+d,articleTotal:l.articleTotal+n,momentTotal:l.momentTotal+r})}),!c.size)return n.innerHTML='<div class="xhhaocom-chartboard-empty">暂无文章数据</div>',[];const i=new Date;i.setHours(0,0,0,0);const d=new Date(i),l=new Date(d.getTime()-314496e5),h=new Date(l),m=(h.getDay()+6)%7;h.setDate(h.getDate()-m);const p=Math.floor((d-h)/e)+1,u=Math.ceil(p/7),g=Array.from({length:u},(t,a)=>new Date(h.getTime()+7*a*e)),b=Math.max(...[...c.values()].map(t=>t.total),0),f=document.createElement("div");f.className="xhhaocom-chartboard-card xhhaocom-chartboard-card--heatmap",f.style.gridColumn="1 / -1";const v=document.createElement("div");v.className="xhhaocom-chartboard-heatmap";const x=document.createElement("div");x.className="xhhaocom-chartboard-heatmap__tooltip",x.style.display="none",f.appendChild(x);const y=document.createElement("div");y.className="xhhaocom-chartboard-heatmap__months";const C=document.createElement("div");C.className="xhhaocom-chartboard-heatmap__weekdays",["一","二","三","四","五","六","日"].forEach(t=>{const e=document.createElement("div");e.className="xhhaocom-chartboard-heatmap__weekday",e.textContent=t,C.appendChild(e)});const w=document.createElement("div");w.className="xhhaocom-chartboard-heatmap__grid";const M=()=>{const t=f.getBoundingClientRect();if(0===t.width)return void requestAnimationFrame(M);if(window.innerWidth<=768){const t="12px";return y.style.gridTemplateColumns=`repeat(${u}, ${t})`,w.style.gridTemplateColumns=`repeat(${u}, ${t})`,document.documentElement.style.setProperty("--chartboard-heatmap-cell",t),void document.documentElement.style.setProperty("--chartboard-heatmap-cell-width",t)}const e=t.width-40-30-10,a=`${Math.max(8,Math.floor((e-4*(u-1))/u))}px`;y.style.gridTemplateColumns=`repeat(${u}, ${a})`,w.style.gridTemplateColumns=`repeat(${u}, ${a})`,document.documentElement.style.setProperty("--chartboard-heatmap-cell",a),document.documentElement.style.setProperty("--chartboard-heatmap-cell-width",a)},E=new ResizeObserver(()=>{M()});let $;const _=()=>{clearTimeout($),$=setTimeout(()=>{M()},150)},T=t=>{if(!t||!b)return 0;if(b<=1)return t>0?1:0;const e=Math.max(1,Math.ceil(.25*b)),a=Math.max(e+1,Math.ceil(.5*b));return t>=Math.max(a+1,Math.ceil(.75*b))?4:t>=a?3:t>=e?2:1},N=(t,e,a)=>{const n=a?.articleTotal??0,r=a?.momentTotal??0,c=[`<strong>${e}</strong>`];o?(n>0&&r>0?c.push(`<span>发布了 ${n} 篇文章和 ${r} 条瞬间</span>`):n>0?c.push(`<span>发布了 ${n} 篇文章</span>`):r>0?c.push(`<span>发布了 ${r} 条瞬间</span>`):c.push("<span>当天没有发布内容</span>")):n>0?c.push(`<span>发布了 ${n} 篇文章</span>`):c.push("<span>当天没有发布文章</span>"),x.innerHTML=c.join(""),x.style.display="flex";const s=f.getBoundingClientRect(),i=x.getBoundingClientRect();let d=t.clientX-s.left+12,l=t.clientY-s.top-i.height-10;d+i.width>s.width&&(d=s.width-i.width-8),l<0&&(l=t.clientY-s.top+12),x.style.transform=`translate(${Math.round(d)}px, ${Math.round(l)}px)`},L=()=>{x.style.display="none",x.style.transform="translate(-9999px, -9999px)"},k=["一月","二月","三月","四月","五月","六月","七月","八月","九月","十月","十一月","十二月"];let H=[];{const t=new Date(l.getFullYear(),l.getMonth(),1),a=new Date(d.getFullYear(),d.getMonth(),1);for(;t<=a;){const a=new Date(t),o=new Date(t.getFullYear(),t.getMonth()+1,0),n=a<l?new Date(l):a,r=o>d?new Date(d):o,c=Math.floor((n-h)/e),s=Math.floor((r-h)/e),i=Math.max(0,Math.min(u-1,Math.floor(c/7))),m=Math.max(i+1,Math.min(u,Math.floor(s/7)+1));H.push({label:k[t.getMonth()],start:i,end:m}),t.setMonth(t.getMonth()+1)}}if(H.length){const t=[];let e=0;H.forEach(a=>{let o=Math.max(e,a.start),n=Math.max(o+1,a.end);o=Math.min(o,u-1),n=Math.min(n,u),o>=u||(t.push({label:a.label,start:o,end:n}),e=n)}),H=t}g.forEach((t,a)=>{const o=document.createElement("div");o.className="xhhaocom-chartboard-heatmap__column";for(let a=0;a<7;a++){const n=new Date(t.getTime()+a*e),r=document.createElement("div");r.className="xhhaocom-chartboard-heatmap__day";const i=s(n);if(n>=l&&n<=d){const t=c.get(i)||{total:0,articleTotal:0,momentTotal:0},e=T(t.total);r.dataset.level=e.toString(),r.dataset.value=t.total.toString(),r.dataset.date=i;const a=e=>N(e,i,t);r.addEventListener("mouseenter",a),r.addEventListener("mousemove",a),r.addEventListener("mouseleave",L)}else r.classList.add("is-outside");o.appendChild(r)}w.appendChild(o)}),f.addEventListener("mouseleave",L);let R=0;if(H.forEach(t=>{if(t.start>R){const e=document.createElement("div");e.className="xhhaocom-chartboard-heatmap__month is-placeholder",e.style.gridColumn="span "+(t.start-R),y.appendChild(e)}const e=Math.max(1,t.end-t.start),a=document.createElement("div");a.className="xhhaocom-chartboard-heatmap__month",a.textContent=t.label,a.style.gridColumn=`span ${e}`,y.appendChild(a),R=t.end}),R<u){const t=document.createElement("div");t.className="xhhaocom-chartboard-heatmap__month is-placeholder",t.style.gridColumn="span "+(u-R),y.appendChild(t)}v.appendChild(C),v.appendChild(y),v.appendChild(w);const D=document.createElement("div");D.className="xhhaocom-chartboard-heatmap__footer";const B=document.createElement("div");B.className="xhhaocom-chartboard-heatmap__date-range",B.textContent=`${s(l)} 至 ${s(d)}`,D.appendChild(B);const A=document.createElement("div");A.className="xhhaocom-chartboard-heatmap__legend";const S=document.createElement("span");S.textContent="较少",A.appendChild(S),[0,1,2,3,4].forEach(t=>{const e=document.createElement("span");e.className="xhhaocom-chartboard-heatmap__legend-dot",e.dataset.level=t.toString(),A.appendChild(e)});const z=document.createElement("span");return z.textContent="较多",A.appendChild(z),D.appendChild(A),v.appendChild(D),f.appendChild(v),n.appendChild(f),E.observe(f),window.addEventListener("resize",_),window.addEventListener("orientationchange",_),M(),[{type:"heatmap"}]}(i,d.articles,Boolean(d.enableMomentHeatmap))),m.includes("comments")&&p.push(...function(t,e){const a=r(t,"评论活跃用户","按评论作者统计评论数量");if(!e?.length)return a.innerHTML='<div class="xhhaocom-chartboard-empty">暂无评论数据</div>',[];const o=e.map(t=>({name:t?.username||t?.name||t?.email||"匿名",count:Number(t?.count??0)})).filter(t=>t.count>0).sort((t,e)=>e.count-t.count).slice(0,10);if(!o.length)return a.innerHTML='<div class="xhhaocom-chartboard-empty">暂无评论数据</div>',[];const n=c(a,`活跃评论用户 Top ${o.length}`),s=n.closest(".xhhaocom-chartboard-card");s&&s.classList.add("xhhaocom-chartboard-card--animated");const i=l(o.length);return[new Chart(n,{type:"bar",data:{labels:o.map(t=>t.name),datasets:[{label:"评论数量",data:o.map(t=>t.count),backgroundColor:i.map(t=>t.background),borderColor:i.map(t=>t.border),borderWidth:1.5,borderRadius:{topLeft:14,topRight:14,bottomLeft:14,bottomRight:14},barPercentage:.65,categoryPercentage:.6}]},options:{maintainAspectRatio:!1,animation:{duration:1400,easing:"easeOutQuart"},interaction:{mode:"index",intersect:!1},scales:{y:{beginAtZero:!0,grid:{color:"rgba(148, 163, 184, 0.18)",drawBorder:!1,borderDash:[4,4]},ticks:{precision:0,font:{size:12}}},x:{grid:{drawBorder:!1},ticks:{font:{size:12},autoSkip:!1}}},plugins:{legend:{display:!1},tooltip:{backgroundColor:"rgba(15, 23, 42, 0.88)",cornerRadius:8,padding:12,displayColors:!1,callbacks:{title:t=>t[0]?.label||"",label:t=>`评论 ${t.raw} 次`}}},onHover:(t,e)=>{n.style.cursor=e.length?"pointer":"default"}}})]}(i,d.comments)),m.includes("topArticles")&&p.push(...function(t,e){const a=r(t,"热门文章 Top10","按访问量排序的热门文章");if(!e?.length)return a.innerHTML='<div class="xhhaocom-chartboard-empty">暂无热门文章数据</div>',[];const n=e.map(t=>({name:t.name||"未命名文章",views:Number(t.views??t.count??0)})).filter(t=>t.views>0).sort((t,e)=>e.views-t.views).slice(0,10);if(!n.length)return a.innerHTML='<div class="xhhaocom-chartboard-empty">暂无热门文章数据</div>',[];const s=c(a,`热门文章 Top ${n.length}`),i=s.closest(".xhhaocom-chartboard-card");i&&i.classList.add("xhhaocom-chartboard-card--animated");const d=l(n.length),h=window.innerWidth<=768;return[new Chart(s,{type:"bar",data:{labels:n.map(t=>t.name.length>16?t.name.slice(0,16)+"…":t.name),datasets:[{label:"访问量",data:n.map(t=>t.views),backgroundColor:d.map(t=>t.background),borderColor:d.map(t=>t.border),borderWidth:1.5,borderRadius:{topLeft:14,topRight:14,bottomLeft:14,bottomRight:14},barPercentage:.65,categoryPercentage:.6}]},options:{maintainAspectRatio:!1,animation:{duration:1500,easing:"easeOutQuart"},interaction:{mode:"index",intersect:!1},scales:{y:{beginAtZero:!0,grid:{color:"rgba(148, 163, 184, 0.18)",drawBorder:!1,borderDash:[4,4]},ticks:{callback:t=>o(t),font:{size:12}}},x:{grid:{drawBorder:!1},ticks:{display:!h,font:{size:12},autoSkip:!1}}},plugins:{legend:{display:!1},tooltip:{backgroundColor:"rgba(15, 23, 42, 0.88)",cornerRadius:8,padding:12,displayColors:!1,callbacks:{title:t=>t[0]?.label||"",label:t=>`访问量 ${o(t.raw)}`}}},onHover:(t,e)=>{s.style.cursor=e.length?"pointer":"default"}}})]}(i,d.top10Articles));const u=p.filter(t=>t&&"function"==typeof t.destroy);u.length>0&&a.set(i,u),0===i.children.length&&(i.innerHTML='<div class="xhhaocom-chartboard-empty">暂无可展示的数据</div>')}function m(t,e=50){"undefined"==typeof Chart?e<=0?console.error("[ChartBoard] Chart.js 加载超时"):setTimeout(()=>m(t,e-1),100):t()}function p(){m(()=>{document.querySelectorAll(".xhhaocom-chartboard").forEach(t=>{t.hasAttribute("data-initialized")||(t.setAttribute("data-initialized","true"),function(t){t.classList.add("xhhaocom-chartboard"),t.innerHTML='<div class="xhhaocom-chartboard-loading">数据加载中…</div>',fetch("/apis/api.data.statistics.xhhao.com/v1alpha1/chart/data").then(t=>{if(!t.ok)throw new Error(`HTTP ${t.status}`);return t.json()}).then(e=>h(t,e||{})).catch(e=>{console.error("[ChartBoard] fetch error:",e),t.innerHTML=`<div class="xhhaocom-chartboard-error">获取图表数据失败：${e.message}</div>`})}(t))})})}var u;if(u=p,"loading"===document.readyState?document.addEventListener("DOMContentLoaded",u):u(),"undefined"!=typeof MutationObserver){new MutationObserver(()=>{p()}).observe(document.body,{childList:!0,subtree:!0})}}();
\ No newline at end of file
+!function(){"use strict";const t=["#3b82f6","#10b981","#f59e0b","#ef4444","#8b5cf6","#ec4899","#14b8a6","#f97316","#6366f1","#0ea5e9"],e=864e5,a=new Map;function o(t){const e=Number(t)||0;return e>=1e6?(e/1e6).toFixed(1)+"M":e>=1e3?(e/1e3).toFixed(1)+"K":e.toString()}function n(t,e,a=void 0){return e.split(".").reduce((t,e)=>{if(t&&Object.prototype.hasOwnProperty.call(t,e))return t[e]},t)??a}function r(t,e,a){const o=document.createElement("section");o.className="xhhaocom-chartboard-section";const n=document.createElement("header");n.className="xhhaocom-chartboard-section__header",n.innerHTML=`\n            <div class="xhhaocom-chartboard-section__title">${e}</div>\n            ${a?`<div class="xhhaocom-chartboard-section__subtitle">${a}</div>`:""}\n        `,o.appendChild(n);const r=document.createElement("div");return r.className="xhhaocom-chartboard-section__body",o.appendChild(r),t.appendChild(o),r}function c(t,e){const a=document.createElement("div");a.className="xhhaocom-chartboard-card";const o=document.createElement("div");o.className="xhhaocom-chartboard-card__canvas";const n=document.createElement("canvas");if(o.appendChild(n),a.appendChild(o),e){const t=document.createElement("footer");t.className="xhhaocom-chartboard-card__footer",t.textContent=e,a.appendChild(t)}return t.appendChild(a),n}function s(t){return`${t.getFullYear()}-${String(t.getMonth()+1).padStart(2,"0")}-${String(t.getDate()).padStart(2,"0")}`}const i=["rgba(255, 99, 132, 0.22)","rgba(255, 159, 64, 0.22)","rgba(255, 205, 86, 0.22)","rgba(75, 192, 192, 0.22)","rgba(54, 162, 235, 0.22)","rgba(153, 102, 255, 0.22)","rgba(201, 203, 207, 0.22)","rgba(236, 72, 153, 0.22)","rgba(16, 185, 129, 0.22)","rgba(14, 165, 233, 0.22)"],d=["rgb(255, 99, 132)","rgb(255, 159, 64)","rgb(255, 205, 86)","rgb(75, 192, 192)","rgb(54, 162, 235)","rgb(153, 102, 255)","rgb(201, 203, 207)","rgb(236, 72, 153)","rgb(16, 185, 129)","rgb(14, 165, 233)"];function l(t){return Array.from({length:t},(t,e)=>({background:i[e%i.length],border:d[e%d.length]}))}function h(i,d){!function(t){const e=a.get(t);e&&(e.forEach(t=>{t?.destroy&&t.destroy()}),a.delete(t))}(i),i.innerHTML="";const m=enabledTypesOf(i),p=[];if(m.includes("tags")||m.includes("categories")){const e=m.includes("tags")?d.tags:null,a=m.includes("categories")?d.categories:null;p.push(...function(e,a,o){const s=r(e,"标签与分类统计","展示全部标签和分类的文章数量占比"),i=[],d=(a||[]).map(t=>({name:t?.name??n(t,"spec.displayName")??n(t,"metadata.name")??"未命名标签",count:Number(t?.count??t?.total??n(t,"status.visiblePostCount",0))})).filter(t=>t.count>0).sort((t,e)=>e.count-t.count),l=(o||[]).map(t=>({name:t?.name??n(t,"spec.displayName")??n(t,"metadata.name")??"未命名分类",count:Number(t?.total??t?.count??n(t,"status.visiblePostCount",0))})).filter(t=>t.count>0).sort((t,e)=>e.count-t.count);if(!d.length&&!l.length)return s.innerHTML='<div class="xhhaocom-chartboard-empty">暂无标签或分类数据</div>',[];const h=[];if(d.length){const e=(a?.length||0)-d.length,o=c(s,e>0?`已使用标签 ${d.length} 个（另有 ${e} 个未使用）`:`已使用标签 ${d.length} 个`),n=o.closest(".xhhaocom-chartboard-card");n&&n.classList.add("xhhaocom-chartboard-card--animated");const r=new Chart(o,{type:"doughnut",data:{labels:d.map(t=>t.name),datasets:[{data:d.map(t=>t.count),backgroundColor:d.map((e,a)=>t[a%t.length]),borderWidth:2,borderColor:"#ffffff",cutout:"55%",hoverOffset:8,hoverBorderWidth:3}]},options:{maintainAspectRatio:!1,animation:{animateRotate:!0,animateScale:!0,duration:1200,easing:"easeOutQuart"},interaction:{intersect:!1,mode:"point"},plugins:{legend:{display:!1},tooltip:{enabled:!0,backgroundColor:"rgba(0, 0, 0, 0.8)",padding:12,cornerRadius:8,displayColors:!0,callbacks:{label:t=>`${t.label}: ${t.raw} 篇文章`}}},onHover:(t,e)=>{o.style.cursor=e.length>0?"pointer":"default"}}});r.canvas.style.height="220px",r.canvas.style.maxHeight="220px",r.resize(),h.push(r),n&&i.push(n)}if(l.length){const e=(o?.length||0)-l.length,a=c(s,e>0?`已使用分类 ${l.length} 个（另有 ${e} 个未使用）`:`已使用分类 ${l.length} 个`),n=a.closest(".xhhaocom-chartboard-card");n&&n.classList.add("xhhaocom-chartboard-card--animated");const r=[...l].sort((t,e)=>t.count-e.count),d=new Chart(a,{type:"line",data:{labels:r.map(t=>t.name),datasets:[{label:"文章数量",data:r.map(t=>t.count),borderColor:t[0],backgroundColor:t[0]+"20",borderWidth:3,fill:!0,tension:.4,pointRadius:5,pointHoverRadius:8,pointBackgroundColor:t[0],pointBorderColor:"#ffffff",pointBorderWidth:2,pointHoverBackgroundColor:t[0],pointHoverBorderColor:"#ffffff",pointHoverBorderWidth:3}]},options:{maintainAspectRatio:!1,animation:{duration:1500,easing:"easeOutQuart"},interaction:{intersect:!1,mode:"index"},scales:{x:{beginAtZero:!1,grid:{display:!1},ticks:{font:{size:11},maxRotation:45,minRotation:0}},y:{beginAtZero:!0,grid:{color:"rgba(0, 0, 0, 0.05)",drawBorder:!1},ticks:{font:{size:11},callback:t=>Number(t)}}},plugins:{legend:{display:!1},tooltip:{enabled:!0,backgroundColor:"rgba(0, 0, 0, 0.8)",padding:12,cornerRadius:8,displayColors:!0,callbacks:{label:t=>`${t.label}: ${t.raw} 篇文章`}}},onHover:(t,e)=>{a.style.cursor=e.length>0?"pointer":"default"}}});h.push(d),n&&i.push(n)}return 1===i.length&&(i[0].style.gridColumn="span 2"),h}(i,e,a))}m.includes("articles")&&p.push(...function(t,a,o=!1){const n=r(t,"文章发布趋势","按日期统计文章发布数量"),c=new Map;if((a||[]).forEach(t=>{const e=t.date||t.name;if(!e)return;const a=new Date(e);if(Number.isNaN(a.valueOf()))return;a.setHours(0,0,0,0);const o=s(a),n=Number(t.articleTotal??t.total??t.count??0),r=Number(t.momentTotal??0),u=Number(t.commentTotal??0),i=Number(t.total??0),d=Number.isFinite(i)?i:n+r,l=c.get(o)||{total:0,articleTotal:0,momentTotal:0,commentTotal:0};c.set(o,{total:l.total+d,articleTotal:l.articleTotal+n,momentTotal:l.momentTotal+r,commentTotal:l.commentTotal+u})}),!c.size)return n.innerHTML='<div class="xhhaocom-chartboard-empty">暂无文章数据</div>',[];const i=new Date;i.setHours(0,0,0,0);const d=new Date(i),l=new Date(d.getTime()-314496e5),h=new Date(l),m=(h.getDay()+6)%7;h.setDate(h.getDate()-m);const p=Math.floor((d-h)/e)+1,u=Math.ceil(p/7),g=Array.from({length:u},(t,a)=>new Date(h.getTime()+7*a*e)),b=Math.max(...[...c.values()].map(t=>t.total),0),f=document.createElement("div");f.className="xhhaocom-chartboard-card xhhaocom-chartboard-card--heatmap",f.style.gridColumn="1 / -1";const v=document.createElement("div");v.className="xhhaocom-chartboard-heatmap";const x=document.createElement("div");x.className="xhhaocom-chartboard-heatmap__tooltip",x.style.display="none",f.appendChild(x);const y=document.createElement("div");y.className="xhhaocom-chartboard-heatmap__months";const C=document.createElement("div");C.className="xhhaocom-chartboard-heatmap__weekdays",["一","二","三","四","五","六","日"].forEach(t=>{const e=document.createElement("div");e.className="xhhaocom-chartboard-heatmap__weekday",e.textContent=t,C.appendChild(e)});const w=document.createElement("div");w.className="xhhaocom-chartboard-heatmap__grid";const M=()=>{const t=f.getBoundingClientRect();if(0===t.width)return void requestAnimationFrame(M);if(window.innerWidth<=768){const t="12px";return y.style.gridTemplateColumns=`repeat(${u}, ${t})`,w.style.gridTemplateColumns=`repeat(${u}, ${t})`,document.documentElement.style.setProperty("--chartboard-heatmap-cell",t),void document.documentElement.style.setProperty("--chartboard-heatmap-cell-width",t)}const e=t.width-40-30-10,a=`${Math.max(8,Math.floor((e-4*(u-1))/u))}px`;y.style.gridTemplateColumns=`repeat(${u}, ${a})`,w.style.gridTemplateColumns=`repeat(${u}, ${a})`,document.documentElement.style.setProperty("--chartboard-heatmap-cell",a),document.documentElement.style.setProperty("--chartboard-heatmap-cell-width",a)},E=new ResizeObserver(()=>{M()});let $;const _=()=>{clearTimeout($),$=setTimeout(()=>{M()},150)},T=t=>{if(!t||!b)return 0;if(b<=1)return t>0?1:0;const e=Math.max(1,Math.ceil(.25*b)),a=Math.max(e+1,Math.ceil(.5*b));return t>=Math.max(a+1,Math.ceil(.75*b))?4:t>=a?3:t>=e?2:1},N=(t,e,a)=>{const n=a?.articleTotal??0,r=a?.momentTotal??0,c=[`<strong>${e}</strong>`];o?(n>0&&r>0?c.push(`<span>发布了 ${n} 篇文章和 ${r} 条瞬间</span>`):n>0?c.push(`<span>发布了 ${n} 篇文章</span>`):r>0?c.push(`<span>发布了 ${r} 条瞬间</span>`):c.push("<span>当天没有发布内容</span>")):n>0?c.push(`<span>发布了 ${n} 篇文章</span>`):c.push("<span>当天没有发布文章</span>"),(a?.commentTotal??0)>0&&c.push(`<span>收到 ${a.commentTotal} 条评论</span>`),x.innerHTML=c.join(""),x.style.display="flex";const s=f.getBoundingClientRect(),i=x.getBoundingClientRect();let d=t.clientX-s.left+12,l=t.clientY-s.top-i.height-10;d+i.width>s.width&&(d=s.width-i.width-8),l<0&&(l=t.clientY-s.top+12),x.style.transform=`translate(${Math.round(d)}px, ${Math.round(l)}px)`},L=()=>{x.style.display="none",x.style.transform="translate(-9999px, -9999px)"},k=["一月","二月","三月","四月","五月","六月","七月","八月","九月","十月","十一月","十二月"];let H=[];{const t=new Date(l.getFullYear(),l.getMonth(),1),a=new Date(d.getFullYear(),d.getMonth(),1);for(;t<=a;){const a=new Date(t),o=new Date(t.getFullYear(),t.getMonth()+1,0),n=a<l?new Date(l):a,r=o>d?new Date(d):o,c=Math.floor((n-h)/e),s=Math.floor((r-h)/e),i=Math.max(0,Math.min(u-1,Math.floor(c/7))),m=Math.max(i+1,Math.min(u,Math.floor(s/7)+1));H.push({label:k[t.getMonth()],start:i,end:m}),t.setMonth(t.getMonth()+1)}}if(H.length){const t=[];let e=0;H.forEach(a=>{let o=Math.max(e,a.start),n=Math.max(o+1,a.end);o=Math.min(o,u-1),n=Math.min(n,u),o>=u||(t.push({label:a.label,start:o,end:n}),e=n)}),H=t}g.forEach((t,a)=>{const o=document.createElement("div");o.className="xhhaocom-chartboard-heatmap__column";for(let a=0;a<7;a++){const n=new Date(t.getTime()+a*e),r=document.createElement("div");r.className="xhhaocom-chartboard-heatmap__day";const i=s(n);if(n>=l&&n<=d){const t=c.get(i)||{total:0,articleTotal:0,momentTotal:0},e=T(t.total);r.dataset.level=e.toString(),r.dataset.value=t.total.toString(),r.dataset.date=i;const a=e=>N(e,i,t);r.addEventListener("mouseenter",a),r.addEventListener("mousemove",a),r.addEventListener("mouseleave",L)}else r.classList.add("is-outside");o.appendChild(r)}w.appendChild(o)}),f.addEventListener("mouseleave",L);let R=0;if(H.forEach(t=>{if(t.start>R){const e=document.createElement("div");e.className="xhhaocom-chartboard-heatmap__month is-placeholder",e.style.gridColumn="span "+(t.start-R),y.appendChild(e)}const e=Math.max(1,t.end-t.start),a=document.createElement("div");a.className="xhhaocom-chartboard-heatmap__month",a.textContent=t.label,a.style.gridColumn=`span ${e}`,y.appendChild(a),R=t.end}),R<u){const t=document.createElement("div");t.className="xhhaocom-chartboard-heatmap__month is-placeholder",t.style.gridColumn="span "+(u-R),y.appendChild(t)}v.appendChild(C),v.appendChild(y),v.appendChild(w);const D=document.createElement("div");D.className="xhhaocom-chartboard-heatmap__footer";const B=document.createElement("div");B.className="xhhaocom-chartboard-heatmap__date-range",B.textContent=`${s(l)} 至 ${s(d)}`,D.appendChild(B);const A=document.createElement("div");A.className="xhhaocom-chartboard-heatmap__legend";const S=document.createElement("span");S.textContent="较少",A.appendChild(S),[0,1,2,3,4].forEach(t=>{const e=document.createElement("span");e.className="xhhaocom-chartboard-heatmap__legend-dot",e.dataset.level=t.toString(),A.appendChild(e)});const z=document.createElement("span");return z.textContent="较多",A.appendChild(z),D.appendChild(A),v.appendChild(D),f.appendChild(v),n.appendChild(f),E.observe(f),window.addEventListener("resize",_),window.addEventListener("orientationchange",_),M(),[{type:"heatmap"}]}(i,d.articles,Boolean(d.enableMomentHeatmap))),m.includes("comments")&&p.push(...function(t,e){const a=r(t,"评论活跃用户","按评论作者统计评论数量");if(!e?.length)return a.innerHTML='<div class="xhhaocom-chartboard-empty">暂无评论数据</div>',[];const o=e.map(t=>({name:t?.username||t?.name||t?.email||"匿名",count:Number(t?.count??0)})).filter(t=>t.count>0).sort((t,e)=>e.count-t.count).slice(0,10);if(!o.length)return a.innerHTML='<div class="xhhaocom-chartboard-empty">暂无评论数据</div>',[];const n=c(a,`活跃评论用户 Top ${o.length}`),s=n.closest(".xhhaocom-chartboard-card");s&&s.classList.add("xhhaocom-chartboard-card--animated");const i=l(o.length);return[new Chart(n,{type:"bar",data:{labels:o.map(t=>t.name),datasets:[{label:"评论数量",data:o.map(t=>t.count),backgroundColor:i.map(t=>t.background),borderColor:i.map(t=>t.border),borderWidth:1.5,borderRadius:{topLeft:14,topRight:14,bottomLeft:14,bottomRight:14},barPercentage:.65,categoryPercentage:.6}]},options:{maintainAspectRatio:!1,animation:{duration:1400,easing:"easeOutQuart"},interaction:{mode:"index",intersect:!1},scales:{y:{beginAtZero:!0,grid:{color:"rgba(148, 163, 184, 0.18)",drawBorder:!1,borderDash:[4,4]},ticks:{precision:0,font:{size:12}}},x:{grid:{drawBorder:!1},ticks:{font:{size:12},autoSkip:!1}}},plugins:{legend:{display:!1},tooltip:{backgroundColor:"rgba(15, 23, 42, 0.88)",cornerRadius:8,padding:12,displayColors:!1,callbacks:{title:t=>t[0]?.label||"",label:t=>`评论 ${t.raw} 次`}}},onHover:(t,e)=>{n.style.cursor=e.length?"pointer":"default"}}})]}(i,d.comments)),m.includes("topArticles")&&p.push(...function(t,e){const a=r(t,"热门文章 Top10","按访问量排序的热门文章");if(!e?.length)return a.innerHTML='<div class="xhhaocom-chartboard-empty">暂无热门文章数据</div>',[];const n=e.map(t=>({name:t.name||"未命名文章",views:Number(t.views??t.count??0)})).filter(t=>t.views>0).sort((t,e)=>e.views-t.views).slice(0,10);if(!n.length)return a.innerHTML='<div class="xhhaocom-chartboard-empty">暂无热门文章数据</div>',[];const s=c(a,`热门文章 Top ${n.length}`),i=s.closest(".xhhaocom-chartboard-card");i&&i.classList.add("xhhaocom-chartboard-card--animated");const d=l(n.length),h=window.innerWidth<=768;return[new Chart(s,{type:"bar",data:{labels:n.map(t=>t.name.length>16?t.name.slice(0,16)+"…":t.name),datasets:[{label:"访问量",data:n.map(t=>t.views),backgroundColor:d.map(t=>t.background),borderColor:d.map(t=>t.border),borderWidth:1.5,borderRadius:{topLeft:14,topRight:14,bottomLeft:14,bottomRight:14},barPercentage:.65,categoryPercentage:.6}]},options:{maintainAspectRatio:!1,animation:{duration:1500,easing:"easeOutQuart"},interaction:{mode:"index",intersect:!1},scales:{y:{beginAtZero:!0,grid:{color:"rgba(148, 163, 184, 0.18)",drawBorder:!1,borderDash:[4,4]},ticks:{callback:t=>o(t),font:{size:12}}},x:{grid:{drawBorder:!1},ticks:{display:!h,font:{size:12},autoSkip:!1}}},plugins:{legend:{display:!1},tooltip:{backgroundColor:"rgba(15, 23, 42, 0.88)",cornerRadius:8,padding:12,displayColors:!1,callbacks:{title:t=>t[0]?.label||"",label:t=>`访问量 ${o(t.raw)}`}}},onHover:(t,e)=>{s.style.cursor=e.length?"pointer":"default"}}})]}(i,d.top10Articles));const u=p.filter(t=>t&&"function"==typeof t.destroy);u.length>0&&a.set(i,u),0===i.children.length&&(i.innerHTML='<div class="xhhaocom-chartboard-empty">暂无可展示的数据</div>')}const f=document.currentScript&&document.currentScript.dataset.chartSrc||"/plugins/data-statistics/assets/static/min/chart.umd.min.js";let g=null,inlineData;function enabledTypesOf(t){const e=t.getAttribute("data-types");return e?e.split(",").map(t=>t.trim()).filter(Boolean):["tags","categories","articles","comments","topArticles"]}function sectionsOf(t){return[...new Set(enabledTypesOf(t).map(t=>({tags:"tags",categories:"categories",articles:"heatmap",comments:"comments",topArticles:"top10"})[t]).filter(Boolean))]}function chartDataUrl(e){const a="/apis/api.data.statistics.xhhao.com/v1alpha1/chart/data";return e.length?`${a}?sections=${e.join(",")}`:a}function mergeSections(t,e){const a={...t};return Object.keys(e).forEach(t=>{null!=e[t]&&(a[t]=e[t])}),a}function readInlineData(){if(void 0!==inlineData)return inlineData;inlineData=null;const t=document.getElementById("data-statistics-chart-data");if(t)try{inlineData=JSON.parse(t.textContent)}catch(t){console.warn("[ChartBoard] inline data parse error:",t)}return inlineData}function m(){return"undefined"!=typeof Chart?Promise.resolve():(g||(g=new Promise((t,e)=>{const a=document.createElement("script");a.src=f,a.async=!0,a.onload=()=>t(),a.onerror=()=>{g=null,e(new Error("Chart.js 加载失败"))},document.head.appendChild(a)})),g)}function p(){const t=[...document.querySelectorAll(".xhhaocom-chartboard")].filter(t=>!t.hasAttribute("data-initialized"));if(!t.length)return;t.forEach(t=>t.setAttribute("data-initialized","true"));const e=function(t){t.classList.add("xhhaocom-chartboard");const e=readInlineData()||{},a=sectionsOf(t),n=a.filter(t=>null==e[{tags:"tags",categories:"categories",heatmap:"articles",comments:"comments",top10:"top10Articles"}[t]]);if(a.length&&!n.length)return void h(t,e);t.innerHTML='<div class="xhhaocom-chartboard-loading">数据加载中…</div>',fetch(chartDataUrl(n)).then(t=>{if(!t.ok)throw new Error(`HTTP ${t.status}`);return t.json()}).then(a=>h(t,mergeSections(e,a||{}))).catch(e=>{console.error("[ChartBoard] fetch error:",e),t.innerHTML=`<div class="xhhaocom-chartboard-error">获取图表数据失败：${e.message}</div>`})};m().then(()=>t.forEach(e)).catch(e=>{console.error("[ChartBoard]",e),t.forEach(t=>{t.innerHTML=`<div class="xhhaocom-chartboard-error">${e.message}</div>`})})}var u;if(u=p,"loading"===document.readyState?document.addEventListener("DOMContentLoaded",u):u(),"undefined"!=typeof MutationObserver){new MutationObserver(()=>{p()}).observe(document.body,{childList:!0,subtree:!0})}}();
\ No newline at end of file
@@ -0,0 +1,142 @@
+package com.xhhao.dataStatistics.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.xhhao.dataStatistics.config.CachePolicy;
+import com.xhhao.dataStatistics.extension.StatisticsLease;
+import com.xhhao.dataStatistics.service.StatisticalService;
+import com.xhhao.dataStatistics.vo.PieChartVO;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * 两个节点共用同一个内存扩展客户端，模拟连接同一数据库的两个 Halo 副本
+ * <p>租约最短 10 秒，每 10/3 秒读取一次，各步骤的等待时间按此留出余量。</p>
+ *
+ * @author Handsome
+ * @since 1.0.6
+ */
+class ClusterServiceImplTest {
+
+    private static final int LEASE_SECONDS = 10;
+    private static final Duration ELECTION_TIMEOUT = Duration.ofSeconds(5);
+    private static final Duration PUBLISH_TIMEOUT = Duration.ofSeconds(15);
+    private static final Duration HANDOVER_TIMEOUT = Duration.ofSeconds(8);
+
+    private final InMemoryExtensionClient extensions = new InMemoryExtensionClient();
+    private Node first;
+    private Node second;
+
+    @BeforeEach
+    void setUp() {
+        first = node("node-a", extensions);
+        second = node("node-b", extensions);
+        first.cluster().afterPropertiesSet();
+        second.cluster().afterPropertiesSet();
+    }
+
+    @AfterEach
+    void tearDown() {
+        first.cluster().destroy();
+        second.cluster().destroy();
+    }
+
+    @Test
+    void exactlyOneNodeBecomesLeader() {
+        await().atMost(ELECTION_TIMEOUT)
+            .until(() -> first.cluster().status().leaderId() != null
+                && second.cluster().status().leaderId() != null);
+
+        assertThat(first.cluster().isLeader()).isNotEqualTo(second.cluster().isLeader());
+        Node leader = first.cluster().isLeader() ? first : second;
+        assertThat(first.cluster().status().leaderId()).isEqualTo(leader.nodeId());
+        assertThat(second.cluster().status().leaderId()).isEqualTo(leader.nodeId());
+        assertThat(lease().getSpec().getHolder()).isEqualTo(leader.nodeId());
+    }
+
+    @Test
+    void followerServesPublishedGenerationWithoutRebuilding() {
+        Node leader = awaitLeader();
+        Node follower = leader == first ? second : first;
+
+        await().atMost(PUBLISH_TIMEOUT)
+            .until(() -> leader.cluster().status().generation() > 0
+                && follower.cluster().status().generation() == leader.cluster().status().generation());
+
+        assertThat(follower.shared().get()).isNotNull();
+        assertThat(follower.shared().get().getTags())
+            .extracting(PieChartVO.Tag::getName)
+            .containsExactly(leader.nodeId());
+        verify(follower.statisticalService(), never()).refreshPieChartVO();
+    }
+
+    @Test
+    void leaseMovesToOtherNodeWhenLeaderIsDestroyed() {
+        Node leader = awaitLeader();
+        Node follower = leader == first ? second : first;
+
+        leader.cluster().destroy();
+
+        await().atMost(HANDOVER_TIMEOUT).until(() -> follower.cluster().isLeader());
+        assertThat(lease().getSpec().getHolder()).isEqualTo(follower.nodeId());
+        // 新主节点恢复本地统计
+        assertThat(follower.shared().get()).isNull();
+    }
+
+    private Node awaitLeader() {
+        await().atMost(ELECTION_TIMEOUT).until(() -> first.cluster().isLeader() || second.cluster().isLeader());
+        return first.cluster().isLeader() ? first : second;
+    }
+
+    private StatisticsLease lease() {
+        return extensions.client().fetch(StatisticsLease.class, StatisticsLease.NAME).block();
+    }
+
+    /**
+     * 单个节点：统计服务只记录收到的共享图表数据，重建时返回以节点标识为标签名的图表数据
+     */
+    private static Node node(String nodeId, InMemoryExtensionClient extensions) {
+        FixedSettingConfigGetter settings = new FixedSettingConfigGetter();
+        settings.getCluster().setEnabled(true);
+        settings.getCluster().setLeaseSeconds(LEASE_SECONDS);
+
+        AtomicReference<PieChartVO> shared = new AtomicReference<>();
+        StatisticalService statisticalService = mock(StatisticalService.class);
+        when(statisticalService.refreshPieChartVO()).thenReturn(Mono.fromSupplier(() -> pieChart(nodeId)));
+        doAnswer(invocation -> {
+            shared.set(invocation.getArgument(0));
+            return null;
+        }).when(statisticalService).useSharedPieChart(any());
+
+        ClusterServiceImpl cluster = new ClusterServiceImpl(extensions.client(), statisticalService, settings,
+            new CachePolicy(settings), nodeId);
+        return new Node(nodeId, cluster, statisticalService, shared);
+    }
+
+    private static PieChartVO pieChart(String label) {
+        PieChartVO.Tag tag = new PieChartVO.Tag();
+        tag.setName(label);
+        tag.setCount(1);
+        PieChartVO pieChartVO = new PieChartVO();
+        pieChartVO.setTags(List.of(tag));
+        return pieChartVO;
+    }
+
+    private record Node(String nodeId, ClusterServiceImpl cluster, StatisticalService statisticalService,
+                        AtomicReference<PieChartVO> shared) {}
+}
@@ -0,0 +1,255 @@
+package com.xhhao.dataStatistics.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.reactivestreams.Subscription;
+import org.springframework.mock.env.MockEnvironment;
+
+import com.xhhao.dataStatistics.config.AggregationScheduler;
+import com.xhhao.dataStatistics.config.CachePolicy;
+import com.xhhao.dataStatistics.config.PluginWorkDir;
+import com.xhhao.dataStatistics.index.CommentActivityIndex;
+import com.xhhao.dataStatistics.index.CommenterIndex;
+import com.xhhao.dataStatistics.index.PostPermalinkIndex;
+import com.xhhao.dataStatistics.index.PostPublishDayIndex;
+import com.xhhao.dataStatistics.index.PostRollupCube;
+import com.xhhao.dataStatistics.index.PostStatsIndex;
+import com.xhhao.dataStatistics.index.PostWordCountIndex;
+import com.xhhao.dataStatistics.index.TagCooccurrenceIndex;
+import com.xhhao.dataStatistics.index.UniqueCommenterIndex;
+import com.xhhao.dataStatistics.service.ExtensionScanner;
+import com.xhhao.dataStatistics.service.StatisticalService.Section;
+import com.xhhao.dataStatistics.vo.PieChartVO;
+
+import reactor.core.publisher.BaseSubscriber;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import run.halo.app.core.extension.content.Post;
+import run.halo.app.extension.Extension;
+import run.halo.app.extension.GroupVersionKind;
+import run.halo.app.extension.ListOptions;
+import run.halo.app.extension.ListResult;
+import run.halo.app.extension.Metadata;
+import run.halo.app.extension.PageRequest;
+import run.halo.app.extension.ReactiveExtensionClient;
+
+/**
+ * 分块扫描只按需读取下一页，折叠时保留的页数和 Top 10 小顶堆的大小都与文章总数无关
+ *
+ * @author Handsome
+ * @since 1.0.6
+ */
+class ExtensionScannerImplTest {
+
+    private static final int CHUNK_SIZE = ExtensionScanner.DEFAULT_CHUNK_SIZE;
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+
+    @TempDir
+    Path workDir;
+
+    private final FixedSettingConfigGetter settings = new FixedSettingConfigGetter();
+    private AggregationScheduler aggregationScheduler;
+
+    @BeforeEach
+    void setUp() {
+        aggregationScheduler = new AggregationScheduler(new CachePolicy(settings));
+    }
+
+    @AfterEach
+    void tearDown() {
+        aggregationScheduler.destroy();
+    }
+
+    @Test
+    void scanReadsNextPageOnlyWhenRequested() {
+        GeneratedPosts posts = new GeneratedPosts(1_000 * CHUNK_SIZE);
+        ExtensionScannerImpl scanner = new ExtensionScannerImpl(posts.client(), aggregationScheduler);
+        List<Integer> fetchedOnReceive = new ArrayList<>();
+
+        scanner.scan(Post.class, new ListOptions(), CHUNK_SIZE).subscribe(new BaseSubscriber<>() {
+            @Override
+            protected void hookOnSubscribe(Subscription subscription) {
+                request(1);
+            }
+
+            @Override
+            protected void hookOnNext(List<Post> chunk) {
+                fetchedOnReceive.add(posts.fetchedPages());
+                if (fetchedOnReceive.size() == 3) {
+                    cancel();
+                } else {
+                    request(1);
+                }
+            }
+        });
+
+        // 第 k 页到达时最多多读了一页；取消后不再读取
+        for (int i = 0; i < fetchedOnReceive.size(); i++) {
+            assertThat(fetchedOnReceive.get(i)).isLessThanOrEqualTo(i + 2);
+        }
+        assertThat(fetchedOnReceive).hasSize(3);
+        assertThat(posts.fetchedPages()).isLessThanOrEqualTo(4);
+    }
+
+    @Test
+    void foldRetainsBoundedNumberOfPages() {
+        assertThat(maxRetainedPages(10)).isLessThanOrEqualTo(3);
+        assertThat(maxRetainedPages(100)).isLessThanOrEqualTo(3);
+    }
+
+    @Test
+    void top10HeapNeverExceedsEleven() {
+        int postCount = 50 * CHUNK_SIZE;
+        GeneratedPosts posts = new GeneratedPosts(postCount);
+        AtomicInteger maxHeapSize = new AtomicInteger();
+        ExtensionScanner scanner = new ObservingScanner(
+            new ExtensionScannerImpl(posts.client(), aggregationScheduler), maxHeapSize);
+
+        PieChartVO pieChartVO = newService(posts.client(), scanner)
+            .getPieChartVO(EnumSet.of(Section.TOP10))
+            .block(TIMEOUT);
+
+        assertThat(maxHeapSize.get()).isBetween(10, 11);
+        assertThat(pieChartVO.getTop10Articles())
+            .extracting(PieChartVO.Top10Article::getViews)
+            .containsExactlyElementsOf(IntStream.range(0, 10).mapToObj(i -> postCount - 1 - i).toList());
+    }
+
+    /**
+     * 折叠期间已读取但尚未折叠完的最大页数，含正在折叠的这一页
+     */
+    private int maxRetainedPages(int pages) {
+        GeneratedPosts posts = new GeneratedPosts(pages * CHUNK_SIZE);
+        ExtensionScannerImpl scanner = new ExtensionScannerImpl(posts.client(), aggregationScheduler);
+        AtomicInteger folded = new AtomicInteger();
+        AtomicInteger maxRetained = new AtomicInteger();
+
+        int[] total = scanner.fold(Post.class, new ListOptions(), () -> new int[1], (int[] count, Post post) -> {
+                int unfolded = posts.fetchedPages() - folded.getAndIncrement() / CHUNK_SIZE;
+                maxRetained.accumulateAndGet(unfolded, Math::max);
+                count[0]++;
+            })
+            .block(TIMEOUT);
+
+        assertThat(total[0]).isEqualTo(pages * CHUNK_SIZE);
+        assertThat(posts.fetchedPages()).isEqualTo(pages);
+        return maxRetained.get();
+    }
+
+    private StatisticalServiceImpl newService(ReactiveExtensionClient client, ExtensionScanner scanner) {
+        CachePolicy cachePolicy = new CachePolicy(settings);
+        PluginWorkDir pluginWorkDir = new PluginWorkDir(
+            new MockEnvironment().withProperty("halo.work-dir", workDir.toString()));
+        return new StatisticalServiceImpl(client, scanner, settings,
+            new PostRollupCube(),
+            new PostPublishDayIndex(),
+            new CommenterIndex(),
+            new CommentActivityIndex(),
+            new PostPermalinkIndex(),
+            new TagCooccurrenceIndex(),
+            new UniqueCommenterIndex(scanner),
+            new PostStatsIndex(),
+            new PostWordCountIndex(null, pluginWorkDir),
+            cachePolicy,
+            aggregationScheduler);
+    }
+
+    /**
+     * 每页在被订阅时才生成，记录已读取的页数；访问量是 0 到总数减一的一个排列，最大值不在最后一页
+     */
+    private static final class GeneratedPosts implements InvocationHandler {
+
+        private static final int STRIDE = 7919;
+
+        private final int total;
+        private final AtomicInteger fetchedPages = new AtomicInteger();
+
+        GeneratedPosts(int total) {
+            this.total = total;
+        }
+
+        ReactiveExtensionClient client() {
+            return (ReactiveExtensionClient) Proxy.newProxyInstance(ReactiveExtensionClient.class.getClassLoader(),
+                new Class<?>[] {ReactiveExtensionClient.class}, this);
+        }
+
+        int fetchedPages() {
+            return fetchedPages.get();
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) {
+            if (!"listBy".equals(method.getName()) || !(args[2] instanceof PageRequest pageRequest)) {
+                throw new UnsupportedOperationException(method.toString());
+            }
+            return Mono.fromSupplier(() -> page(pageRequest.getPageNumber(), pageRequest.getPageSize()));
+        }
+
+        private ListResult<Post> page(int page, int size) {
+            fetchedPages.incrementAndGet();
+            int from = Math.min(total, (page - 1) * size);
+            int to = Math.min(total, from + size);
+            return new ListResult<>(page, size, total, IntStream.range(from, to)
+                .mapToObj(i -> post(i, (int) ((long) i * STRIDE % total)))
+                .toList());
+        }
+
+        private static Post post(int i, int visits) {
+            Post post = new Post();
+            Metadata metadata = new Metadata();
+            metadata.setName("post-" + i);
+            metadata.setAnnotations(Map.of("content.halo.run/stats", "{\"visit\":" + visits + "}"));
+            post.setMetadata(metadata);
+            Post.PostSpec spec = new Post.PostSpec();
+            spec.setTitle("文章 " + i);
+            post.setSpec(spec);
+            return post;
+        }
+    }
+
+    /**
+     * 每次累加后记录累加器（集合）的大小
+     */
+    private record ObservingScanner(ExtensionScanner delegate, AtomicInteger maxSize) implements ExtensionScanner {
+
+        @Override
+        public <E extends Extension> Flux<List<E>> scan(Class<E> type, ListOptions options, int chunkSize) {
+            return delegate.scan(type, options, chunkSize);
+        }
+
+        @Override
+        public Flux<List<String>> scanNames(GroupVersionKind type, ListOptions options, int chunkSize) {
+            return delegate.scanNames(type, options, chunkSize);
+        }
+
+        @Override
+        public <E extends Extension, A> Mono<A> fold(Class<E> type, ListOptions options,
+                                                     Supplier<A> initial, BiConsumer<A, ? super E> accumulator) {
+            return delegate.fold(type, options, initial, (acc, item) -> {
+                accumulator.accept(acc, item);
+                if (acc instanceof Collection<?> collection) {
+                    maxSize.accumulateAndGet(collection.size(), Math::max);
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.xhhao.dataStatistics.service.impl;
+
+import com.xhhao.dataStatistics.service.SettingConfigGetter;
+
+import lombok.Getter;
+import reactor.core.publisher.Mono;
+
+/**
+ * 测试用的插件设置，各分组默认为空设置，可以在创建服务前修改
+ *
+ * @author Handsome
+ * @since 1.0.6
+ */
+@Getter
+final class FixedSettingConfigGetter implements SettingConfigGetter {
+
+    private final BasicsConfig basics = new BasicsConfig();
+    private final CacheConfig cache = new CacheConfig();
+    private final ClusterConfig cluster = new ClusterConfig();
+
+    @Override
+    public Mono<BasicsConfig> getBasicsConfig() {
+        return Mono.just(basics);
+    }
+
+    @Override
+    public Mono<UmamiConfig> getUmamiConfig() {
+        return Mono.just(new UmamiConfig());
+    }
+
+    @Override
+    public Mono<UptimeConfig> getUptimeKumaConfig() {
+        return Mono.just(new UptimeConfig());
+    }
+
+    @Override
+    public Mono<GithubConfig> getGithubConfig() {
+        return Mono.just(new GithubConfig());
+    }
+
+    @Override
+    public Mono<RateLimitConfig> getRateLimitConfig() {
+        return Mono.just(new RateLimitConfig());
+    }
+
+    @Override
+    public Mono<CacheConfig> getCacheConfig() {
+        return Mono.just(cache);
+    }
+
+    @Override
+    public Mono<HttpClientConfig> getHttpClientConfig() {
+        return Mono.just(new HttpClientConfig());
+    }
+
+    @Override
+    public Mono<ClusterConfig> getClusterConfig() {
+        return Mono.just(cluster);
+    }
+}
@@ -0,0 +1,141 @@
+package com.xhhao.dataStatistics.service.impl;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+import reactor.core.publisher.Mono;
+import run.halo.app.extension.Extension;
+import run.halo.app.extension.ListResult;
+import run.halo.app.extension.PageRequest;
+import run.halo.app.extension.ReactiveExtensionClient;
+
+/**
+ * 测试用的内存扩展客户端，只实现统计插件用到的 fetch、create、update 与分页 listBy
+ * <p>按类型和名称保存扩展的副本，写入时校验 metadata.version，与 Halo 一样版本不一致的写入失败；
+ * 多个服务共用同一个实例即可模拟连接同一数据库的多个节点。</p>
+ * <p>listBy 忽略查询条件，按名称排序分页；结果延迟到 parallel 线程返回，与 Netty 线程回调的行为一致。</p>
+ *
+ * @author Handsome
+ * @since 1.0.6
+ */
+final class InMemoryExtensionClient implements InvocationHandler {
+
+    private static final ObjectMapper MAPPER = JsonMapper.builder()
+        .addModule(new JavaTimeModule())
+        .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+        .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+        .build();
+
+    private static final Duration LIST_LATENCY = Duration.ofMillis(1);
+
+    private final Map<Class<?>, TreeMap<String, Extension>> store = new ConcurrentHashMap<>();
+
+    private final ReactiveExtensionClient client = (ReactiveExtensionClient) Proxy.newProxyInstance(
+        ReactiveExtensionClient.class.getClassLoader(), new Class<?>[] {ReactiveExtensionClient.class}, this);
+
+    ReactiveExtensionClient client() {
+        return client;
+    }
+
+    /**
+     * 直接写入初始数据，不经过版本校验
+     */
+    synchronized void put(Extension extension) {
+        Extension stored = copy(extension);
+        stored.getMetadata().setVersion(1L);
+        store.computeIfAbsent(extension.getClass(), type -> new TreeMap<>())
+            .put(extension.getMetadata().getName(), stored);
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) {
+        return switch (method.getName()) {
+            case "fetch" -> {
+                if (!(args[0] instanceof Class<?> type)) {
+                    throw new UnsupportedOperationException(method.toString());
+                }
+                yield Mono.defer(() -> Mono.justOrEmpty(fetch(type, (String) args[1])));
+            }
+            case "create" -> Mono.defer(() -> Mono.just(create((Extension) args[0])));
+            case "update" -> Mono.defer(() -> Mono.just(update((Extension) args[0])));
+            case "listBy" -> {
+                if (args.length != 3 || !(args[0] instanceof Class<?> type)
+                    || !(args[2] instanceof PageRequest pageRequest)) {
+                    throw new UnsupportedOperationException(method.toString());
+                }
+                yield Mono.fromCallable(() -> list(type, pageRequest)).delayElement(LIST_LATENCY);
+            }
+            case "toString" -> "InMemoryExtensionClient";
+            case "hashCode" -> System.identityHashCode(proxy);
+            case "equals" -> proxy == args[0];
+            default -> throw new UnsupportedOperationException(method.toString());
+        };
+    }
+
+    private synchronized Extension fetch(Class<?> type, String name) {
+        Extension stored = store.getOrDefault(type, new TreeMap<>()).get(name);
+        return stored == null ? null : copy(stored);
+    }
+
+    private synchronized Extension create(Extension extension) {
+        TreeMap<String, Extension> byName = store.computeIfAbsent(extension.getClass(), type -> new TreeMap<>());
+        String name = extension.getMetadata().getName();
+        if (byName.containsKey(name)) {
+            throw new IllegalStateException("扩展已存在: " + name);
+        }
+        Extension stored = copy(extension);
+        stored.getMetadata().setVersion(1L);
+        byName.put(name, stored);
+        return copy(stored);
+    }
+
+    private synchronized Extension update(Extension extension) {
+        String name = extension.getMetadata().getName();
+        Extension existing = store.getOrDefault(extension.getClass(), new TreeMap<>()).get(name);
+        if (existing == null) {
+            throw new IllegalStateException("扩展不存在: " + name);
+        }
+        if (!Objects.equals(existing.getMetadata().getVersion(), extension.getMetadata().getVersion())) {
+            throw new IllegalStateException("扩展版本冲突: " + name);
+        }
+        Extension stored = copy(extension);
+        stored.getMetadata().setVersion(existing.getMetadata().getVersion() + 1);
+        store.get(extension.getClass()).put(name, stored);
+        return copy(stored);
+    }
+
+    private synchronized ListResult<Extension> list(Class<?> type, PageRequest pageRequest) {
+        List<Extension> all = List.copyOf(store.getOrDefault(type, new TreeMap<>()).values());
+        int page = pageRequest.getPageNumber();
+        int size = pageRequest.getPageSize();
+        int from = Math.min(all.size(), (page - 1) * size);
+        int to = Math.min(all.size(), from + size);
+        return new ListResult<>(page, size, all.size(), all.subList(from, to).stream()
+            .map(InMemoryExtensionClient::copy)
+            .toList());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <E extends Extension> E copy(E extension) {
+        try {
+            return (E) MAPPER.readValue(MAPPER.writeValueAsBytes(extension), extension.getClass());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
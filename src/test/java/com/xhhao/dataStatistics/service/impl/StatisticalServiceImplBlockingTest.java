@@ -0,0 +1,179 @@
+package com.xhhao.dataStatistics.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.env.MockEnvironment;
+
+import com.xhhao.dataStatistics.config.AggregationScheduler;
+import com.xhhao.dataStatistics.config.CachePolicy;
+import com.xhhao.dataStatistics.config.PluginWorkDir;
+import com.xhhao.dataStatistics.index.CommentActivityIndex;
+import com.xhhao.dataStatistics.index.CommenterIndex;
+import com.xhhao.dataStatistics.index.PostPermalinkIndex;
+import com.xhhao.dataStatistics.index.PostPublishDayIndex;
+import com.xhhao.dataStatistics.index.PostRollupCube;
+import com.xhhao.dataStatistics.index.PostStatsIndex;
+import com.xhhao.dataStatistics.index.PostWordCountIndex;
+import com.xhhao.dataStatistics.index.TagCooccurrenceIndex;
+import com.xhhao.dataStatistics.index.UniqueCommenterIndex;
+import com.xhhao.dataStatistics.vo.PieChartVO;
+
+import reactor.blockhound.BlockHound;
+import reactor.blockhound.BlockingOperationError;
+import reactor.core.Exceptions;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import run.halo.app.core.extension.content.Category;
+import run.halo.app.core.extension.content.Post;
+import run.halo.app.core.extension.content.Tag;
+import run.halo.app.extension.Metadata;
+
+/**
+ * 在 parallel 线程（与 Netty 事件循环线程同为非阻塞线程）上完整重建图表数据，BlockHound 检测到阻塞调用即失败
+ * <p>BlockHound 安装后无法卸载，build.gradle 中每个测试类使用单独的 JVM。</p>
+ *
+ * @author Handsome
+ * @since 1.0.6
+ */
+class StatisticalServiceImplBlockingTest {
+
+    private static final int POST_COUNT = 450;
+    private static final int TAG_COUNT = 30;
+    private static final int CATEGORY_COUNT = 5;
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+
+    @TempDir
+    static Path workDir;
+
+    private static final InMemoryExtensionClient EXTENSIONS = new InMemoryExtensionClient();
+    private static final FixedSettingConfigGetter SETTINGS = new FixedSettingConfigGetter();
+    private static CachePolicy cachePolicy;
+    private static AggregationScheduler aggregationScheduler;
+
+    @BeforeAll
+    static void setUp() {
+        for (int i = 0; i < POST_COUNT; i++) {
+            EXTENSIONS.put(post(i));
+        }
+        for (int i = 0; i < TAG_COUNT; i++) {
+            EXTENSIONS.put(tag(i));
+        }
+        for (int i = 0; i < CATEGORY_COUNT; i++) {
+            EXTENSIONS.put(category(i));
+        }
+        cachePolicy = new CachePolicy(SETTINGS);
+        aggregationScheduler = new AggregationScheduler(cachePolicy);
+
+        // 先在普通线程上重建一次，类加载、时区数据读取等一次性初始化不计入检测
+        newService().getPieChartVO().block(TIMEOUT);
+
+        BlockHound.builder()
+            // 测试日志直接写控制台
+            .allowBlockingCallsInside("ch.qos.logback.core.OutputStreamAppender", "writeBytes")
+            .install();
+    }
+
+    @AfterAll
+    static void tearDown() {
+        aggregationScheduler.destroy();
+    }
+
+    @Test
+    void blockingCallOnParallelThreadIsDetected() {
+        Throwable error = catchThrowable(() -> Mono.fromCallable(() -> {
+                Thread.sleep(1);
+                return true;
+            })
+            .subscribeOn(Schedulers.parallel())
+            .block(TIMEOUT));
+
+        assertThat(Exceptions.unwrap(error)).isInstanceOf(BlockingOperationError.class);
+    }
+
+    @Test
+    void fullRebuildOnParallelThreadDoesNotBlock() {
+        PieChartVO pieChartVO = Mono.defer(() -> newService().getPieChartVO())
+            .subscribeOn(Schedulers.parallel())
+            .block(TIMEOUT);
+
+        assertThat(pieChartVO).isNotNull();
+        assertThat(pieChartVO.getTags()).hasSize(TAG_COUNT);
+        assertThat(pieChartVO.getCategories()).hasSize(CATEGORY_COUNT);
+        assertThat(pieChartVO.getArticles()).isNotEmpty();
+        assertThat(pieChartVO.getTop10Articles()).hasSize(10);
+        assertThat(pieChartVO.getTop10Articles().get(0).getViews()).isEqualTo(POST_COUNT - 1);
+        assertThat(pieChartVO.getTop10Articles().get(9).getViews()).isEqualTo(POST_COUNT - 10);
+    }
+
+    /**
+     * 每次新建服务，分区缓存为空，getPieChartVO 会重建全部分区
+     */
+    private static StatisticalServiceImpl newService() {
+        PluginWorkDir pluginWorkDir = new PluginWorkDir(
+            new MockEnvironment().withProperty("halo.work-dir", workDir.toString()));
+        ExtensionScannerImpl scanner = new ExtensionScannerImpl(EXTENSIONS.client(), aggregationScheduler);
+        return new StatisticalServiceImpl(EXTENSIONS.client(),
+            scanner,
+            SETTINGS,
+            new PostRollupCube(),
+            new PostPublishDayIndex(),
+            new CommenterIndex(),
+            new CommentActivityIndex(),
+            new PostPermalinkIndex(),
+            new TagCooccurrenceIndex(),
+            new UniqueCommenterIndex(scanner),
+            new PostStatsIndex(),
+            new PostWordCountIndex(null, pluginWorkDir),
+            cachePolicy,
+            aggregationScheduler);
+    }
+
+    private static Post post(int i) {
+        Post post = new Post();
+        post.setMetadata(metadata("post-%04d".formatted(i)));
+        post.getMetadata().setAnnotations(Map.of("content.halo.run/stats", "{\"visit\":" + i + "}"));
+        Post.PostSpec spec = new Post.PostSpec();
+        spec.setTitle("文章 " + i);
+        post.setSpec(spec);
+        return post;
+    }
+
+    private static Tag tag(int i) {
+        Tag tag = new Tag();
+        tag.setMetadata(metadata("tag-" + i));
+        Tag.TagSpec spec = new Tag.TagSpec();
+        spec.setDisplayName("标签 " + i);
+        tag.setSpec(spec);
+        Tag.TagStatus status = new Tag.TagStatus();
+        status.setVisiblePostCount(i);
+        tag.setStatus(status);
+        return tag;
+    }
+
+    private static Category category(int i) {
+        Category category = new Category();
+        category.setMetadata(metadata("category-" + i));
+        Category.CategorySpec spec = new Category.CategorySpec();
+        spec.setDisplayName("分类 " + i);
+        category.setSpec(spec);
+        Category.CategoryStatus status = new Category.CategoryStatus();
+        status.setVisiblePostCount(i);
+        category.setStatus(status);
+        return category;
+    }
+
+    private static Metadata metadata(String name) {
+        Metadata metadata = new Metadata();
+        metadata.setName(name);
+        return metadata;
+    }
+}